@@ -0,0 +1,44 @@
+package io.github.createsequence.core.bean;
+
+import io.github.createsequence.core.bean.metadata.ClassMetadata;
+
+/**
+ * Bean定义，描述一个将被容器创建和管理的Bean。
+ *
+ * @author huangchengxing
+ * @see BeanDefinitionRegistry
+ * @see GeneralBeanDefinition
+ */
+public interface BeanDefinition {
+
+    /**
+     * 获取Bean的名称
+     *
+     * @return bean的名称
+     */
+    String getName();
+
+    /**
+     * 获取Bean的类型
+     *
+     * @return bean的类型
+     */
+    default Class<?> getType() {
+        return getClassMetadata().getSource();
+    }
+
+    /**
+     * 获取Bean的作用域
+     *
+     * @return bean的作用域
+     * @see io.github.createsequence.core.bean.scope.Scope
+     */
+    String getScope();
+
+    /**
+     * 获取Bean的元数据
+     *
+     * @return bean的元数据
+     */
+    ClassMetadata getClassMetadata();
+}
@@ -0,0 +1,124 @@
+package io.github.createsequence.core.bean;
+
+import io.github.createsequence.core.exception.Ioc4jException;
+import io.github.createsequence.core.util.ReflectUtils;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Bean定义索引，按名称、类型以及可赋值的类型对Bean定义进行索引。<br/>
+ * 注册Bean定义时，将预先把它追加到其类型、全部父类与父接口以及{@link Object}的候选列表中，
+ * 因此无论按名称还是按类型查找，都只需要一次哈希表查询，而不需要遍历全部Bean定义。
+ *
+ * <p>注册操作需要加锁，而查询操作是无锁的：
+ * 候选列表仅支持追加，元素总是先写入数组，然后再更新其长度，
+ * 因此读线程总是能看到一个完整的前缀，且返回的列表视图不需要拷贝数组。
+ *
+ * @author huangchengxing
+ * @see ReflectUtils#getTypeHierarchy
+ */
+final class BeanDefinitionIndex {
+
+    private final Map<String, BeanDefinition> definitionsByName = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Candidates> definitionsByExactType = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Candidates> definitionsByType = new ConcurrentHashMap<>();
+    private final Candidates definitions = new Candidates();
+
+    /**
+     * 注册Bean定义
+     *
+     * @param definition bean定义
+     * @throws Ioc4jException 当已存在同名的Bean定义时
+     */
+    synchronized void register(BeanDefinition definition) {
+        String name = definition.getName();
+        BeanDefinition existing = definitionsByName.putIfAbsent(name, definition);
+        if (Objects.nonNull(existing)) {
+            throw new Ioc4jException("The bean definition [{}] already exists: {}", name, existing);
+        }
+        definitions.add(definition);
+        Class<?> type = definition.getType();
+        definitionsByExactType.computeIfAbsent(type, t -> new Candidates()).add(definition);
+        definitionsByType.computeIfAbsent(type, t -> new Candidates()).add(definition);
+        for (Class<?> ancestor : ReflectUtils.getTypeHierarchy(type).getAncestors()) {
+            definitionsByType.computeIfAbsent(ancestor, t -> new Candidates()).add(definition);
+        }
+        if (type != Object.class) {
+            definitionsByType.computeIfAbsent(Object.class, t -> new Candidates()).add(definition);
+        }
+    }
+
+    /**
+     * 根据名称获取Bean定义
+     *
+     * @param name bean的名称
+     * @return bean定义
+     */
+    @Nullable
+    BeanDefinition get(String name) {
+        return definitionsByName.get(name);
+    }
+
+    /**
+     * 获取类型与指定类型完全一致的Bean定义
+     *
+     * @param type 类型
+     * @return bean定义
+     */
+    List<BeanDefinition> getByExactType(Class<?> type) {
+        Candidates candidates = definitionsByExactType.get(type);
+        return Objects.isNull(candidates) ? Collections.emptyList() : candidates.snapshot();
+    }
+
+    /**
+     * 获取类型可以赋值给指定类型的Bean定义
+     *
+     * @param type 类型
+     * @return bean定义
+     */
+    List<BeanDefinition> getByType(Class<?> type) {
+        Candidates candidates = definitionsByType.get(type);
+        return Objects.isNull(candidates) ? Collections.emptyList() : candidates.snapshot();
+    }
+
+    /**
+     * 获取全部Bean定义
+     *
+     * @return bean定义
+     */
+    List<BeanDefinition> getAll() {
+        return definitions.snapshot();
+    }
+
+    /**
+     * 仅支持追加的候选列表，写操作由{@link BeanDefinitionIndex}加锁保护
+     */
+    private static final class Candidates {
+
+        private volatile BeanDefinition[] elements = new BeanDefinition[2];
+        private volatile int size;
+
+        void add(BeanDefinition definition) {
+            BeanDefinition[] es = elements;
+            if (size == es.length) {
+                es = Arrays.copyOf(es, es.length << 1);
+                elements = es;
+            }
+            es[size] = definition;
+            // 在元素写入后更新长度，保证读线程可见
+            size = size + 1;
+        }
+
+        List<BeanDefinition> snapshot() {
+            // 先读取长度，再读取数组，此时数组中至少包含size个元素
+            int s = size;
+            return Collections.unmodifiableList(Arrays.asList(elements).subList(0, s));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.createsequence.core.bean;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+
+/**
+ * Bean定义注册表
+ *
+ * @author huangchengxing
+ * @see BeanDefinition
+ */
+public interface BeanDefinitionRegistry {
+
+    /**
+     * 注册Bean定义，Bean的名称不允许重复
+     *
+     * @param definition bean定义
+     */
+    void registerBeanDefinition(@NonNull BeanDefinition definition);
+
+    /**
+     * 获取Bean定义
+     *
+     * @param name bean的名称
+     * @return bean定义
+     */
+    @Nullable
+    BeanDefinition getBeanDefinition(String name);
+
+    /**
+     * 是否存在指定名称的Bean定义
+     *
+     * @param name bean的名称
+     * @return 是否
+     */
+    default boolean containsBeanDefinition(String name) {
+        return getBeanDefinition(name) != null;
+    }
+
+    /**
+     * 获取类型与指定类型完全一致的Bean定义
+     *
+     * @param type bean的类型
+     * @return bean定义，按注册顺序排序，返回的列表不可变
+     */
+    List<BeanDefinition> getBeanDefinitionsOfExactType(Class<?> type);
+
+    /**
+     * 获取类型可以赋值给指定类型的Bean定义
+     *
+     * @param type bean的类型
+     * @return bean定义，按注册顺序排序，返回的列表不可变
+     */
+    List<BeanDefinition> getBeanDefinitionsOfType(Class<?> type);
+
+    /**
+     * 获取全部Bean定义
+     *
+     * @return bean定义，按注册顺序排序，返回的列表不可变
+     */
+    List<BeanDefinition> getBeanDefinitions();
+}
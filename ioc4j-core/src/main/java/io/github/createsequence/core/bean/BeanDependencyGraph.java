@@ -0,0 +1,138 @@
+package io.github.createsequence.core.bean;
+
+import io.github.createsequence.core.exception.Ioc4jException;
+import io.github.createsequence.core.util.MultiMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>Bean之间的依赖关系图，节点为Bean的名称，由节点指向其依赖的Bean。<br/>
+ * 依赖关系由{@link InjectionMetadata}中的注入点解析得到，
+ * 无法确定唯一对应Bean的注入点将被忽略，它们会在创建Bean时再进行检查。
+ *
+ * <p>通过{@link #resolveLayers}可以将依赖关系图按拓扑排序划分为若干层，
+ * 每一层中的Bean仅依赖于之前层中的Bean，因此同一层中的Bean可以并行创建。
+ *
+ * @author huangchengxing
+ * @see GeneralBeanFactory#preInstantiateSingletons
+ */
+final class BeanDependencyGraph {
+
+    /**
+     * 全部Bean定义，按注册顺序排列
+     */
+    private final Map<String, BeanDefinition> definitions = new LinkedHashMap<>();
+
+    /**
+     * 节点及其依赖的节点
+     */
+    private final MultiMap<String, String> dependencies = MultiMap.linkedHashMultimap();
+
+    /**
+     * 根据Bean工厂中的全部Bean定义构建依赖关系图
+     *
+     * @param beanFactory bean工厂
+     * @return 依赖关系图
+     */
+    static BeanDependencyGraph build(GeneralBeanFactory beanFactory) {
+        BeanDependencyGraph graph = new BeanDependencyGraph();
+        for (BeanDefinition definition : beanFactory.getBeanDefinitions()) {
+            graph.definitions.put(definition.getName(), definition);
+            for (InjectionPoint point : beanFactory.getInjectionMetadata(definition).getInjectionPoints()) {
+                BeanDefinition dependency = beanFactory.determineDependencyDefinition(point);
+                if (Objects.nonNull(dependency)) {
+                    graph.dependencies.put(definition.getName(), dependency.getName());
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * 获取Bean直接依赖的Bean
+     *
+     * @param name bean的名称
+     * @return 依赖的Bean的名称
+     */
+    Collection<String> getDependencies(String name) {
+        return dependencies.get(name);
+    }
+
+    /**
+     * 按拓扑排序将依赖关系图划分为若干层，每一层中的Bean仅依赖于之前层中的Bean
+     *
+     * @return 按顺序排列的层，每层中的Bean按注册顺序排列
+     * @throws Ioc4jException 当存在循环依赖时，异常信息中包含完整的依赖路径
+     */
+    List<List<BeanDefinition>> resolveLayers() {
+        // 每个节点尚未满足的依赖数量，以及依赖于该节点的节点
+        Map<String, Integer> unresolvedCounts = new HashMap<>(definitions.size());
+        MultiMap<String, String> dependents = MultiMap.arrayListMultimap();
+        Map<String, Integer> registrationOrders = new HashMap<>(definitions.size());
+        List<String> current = new ArrayList<>();
+        for (String name : definitions.keySet()) {
+            registrationOrders.put(name, registrationOrders.size());
+            Collection<String> deps = dependencies.get(name);
+            unresolvedCounts.put(name, deps.size());
+            deps.forEach(dep -> dependents.put(dep, name));
+            if (deps.isEmpty()) {
+                current.add(name);
+            }
+        }
+        List<List<BeanDefinition>> layers = new ArrayList<>();
+        int resolved = 0;
+        while (!current.isEmpty()) {
+            layers.add(current.stream().map(definitions::get).toList());
+            resolved += current.size();
+            List<String> next = new ArrayList<>();
+            for (String name : current) {
+                for (String dependent : dependents.get(name)) {
+                    if (unresolvedCounts.merge(dependent, -1, Integer::sum) == 0) {
+                        next.add(dependent);
+                    }
+                }
+            }
+            // 同一层中的节点保持注册顺序
+            next.sort(Comparator.comparingInt(registrationOrders::get));
+            current = next;
+        }
+        if (resolved < definitions.size()) {
+            throw new Ioc4jException("Circular dependency found: {}", String.join(" -> ", findCycle(unresolvedCounts)));
+        }
+        return layers;
+    }
+
+    /**
+     * 在未能解析的节点中查找一个环，
+     * 未能解析的节点总是至少依赖于另一个未能解析的节点，因此沿着依赖一定能回到已访问的节点
+     *
+     * @param unresolvedCounts 节点尚未满足的依赖数量
+     * @return 环上的节点，首尾节点相同
+     */
+    private List<String> findCycle(Map<String, Integer> unresolvedCounts) {
+        String start = definitions.keySet().stream()
+            .filter(name -> unresolvedCounts.get(name) > 0)
+            .findFirst()
+            .orElseThrow();
+        Map<String, Integer> visited = new LinkedHashMap<>();
+        String node = start;
+        while (!visited.containsKey(node)) {
+            visited.put(node, visited.size());
+            node = dependencies.get(node).stream()
+                .filter(dep -> unresolvedCounts.getOrDefault(dep, 0) > 0)
+                .findFirst()
+                .orElseThrow();
+        }
+        List<String> path = new ArrayList<>(visited.keySet());
+        path = new ArrayList<>(path.subList(visited.get(node), path.size()));
+        path.add(node);
+        return path;
+    }
+}
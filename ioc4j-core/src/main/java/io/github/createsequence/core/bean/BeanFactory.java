@@ -0,0 +1,72 @@
+package io.github.createsequence.core.bean;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+
+/**
+ * Bean工厂，用于根据Bean定义获取Bean实例
+ *
+ * @author huangchengxing
+ * @see GeneralBeanFactory
+ */
+public interface BeanFactory {
+
+    /**
+     * 根据名称获取Bean
+     *
+     * @param name bean的名称
+     * @return bean实例
+     * @throws io.github.createsequence.core.exception.Ioc4jException 当不存在对应的Bean定义时
+     */
+    @NonNull
+    Object getBean(String name);
+
+    /**
+     * 根据名称与类型获取Bean
+     *
+     * @param name bean的名称
+     * @param type bean的类型
+     * @return bean实例
+     * @throws io.github.createsequence.core.exception.Ioc4jException 当不存在对应的Bean定义，或Bean的类型与指定类型不一致时
+     */
+    @NonNull
+    <T> T getBean(String name, Class<T> type);
+
+    /**
+     * <p>根据类型获取Bean。<br/>
+     * 若存在多个可以赋值给指定类型的Bean，则优先返回类型与指定类型完全一致的Bean。
+     *
+     * @param type bean的类型
+     * @return bean实例
+     * @throws io.github.createsequence.core.exception.Ioc4jException 当不存在对应的Bean定义，或存在多个候选Bean时
+     */
+    @NonNull
+    <T> T getBean(Class<T> type);
+
+    /**
+     * 获取全部可以赋值给指定类型的Bean
+     *
+     * @param type bean的类型
+     * @return bean实例，按Bean定义的注册顺序排序
+     */
+    <T> List<T> getBeansOfType(Class<T> type);
+
+    /**
+     * 是否存在指定名称的Bean
+     *
+     * @param name bean的名称
+     * @return 是否
+     */
+    boolean containsBean(String name);
+
+    /**
+     * 获取Bean占位符
+     *
+     * @param name bean的名称
+     * @return bean占位符
+     * @throws io.github.createsequence.core.exception.Ioc4jException 当不存在对应的Bean定义时
+     */
+    @NonNull
+    BeanHolder getBeanHolder(String name);
+}
@@ -0,0 +1,180 @@
+package io.github.createsequence.core.bean;
+
+import io.github.createsequence.core.exception.Ioc4jException;
+import io.github.createsequence.core.util.Asserts;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>用于并行创建与初始化Bean的执行器，通常配合{@link GeneralBeanFactory#preInstantiateSingletons(Executor)}使用。
+ *
+ * <p>若运行时支持虚拟线程，则优先为每个任务创建一个虚拟线程，
+ * 当Bean的初始化方法（比如被{@link jakarta.annotation.PostConstruct}注解的方法）需要建立连接或读取文件时，
+ * 阻塞的虚拟线程不会占用平台线程，因此大量Bean的I/O可以在启动期间相互重叠。
+ * 由于项目以Java 17为编译目标，虚拟线程通过反射创建，
+ * 若运行时不支持虚拟线程，或虚拟线程仍是未启用的预览特性，则回退为固定大小的平台线程池。
+ *
+ * <p>无论使用哪种线程，同时执行的任务数量都不会超过{@code maxConcurrency}，
+ * 以免初始化时同时打开过多的连接或文件。
+ *
+ * <p>任务在获得许可前不会执行，因此一个任务不应当等待同一执行器中尚未开始的其他任务，
+ * 按依赖关系逐层创建单例时，每层中的Bean仅依赖于之前层中已经创建完毕的Bean，因此总是满足该条件。
+ *
+ * @author huangchengxing
+ * @see GeneralBeanFactory#preInstantiateSingletons(Executor)
+ */
+public class BeanInitializationExecutor implements Executor, AutoCloseable {
+
+    /**
+     * {@code Executors#newVirtualThreadPerTaskExecutor}，运行时不支持虚拟线程时为{@code null}
+     */
+    @Nullable
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutorFactory();
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+
+    /**
+     * 是否使用虚拟线程
+     */
+    @Getter
+    private final boolean virtual;
+
+    private BeanInitializationExecutor(ExecutorService delegate, int maxConcurrency, boolean virtual) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency);
+        this.virtual = virtual;
+    }
+
+    /**
+     * 创建执行器，若运行时支持虚拟线程则使用虚拟线程，否则回退为平台线程池
+     *
+     * @param maxConcurrency 最大并发数
+     * @return 执行器
+     */
+    public static BeanInitializationExecutor create(int maxConcurrency) {
+        checkMaxConcurrency(maxConcurrency);
+        ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+        return Objects.isNull(virtualThreadExecutor) ?
+            platform(maxConcurrency) : new BeanInitializationExecutor(virtualThreadExecutor, maxConcurrency, true);
+    }
+
+    /**
+     * 创建基于平台线程池的执行器
+     *
+     * @param maxConcurrency 最大并发数，即线程池中的线程数
+     * @return 执行器
+     */
+    public static BeanInitializationExecutor platform(int maxConcurrency) {
+        checkMaxConcurrency(maxConcurrency);
+        ExecutorService executor = Executors.newFixedThreadPool(maxConcurrency, new PlatformThreadFactory());
+        return new BeanInitializationExecutor(executor, maxConcurrency, false);
+    }
+
+    /**
+     * 运行时是否支持虚拟线程
+     *
+     * @return 是否
+     */
+    public static boolean isVirtualThreadSupported() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        if (Objects.isNull(executor)) {
+            return false;
+        }
+        executor.shutdown();
+        return true;
+    }
+
+    /**
+     * 执行任务，任务在获得许可后才会执行
+     *
+     * @param task 任务
+     */
+    @Override
+    public void execute(@NonNull Runnable task) {
+        delegate.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * 关闭执行器，并等待已提交的任务执行完毕
+     */
+    @Override
+    public void close() {
+        delegate.shutdown();
+        try {
+            while (!delegate.awaitTermination(1, TimeUnit.SECONDS)) {
+                // keep waiting until all submitted tasks are finished
+            }
+        } catch (InterruptedException e) {
+            delegate.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void checkMaxConcurrency(int maxConcurrency) {
+        Asserts.isTrue(maxConcurrency > 0, "The max concurrency must be greater than 0, but was {}", maxConcurrency);
+    }
+
+    @Nullable
+    private static Method findVirtualThreadPerTaskExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (Objects.isNull(NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR)) {
+            return null;
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (InvocationTargetException e) {
+            // virtual threads are a preview feature before Java 21, which throws UnsupportedOperationException if disabled
+            if (e.getTargetException() instanceof UnsupportedOperationException) {
+                return null;
+            }
+            throw new Ioc4jException(e.getTargetException());
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 平台线程工厂，创建的线程均为守护线程，以免阻止虚拟机退出
+     */
+    private static class PlatformThreadFactory implements ThreadFactory {
+
+        private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+        private final int poolNumber = POOL_NUMBER.incrementAndGet();
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@NonNull Runnable task) {
+            Thread thread = new Thread(task, "ioc4j-bean-init-" + poolNumber + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.createsequence.core.bean;
+
+import io.github.createsequence.core.exception.Ioc4jException;
+import io.github.createsequence.core.util.Asserts;
+import io.github.createsequence.core.util.Lazy;
+import io.github.createsequence.core.util.ReflectUtils;
+import lombok.RequiredArgsConstructor;
+
+import javax.inject.Provider;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.function.Function;
+
+/**
+ * <p>延迟获取的依赖，用于为注入点创建轻量的延迟句柄，句柄创建时不会获取依赖：
+ * <ul>
+ *     <li>类型为{@link Provider}的注入点，每次调用{@link Provider#get()}时都从容器中获取依赖，
+ *     若注入点同时被{@link LazyInject}注解，则仅在首次调用时获取；</li>
+ *     <li>被{@link LazyInject}注解的接口类型注入点，
+ *     注入一个实现了该接口的代理对象，首次调用其方法时才获取依赖，此后所有调用均委托给该依赖；</li>
+ * </ul>
+ * 被{@link LazyInject}注解的非接口类型注入点无法被代理，
+ * 此时应当改用{@link Provider}类型的注入点。
+ *
+ * @author huangchengxing
+ * @see GeneralBeanFactory#resolveDependency
+ */
+final class DeferredDependencies {
+
+    private DeferredDependencies() {
+    }
+
+    /**
+     * 注入点的依赖是否需要延迟获取
+     *
+     * @param point 注入点
+     * @return 是否
+     */
+    static boolean isDeferred(InjectionPoint point) {
+        return point.lazy() || point.type() == Provider.class;
+    }
+
+    /**
+     * 为注入点创建延迟句柄
+     *
+     * @param point 注入点，其依赖需要延迟获取
+     * @param resolver 获取依赖的方法
+     * @return 延迟句柄
+     * @throws Ioc4jException 当无法确定{@link Provider}提供的类型，或被代理的类型不是接口时
+     */
+    static Object create(InjectionPoint point, Function<InjectionPoint, Object> resolver) {
+        if (point.type() == Provider.class) {
+            InjectionPoint target = resolveProvidedPoint(point);
+            if (!point.lazy()) {
+                return (Provider<Object>) () -> resolver.apply(target);
+            }
+            Lazy<Object> lazy = new Lazy<>(() -> resolver.apply(target));
+            return (Provider<Object>) lazy::get;
+        }
+        Asserts.isTrue(
+            point.type().isInterface(),
+            "The type [{}] of lazy injection point [{}] is not an interface, use [{}] instead",
+            point.type(), point.element(), Provider.class
+        );
+        InjectionPoint target = new InjectionPoint(
+            point.type(), point.genericType(), point.qualifier(), false, point.element()
+        );
+        Lazy<Object> lazy = new Lazy<>(() -> resolver.apply(target));
+        LazyInvocationHandler handler = new LazyInvocationHandler(point.type(), lazy);
+        return Proxy.newProxyInstance(point.type().getClassLoader(), new Class<?>[]{ point.type() }, handler);
+    }
+
+    /**
+     * 获取{@link Provider}所提供的依赖对应的注入点
+     *
+     * @param point 类型为{@link Provider}的注入点
+     * @return 注入点
+     */
+    private static InjectionPoint resolveProvidedPoint(InjectionPoint point) {
+        Type providedType = point.genericType() instanceof ParameterizedType parameterizedType ?
+            parameterizedType.getActualTypeArguments()[0] : null;
+        Class<?> rawType = null;
+        if (providedType instanceof Class<?> type) {
+            rawType = type;
+        } else if (providedType instanceof ParameterizedType parameterizedType) {
+            rawType = (Class<?>) parameterizedType.getRawType();
+        }
+        if (rawType == null) {
+            throw new Ioc4jException(
+                "Cannot determine the provided type of injection point [{}]: {}", point.element(), point.genericType()
+            );
+        }
+        return new InjectionPoint(rawType, providedType, point.qualifier(), false, point.element());
+    }
+
+    /**
+     * 延迟代理，首次调用接口中的方法时获取依赖，并将调用委托给该依赖，
+     * {@link Object#equals}、{@link Object#hashCode}与{@link Object#toString}由代理对象自身实现，不会触发依赖的获取
+     */
+    @RequiredArgsConstructor
+    private static class LazyInvocationHandler implements InvocationHandler {
+
+        private final Class<?> type;
+        private final Lazy<Object> target;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, method, args);
+            }
+            Object bean = target.get();
+            try {
+                return method.invoke(bean, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            } catch (IllegalAccessException e) {
+                // the proxied interface is not public, which is rare, so make it accessible only when necessary
+                ReflectUtils.setAccessible(method);
+                try {
+                    return method.invoke(bean, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getTargetException();
+                }
+            }
+        }
+
+        private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> Boolean.TRUE.equals(target.isInitialized()) ?
+                    "LazyProxy(" + type.getName() + ", initialized)" : "LazyProxy(" + type.getName() + ")";
+            };
+        }
+    }
+}
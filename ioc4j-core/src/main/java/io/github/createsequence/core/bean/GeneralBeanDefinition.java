@@ -0,0 +1,21 @@
+package io.github.createsequence.core.bean;
+
+import io.github.createsequence.core.bean.metadata.ClassMetadata;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * {@link BeanDefinition}的通用实现
+ *
+ * @author huangchengxing
+ */
+@ToString(of = {"name", "scope"})
+@Getter
+@RequiredArgsConstructor
+public class GeneralBeanDefinition implements BeanDefinition {
+
+    private final String name;
+    private final String scope;
+    private final ClassMetadata classMetadata;
+}
@@ -0,0 +1,564 @@
+package io.github.createsequence.core.bean;
+
+import io.github.createsequence.core.bean.metadata.ClassMetadata;
+import io.github.createsequence.core.bean.metadata.ClassMetadataFactory;
+import io.github.createsequence.core.bean.metadata.GeneralClassMetadataFactory;
+import io.github.createsequence.core.bean.metadata.MethodMetadata;
+import io.github.createsequence.core.bean.scope.PrototypeScope;
+import io.github.createsequence.core.bean.scope.Scope;
+import io.github.createsequence.core.bean.scope.SingletonScope;
+import io.github.createsequence.core.exception.Ioc4jException;
+import io.github.createsequence.core.util.Asserts;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>{@link BeanFactory}的通用实现，同时也是一个{@link BeanDefinitionRegistry}。
+ *
+ * <p>Bean定义由{@link BeanDefinitionIndex}按名称、类型以及可赋值的类型建立索引，
+ * 因此无论按名称还是按类型获取Bean，都不需要遍历全部Bean定义。
+ * 获取Bean时，将根据Bean定义中的作用域从对应的{@link Scope}中获取Bean，
+ * 若作用域中不存在该Bean，则基于{@link ClassMetadata}解析的{@link InjectionMetadata}创建Bean：
+ * <ol>
+ *     <li>通过被{@link javax.inject.Inject}注解的构造器、唯一的构造器或无参构造器实例化Bean；</li>
+ *     <li>注入被{@link javax.inject.Inject}注解的属性；</li>
+ *     <li>调用被{@link javax.inject.Inject}注解的方法；</li>
+ *     <li>调用被{@link jakarta.annotation.PostConstruct}注解的初始化方法；</li>
+ * </ol>
+ * 依赖默认按类型获取，若注入点被{@link javax.inject.Named}注解，则按名称获取。
+ * 类型为{@link javax.inject.Provider}或被{@link LazyInject}注解的注入点将在首次使用时才获取依赖。
+ *
+ * <p>通过{@link #preInstantiateSingletons(java.util.concurrent.Executor)}可以根据Bean之间的依赖关系，
+ * 逐层并行地预先创建全部单例Bean。
+ *
+ * @author huangchengxing
+ * @see BeanDefinitionIndex
+ * @see InjectionMetadata
+ */
+public class GeneralBeanFactory implements BeanFactory, BeanDefinitionRegistry {
+
+    /**
+     * 类型元数据工厂
+     */
+    @Getter
+    protected final ClassMetadataFactory classMetadataFactory;
+
+    /**
+     * 单例注册表
+     */
+    @Getter
+    protected final SingletonRegister singletonRegister;
+
+    private final BeanDefinitionIndex definitionIndex = new BeanDefinitionIndex();
+    private final Map<String, Scope> scopes = new ConcurrentHashMap<>();
+    private final Map<Class<?>, InjectionMetadata> injectionMetadataCaches = new ConcurrentHashMap<>();
+
+    /**
+     * 当前线程中正在创建的Bean，用于检测循环依赖
+     */
+    private final ThreadLocal<Set<String>> beansInCreation = ThreadLocal.withInitial(LinkedHashSet::new);
+
+    /**
+     * 创建一个Bean工厂
+     */
+    public GeneralBeanFactory() {
+        this(new GeneralClassMetadataFactory(), new GeneralSingletonRegister());
+    }
+
+    /**
+     * 创建一个Bean工厂
+     *
+     * @param classMetadataFactory 类型元数据工厂
+     * @param singletonRegister 单例注册表
+     */
+    public GeneralBeanFactory(
+        @NonNull ClassMetadataFactory classMetadataFactory, @NonNull SingletonRegister singletonRegister) {
+        this.classMetadataFactory = classMetadataFactory;
+        this.singletonRegister = singletonRegister;
+        registerScope(Scope.SINGLETON, new SingletonScope(singletonRegister));
+        registerScope(Scope.PROTOTYPE, new PrototypeScope());
+    }
+
+    // region ===== 作用域 =====
+
+    /**
+     * 注册作用域，若已存在同名作用域则覆盖
+     *
+     * @param name 作用域名称
+     * @param scope 作用域
+     */
+    public void registerScope(String name, @NonNull Scope scope) {
+        Asserts.isNotNull(scope, "The scope [{}] must not null", name);
+        scopes.put(name, scope);
+    }
+
+    /**
+     * 获取作用域
+     *
+     * @param name 作用域名称
+     * @return 作用域
+     */
+    @Nullable
+    public Scope getScope(String name) {
+        return scopes.get(name);
+    }
+
+    // endregion
+
+    // region ===== Bean定义 =====
+
+    /**
+     * 注册单例Bean定义
+     *
+     * @param name bean的名称
+     * @param type bean的类型
+     * @return bean定义
+     */
+    public BeanDefinition registerBeanDefinition(String name, Class<?> type) {
+        return registerBeanDefinition(name, type, Scope.SINGLETON);
+    }
+
+    /**
+     * 注册Bean定义
+     *
+     * @param name bean的名称
+     * @param type bean的类型
+     * @param scope bean的作用域
+     * @return bean定义
+     */
+    public BeanDefinition registerBeanDefinition(String name, Class<?> type, String scope) {
+        BeanDefinition definition = new GeneralBeanDefinition(name, scope, classMetadataFactory.resolve(type));
+        registerBeanDefinition(definition);
+        return definition;
+    }
+
+    /**
+     * 注册Bean定义，Bean的名称不允许重复
+     *
+     * @param definition bean定义
+     * @throws Ioc4jException 当已存在同名的Bean定义，或Bean定义的作用域不存在时
+     */
+    @Override
+    public void registerBeanDefinition(@NonNull BeanDefinition definition) {
+        Asserts.isNotNull(definition, "The bean definition must not null");
+        Asserts.isNotNull(
+            scopes.get(definition.getScope()), "The scope [{}] of bean [{}] does not exist",
+            definition.getScope(), definition.getName()
+        );
+        definitionIndex.register(definition);
+    }
+
+    /**
+     * 获取Bean定义
+     *
+     * @param name bean的名称
+     * @return bean定义
+     */
+    @Nullable
+    @Override
+    public BeanDefinition getBeanDefinition(String name) {
+        return definitionIndex.get(name);
+    }
+
+    /**
+     * 获取类型与指定类型完全一致的Bean定义
+     *
+     * @param type bean的类型
+     * @return bean定义，按注册顺序排序，返回的列表不可变
+     */
+    @Override
+    public List<BeanDefinition> getBeanDefinitionsOfExactType(Class<?> type) {
+        return definitionIndex.getByExactType(type);
+    }
+
+    /**
+     * 获取类型可以赋值给指定类型的Bean定义
+     *
+     * @param type bean的类型
+     * @return bean定义，按注册顺序排序，返回的列表不可变
+     */
+    @Override
+    public List<BeanDefinition> getBeanDefinitionsOfType(Class<?> type) {
+        return definitionIndex.getByType(type);
+    }
+
+    /**
+     * 获取全部Bean定义
+     *
+     * @return bean定义，按注册顺序排序，返回的列表不可变
+     */
+    @Override
+    public List<BeanDefinition> getBeanDefinitions() {
+        return definitionIndex.getAll();
+    }
+
+    // endregion
+
+    // region ===== 获取Bean =====
+
+    /**
+     * 根据名称获取Bean
+     *
+     * @param name bean的名称
+     * @return bean实例
+     */
+    @NonNull
+    @Override
+    public Object getBean(String name) {
+        return doGetBean(getRequiredBeanDefinition(name));
+    }
+
+    /**
+     * 根据名称与类型获取Bean
+     *
+     * @param name bean的名称
+     * @param type bean的类型
+     * @return bean实例
+     */
+    @NonNull
+    @Override
+    public <T> T getBean(String name, Class<T> type) {
+        BeanDefinition definition = getRequiredBeanDefinition(name);
+        Asserts.isTrue(
+            type.isAssignableFrom(definition.getType()),
+            "The type [{}] of bean [{}] is not assignable to [{}]", definition.getType(), name, type
+        );
+        return type.cast(doGetBean(definition));
+    }
+
+    /**
+     * 根据类型获取Bean，若存在多个可以赋值给指定类型的Bean，则优先返回类型与指定类型完全一致的Bean
+     *
+     * @param type bean的类型
+     * @return bean实例
+     */
+    @NonNull
+    @Override
+    public <T> T getBean(Class<T> type) {
+        List<BeanDefinition> candidates = definitionIndex.getByType(type);
+        if (candidates.isEmpty()) {
+            throw new Ioc4jException("No bean of type [{}] found", type);
+        }
+        BeanDefinition definition = determineUniqueCandidate(type, candidates);
+        if (Objects.isNull(definition)) {
+            throw new Ioc4jException(
+                "More than one bean of type [{}] found: {}", type,
+                candidates.stream().map(BeanDefinition::getName).toList()
+            );
+        }
+        return type.cast(doGetBean(definition));
+    }
+
+    @Nullable
+    private BeanDefinition determineUniqueCandidate(Class<?> type, List<BeanDefinition> candidates) {
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        List<BeanDefinition> exactCandidates = definitionIndex.getByExactType(type);
+        return exactCandidates.size() == 1 ? exactCandidates.get(0) : null;
+    }
+
+    /**
+     * 获取全部可以赋值给指定类型的Bean
+     *
+     * @param type bean的类型
+     * @return bean实例，按Bean定义的注册顺序排序
+     */
+    @Override
+    public <T> List<T> getBeansOfType(Class<T> type) {
+        List<BeanDefinition> candidates = definitionIndex.getByType(type);
+        List<T> beans = new ArrayList<>(candidates.size());
+        for (BeanDefinition candidate : candidates) {
+            beans.add(type.cast(doGetBean(candidate)));
+        }
+        return beans;
+    }
+
+    /**
+     * 是否存在指定名称的Bean
+     *
+     * @param name bean的名称
+     * @return 是否
+     */
+    @Override
+    public boolean containsBean(String name) {
+        return containsBeanDefinition(name);
+    }
+
+    /**
+     * 获取Bean占位符
+     *
+     * @param name bean的名称
+     * @return bean占位符
+     */
+    @NonNull
+    @Override
+    public BeanHolder getBeanHolder(String name) {
+        return new BeanHolderImpl(getRequiredBeanDefinition(name));
+    }
+
+    private BeanDefinition getRequiredBeanDefinition(String name) {
+        BeanDefinition definition = definitionIndex.get(name);
+        if (Objects.isNull(definition)) {
+            throw new Ioc4jException("No bean named [{}] found", name);
+        }
+        return definition;
+    }
+
+    /**
+     * 从Bean定义对应的作用域中获取Bean，若不存在则创建，
+     * 若Bean在当前线程中已经处于创建中，则说明存在循环依赖
+     *
+     * @param definition bean定义
+     * @return bean实例
+     * @throws Ioc4jException 当存在循环依赖时
+     */
+    protected Object doGetBean(BeanDefinition definition) {
+        checkCircularDependency(definition.getName());
+        Scope scope = scopes.get(definition.getScope());
+        return scope.get(definition.getName(), () -> createBean(definition));
+    }
+
+    private void checkCircularDependency(String name) {
+        Set<String> inCreation = beansInCreation.get();
+        if (inCreation.contains(name)) {
+            List<String> path = new ArrayList<>(inCreation);
+            path = path.subList(path.indexOf(name), path.size());
+            throw new Ioc4jException("Circular dependency found: {} -> {}", String.join(" -> ", path), name);
+        }
+    }
+
+    // endregion
+
+    // region ===== 创建Bean =====
+
+    /**
+     * 创建Bean
+     *
+     * @param definition bean定义
+     * @return bean实例
+     */
+    protected Object createBean(BeanDefinition definition) {
+        Set<String> inCreation = beansInCreation.get();
+        String name = definition.getName();
+        inCreation.add(name);
+        try {
+            InjectionMetadata metadata = getInjectionMetadata(definition);
+            Object bean = instantiateBean(metadata);
+            populateBean(bean, metadata);
+            initializeBean(bean, metadata);
+            return bean;
+        } finally {
+            inCreation.remove(name);
+        }
+    }
+
+    /**
+     * 获取Bean的注入元数据
+     *
+     * @param definition bean定义
+     * @return 注入元数据
+     */
+    InjectionMetadata getInjectionMetadata(BeanDefinition definition) {
+        InjectionMetadata metadata = injectionMetadataCaches.get(definition.getType());
+        if (Objects.isNull(metadata)) {
+            metadata = InjectionMetadata.resolve(definition.getClassMetadata());
+            InjectionMetadata existing = injectionMetadataCaches.putIfAbsent(definition.getType(), metadata);
+            metadata = Objects.isNull(existing) ? metadata : existing;
+        }
+        return metadata;
+    }
+
+    private Object instantiateBean(InjectionMetadata metadata) {
+        Object[] args = metadata.getConstructorParameters().stream()
+            .map(this::resolveDependency)
+            .toArray();
+        try {
+            return metadata.getConstructor().newInstance(args);
+        } catch (InvocationTargetException e) {
+            throw new Ioc4jException(e.getTargetException());
+        } catch (ReflectiveOperationException e) {
+            throw new Ioc4jException(e);
+        }
+    }
+
+    private void populateBean(Object bean, InjectionMetadata metadata) {
+        for (InjectionMetadata.FieldInjection injection : metadata.getFieldInjections()) {
+            injection.accessor().set(bean, resolveDependency(injection.point()));
+        }
+        for (InjectionMetadata.MethodInjection injection : metadata.getMethodInjections()) {
+            Object[] args = injection.points().stream()
+                .map(this::resolveDependency)
+                .toArray();
+            injection.invoker().invoke(bean, args);
+        }
+    }
+
+    /**
+     * 调用Bean的初始化方法
+     *
+     * @param bean bean实例
+     * @param metadata 注入元数据
+     */
+    private void initializeBean(Object bean, InjectionMetadata metadata) {
+        for (MethodMetadata initMethod : metadata.getInitMethods()) {
+            initMethod.getInvoker().invoke(bean);
+        }
+    }
+
+    /**
+     * 获取注入点对应的依赖，
+     * 若注入点类型为{@link javax.inject.Provider}或被{@link LazyInject}注解，则返回一个延迟获取依赖的句柄
+     *
+     * @param point 注入点
+     * @return 依赖
+     * @see DeferredDependencies
+     */
+    protected Object resolveDependency(InjectionPoint point) {
+        if (DeferredDependencies.isDeferred(point)) {
+            return DeferredDependencies.create(point, this::resolveDependency);
+        }
+        return Objects.isNull(point.qualifier()) ?
+            getBean(point.type()) : getBean(point.qualifier(), point.type());
+    }
+
+    /**
+     * 获取注入点所依赖的Bean定义，用于构建Bean之间的依赖关系，
+     * 延迟获取的依赖在创建Bean时并不需要，因此不会被视为依赖
+     *
+     * @param point 注入点
+     * @return bean定义，若无法确定唯一的Bean定义，或依赖需要延迟获取则返回{@code null}
+     * @see #resolveDependency
+     */
+    @Nullable
+    protected BeanDefinition determineDependencyDefinition(InjectionPoint point) {
+        if (DeferredDependencies.isDeferred(point)) {
+            return null;
+        }
+        if (Objects.nonNull(point.qualifier())) {
+            return definitionIndex.get(point.qualifier());
+        }
+        List<BeanDefinition> candidates = definitionIndex.getByType(point.type());
+        return candidates.isEmpty() ? null : determineUniqueCandidate(point.type(), candidates);
+    }
+
+    // endregion
+
+    // region ===== 预加载单例 =====
+
+    /**
+     * 在当前线程中依次创建全部单例Bean
+     *
+     * @see #preInstantiateSingletons(Executor)
+     */
+    public void preInstantiateSingletons() {
+        preInstantiateSingletons(Runnable::run);
+    }
+
+    /**
+     * 通过{@link BeanInitializationExecutor}并行创建全部单例Bean，
+     * 若运行时支持虚拟线程，则Bean的创建与初始化方法都将在虚拟线程中执行，否则回退为平台线程池
+     *
+     * @param maxConcurrency 同时创建的单例的最大数量
+     * @see BeanInitializationExecutor#create
+     */
+    public void preInstantiateSingletons(int maxConcurrency) {
+        try (BeanInitializationExecutor executor = BeanInitializationExecutor.create(maxConcurrency)) {
+            preInstantiateSingletons(executor);
+        }
+    }
+
+    /**
+     * <p>创建全部单例Bean。<br/>
+     * 根据注入点构建Bean之间的依赖关系图，并按拓扑排序将其划分为若干层，
+     * 每一层中的Bean仅依赖于之前层中的Bean，因此逐层创建时，同一层中的单例将提交到{@code executor}中并行创建，
+     * 并在该层全部创建完毕后再创建下一层。
+     *
+     * @param executor 用于创建单例的执行器
+     * @throws Ioc4jException 当存在循环依赖，或任意单例创建失败时
+     * @see BeanDependencyGraph
+     */
+    public void preInstantiateSingletons(@NonNull Executor executor) {
+        List<List<BeanDefinition>> layers = BeanDependencyGraph.build(this).resolveLayers();
+        for (List<BeanDefinition> layer : layers) {
+            List<BeanDefinition> singletons = layer.stream()
+                .filter(definition -> Scope.SINGLETON.equals(definition.getScope()))
+                .toList();
+            if (singletons.size() == 1) {
+                doGetBean(singletons.get(0));
+                continue;
+            }
+            CompletableFuture<?>[] futures = singletons.stream()
+                .map(definition -> CompletableFuture.runAsync(() -> doGetBean(definition), executor))
+                .toArray(CompletableFuture<?>[]::new);
+            try {
+                CompletableFuture.allOf(futures).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof Ioc4jException ex ? ex : new Ioc4jException(cause);
+            }
+        }
+    }
+
+    // endregion
+
+    /**
+     * 基于Bean定义的Bean占位符
+     */
+    @RequiredArgsConstructor
+    private class BeanHolderImpl implements BeanHolder {
+
+        private final BeanDefinition definition;
+
+        @Override
+        public String getName() {
+            return definition.getName();
+        }
+
+        @Override
+        public Class<?> getType() {
+            return definition.getType();
+        }
+
+        /**
+         * 获取Bean实例，仅单例Bean在创建后可以获得实例
+         *
+         * @return bean实例
+         */
+        @Nullable
+        @Override
+        public Object getBean() {
+            return Scope.SINGLETON.equals(definition.getScope()) ?
+                singletonRegister.getSingleton(definition.getName()) : null;
+        }
+
+        @Override
+        public boolean isInitialized() {
+            return Objects.nonNull(getBean());
+        }
+
+        @Override
+        public String getScope() {
+            return definition.getScope();
+        }
+
+        @Override
+        public ClassMetadata getClassMetadata() {
+            return definition.getClassMetadata();
+        }
+    }
+}
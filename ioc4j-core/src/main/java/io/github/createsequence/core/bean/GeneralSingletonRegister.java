@@ -0,0 +1,169 @@
+package io.github.createsequence.core.bean;
+
+import io.github.createsequence.core.exception.Ioc4jException;
+import io.github.createsequence.core.util.Asserts;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * <p>{@link SingletonRegister}的通用实现，支持多线程并发创建单例。
+ *
+ * <p>每个单例在创建时都会登记一个创建任务，
+ * 首个登记成功的线程负责创建，其他需要该单例的线程仅等待该任务完成，
+ * 因此同一个单例只会被创建一次，而不同单例的创建互不阻塞。
+ *
+ * <p>线程在等待其他线程创建单例前，会登记其正在等待的任务，
+ * 并沿着“任务的创建线程正在等待的任务”向下查找，
+ * 若最终回到当前线程，说明线程之间存在循环等待，此时将直接抛出异常而不是陷入死锁，
+ * 异常会同时传递给等待该任务的其他线程。
+ *
+ * @author huangchengxing
+ */
+public class GeneralSingletonRegister implements SingletonRegister {
+
+    private final Map<String, Object> singletons = new ConcurrentHashMap<>();
+
+    /**
+     * 正在创建的单例
+     */
+    private final Map<String, Creation> creations = new ConcurrentHashMap<>();
+
+    /**
+     * 正在等待其他线程创建单例的线程，以及其等待的任务
+     */
+    private final Map<Thread, Creation> waitingThreads = new ConcurrentHashMap<>();
+
+    /**
+     * 注册单例bean
+     *
+     * @param name bean的名称
+     * @param bean bean实例
+     */
+    @Override
+    public void registerSingleton(String name, @NonNull Object bean) {
+        Asserts.isNotNull(bean, "The singleton [{}] must not null", name);
+        Object existing = singletons.putIfAbsent(name, bean);
+        Asserts.isTrue(existing == null || existing == bean, "The singleton [{}] already exists", name);
+    }
+
+    /**
+     * 获取单例bean
+     *
+     * @param name bean的名称
+     * @return bean实例，若单例不存在或仍在创建中则返回{@code null}
+     */
+    @Nullable
+    @Override
+    public Object getSingleton(String name) {
+        return singletons.get(name);
+    }
+
+    /**
+     * 获取单例bean，若不存在则通过{@code factory}创建并注册。
+     * 若该单例正在由其他线程创建，则等待其创建完成。
+     *
+     * @param name bean的名称
+     * @param factory bean的创建方法
+     * @return bean实例
+     * @throws Ioc4jException 当线程之间存在循环等待，或单例创建失败时
+     */
+    @Override
+    public Object getSingleton(String name, Supplier<?> factory) {
+        Object singleton = singletons.get(name);
+        if (Objects.nonNull(singleton)) {
+            return singleton;
+        }
+        Creation creation = new Creation(name, Thread.currentThread());
+        Creation existing = creations.putIfAbsent(name, creation);
+        return Objects.isNull(existing) ?
+            createSingleton(creation, factory) : awaitSingleton(existing);
+    }
+
+    private Object createSingleton(Creation creation, Supplier<?> factory) {
+        try {
+            // 登记任务前单例可能刚好创建完毕
+            Object singleton = singletons.get(creation.name);
+            if (Objects.isNull(singleton)) {
+                singleton = factory.get();
+                registerSingleton(creation.name, singleton);
+            }
+            creation.future.complete(singleton);
+            return singleton;
+        } catch (Throwable ex) {
+            creation.future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            creations.remove(creation.name, creation);
+        }
+    }
+
+    private Object awaitSingleton(Creation creation) {
+        Thread current = Thread.currentThread();
+        if (creation.owner == current) {
+            throw new Ioc4jException(
+                "Circular dependency found: singleton [{}] is already in creation by current thread", creation.name
+            );
+        }
+        waitingThreads.put(current, creation);
+        try {
+            checkCircularWait(current, creation);
+            return creation.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Ioc4jException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Ioc4jException ex ? ex : new Ioc4jException(cause);
+        } finally {
+            waitingThreads.remove(current);
+        }
+    }
+
+    /**
+     * 检查当前线程等待指定任务是否会导致循环等待
+     *
+     * @param current 当前线程
+     * @param creation 当前线程等待的任务
+     * @throws Ioc4jException 当存在循环等待时
+     */
+    private void checkCircularWait(Thread current, Creation creation) {
+        List<String> path = new ArrayList<>();
+        Creation next = creation;
+        // 每个线程同时只会等待一个任务，因此路径长度不会超过等待中的线程数
+        int limit = waitingThreads.size() + 1;
+        while (Objects.nonNull(next) && path.size() <= limit) {
+            path.add(next.name);
+            if (next.owner == current) {
+                path.add(creation.name);
+                throw new Ioc4jException(
+                    "Circular wait found between threads while creating singletons: {}", String.join(" -> ", path)
+                );
+            }
+            next = waitingThreads.get(next.owner);
+        }
+    }
+
+    /**
+     * 单例的创建任务
+     */
+    private static class Creation {
+
+        private final String name;
+        private final Thread owner;
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        Creation(String name, Thread owner) {
+            this.name = name;
+            this.owner = owner;
+        }
+    }
+}
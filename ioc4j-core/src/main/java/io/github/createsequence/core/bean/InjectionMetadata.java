@@ -0,0 +1,234 @@
+package io.github.createsequence.core.bean;
+
+import io.github.createsequence.core.bean.metadata.ClassMetadata;
+import io.github.createsequence.core.bean.metadata.FieldMetadata;
+import io.github.createsequence.core.bean.metadata.MethodMetadata;
+import io.github.createsequence.core.exception.Ioc4jException;
+import io.github.createsequence.core.support.FieldAccessor;
+import io.github.createsequence.core.support.MethodInvoker;
+import io.github.createsequence.core.util.ReflectUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+
+import javax.inject.Inject;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * <p>Bean类型的注入元数据，包括用于实例化的构造器、需要注入的属性与方法，以及初始化方法。<br/>
+ * 注入元数据仅与Bean的类型有关，应当按类型缓存，避免每次创建Bean时都重新解析。
+ *
+ * <p>属性与方法按照父类优先的顺序排列，被子类重写的方法不会被注入或调用，
+ * 除非子类中的重写方法本身也被对应的注解标记。
+ *
+ * @author huangchengxing
+ * @see Inject
+ * @see PostConstruct
+ */
+final class InjectionMetadata {
+
+    /**
+     * 构造器
+     */
+    @Getter
+    private final Constructor<?> constructor;
+
+    /**
+     * 构造器参数
+     */
+    @Getter
+    private final List<InjectionPoint> constructorParameters;
+
+    /**
+     * 需要注入的属性
+     */
+    @Getter
+    private final List<FieldInjection> fieldInjections;
+
+    /**
+     * 需要注入的方法
+     */
+    @Getter
+    private final List<MethodInjection> methodInjections;
+
+    /**
+     * 初始化方法
+     */
+    @Getter
+    private final List<MethodMetadata> initMethods;
+
+    /**
+     * 解析Bean类型的注入元数据
+     *
+     * @param metadata 类型元数据
+     * @return 注入元数据
+     */
+    static InjectionMetadata resolve(ClassMetadata metadata) {
+        if (metadata.isAbstract()) {
+            throw new Ioc4jException("The bean type [{}] cannot be instantiated", metadata.getSource());
+        }
+        return new InjectionMetadata(metadata);
+    }
+
+    private InjectionMetadata(ClassMetadata metadata) {
+        this.constructor = determineConstructor(metadata.getSource());
+        ReflectUtils.setAccessible(constructor);
+        this.constructorParameters = Stream.of(constructor.getParameters())
+            .map(InjectionPoint::of)
+            .toList();
+        // 按广度优先排序的层级结构中，子类总是在父类之前，反转后即为父类优先的顺序
+        List<ClassMetadata> classes = new ArrayList<>(metadata.stream().toList());
+        Collections.reverse(classes);
+        this.fieldInjections = classes.stream()
+            .map(ClassMetadata::getDeclaredFields)
+            .flatMap(Collection::stream)
+            .filter(field -> !Modifier.isStatic(field.getSource().getModifiers()))
+            .filter(field -> Objects.nonNull(field.getDeclaredAnnotation(Inject.class)))
+            .map(FieldInjection::new)
+            .toList();
+        List<MethodMetadata> methods = collectNotOverriddenMethods(metadata);
+        this.methodInjections = filterMethods(methods, Inject.class).stream()
+            .map(MethodInjection::new)
+            .toList();
+        this.initMethods = filterMethods(methods, PostConstruct.class);
+        initMethods.stream()
+            .filter(m -> m.getSource().getParameterCount() > 0)
+            .findFirst()
+            .ifPresent(m -> {
+                throw new Ioc4jException("The init method [{}] must not have any parameter", m.getSource());
+            });
+    }
+
+    /**
+     * 获取全部注入点，包括构造器参数、属性与方法参数
+     *
+     * @return 注入点
+     */
+    List<InjectionPoint> getInjectionPoints() {
+        List<InjectionPoint> points = new ArrayList<>(constructorParameters);
+        fieldInjections.forEach(injection -> points.add(injection.point()));
+        methodInjections.forEach(injection -> points.addAll(injection.points()));
+        return points;
+    }
+
+    private static Constructor<?> determineConstructor(Class<?> type) {
+        Constructor<?>[] constructors = type.getDeclaredConstructors();
+        List<Constructor<?>> annotated = Stream.of(constructors)
+            .filter(c -> c.isAnnotationPresent(Inject.class))
+            .toList();
+        if (annotated.size() > 1) {
+            throw new Ioc4jException("The bean type [{}] has more than one constructor annotated by @Inject", type);
+        }
+        if (annotated.size() == 1) {
+            return annotated.get(0);
+        }
+        if (constructors.length == 1) {
+            return constructors[0];
+        }
+        return Stream.of(constructors)
+            .filter(c -> c.getParameterCount() == 0)
+            .findFirst()
+            .orElseThrow(() -> new Ioc4jException("No suitable constructor found for the bean type [{}]", type));
+    }
+
+    /**
+     * 按子类优先的顺序收集层级结构中的非静态、非抽象方法，并排除已被子类重写的方法。<br/>
+     * 被重写的方法通过{@link MethodMetadata#getParents()}获得，其基于声明类的方法签名索引查找并缓存，
+     * 因此不需要将每个方法与所有子类方法逐一比较。
+     *
+     * @param metadata 类型元数据
+     * @return 方法，按父类优先的顺序排列
+     */
+    private static List<MethodMetadata> collectNotOverriddenMethods(ClassMetadata metadata) {
+        List<MethodMetadata> methods = new ArrayList<>();
+        Set<MethodMetadata> overridden = new HashSet<>();
+        for (ClassMetadata cm : metadata.stream().toList()) {
+            if (cm.getSource().isInterface()) {
+                continue;
+            }
+            // 子类总是先于父类被访问，因此访问到父类方法时，所有重写它的子类方法都已被收集
+            for (MethodMetadata method : cm.getDeclaredMethods()) {
+                if (method.isStatic() || Modifier.isAbstract(method.getSource().getModifiers())) {
+                    continue;
+                }
+                if (isPrivate(method)) {
+                    methods.add(method);
+                    continue;
+                }
+                if (!overridden.contains(method)) {
+                    methods.add(method);
+                }
+                // 即使方法本身已被重写，其重写的父类方法也应当被排除，比如子类与包私有方法的父类不在同一包中时
+                method.getParents().stream()
+                    .filter(parent -> isOverridable(parent, method))
+                    .forEach(overridden::add);
+            }
+        }
+        Collections.reverse(methods);
+        return methods;
+    }
+
+    /**
+     * 父类方法是否能够被子类方法重写，私有方法不能被重写，包私有方法仅能被同一运行时包中的方法重写
+     */
+    private static boolean isOverridable(MethodMetadata parent, MethodMetadata child) {
+        int modifiers = parent.getSource().getModifiers();
+        if (Modifier.isPrivate(modifiers)) {
+            return false;
+        }
+        if (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)) {
+            return true;
+        }
+        Class<?> parentClass = parent.getSource().getDeclaringClass();
+        Class<?> childClass = child.getSource().getDeclaringClass();
+        return parentClass.getClassLoader() == childClass.getClassLoader()
+            && Objects.equals(parentClass.getPackageName(), childClass.getPackageName());
+    }
+
+    private static boolean isPrivate(MethodMetadata method) {
+        return Modifier.isPrivate(method.getSource().getModifiers());
+    }
+
+    private static List<MethodMetadata> filterMethods(
+        List<MethodMetadata> methods, Class<? extends Annotation> annotationType) {
+        return methods.stream()
+            .filter(m -> Objects.nonNull(m.getDeclaredAnnotation(annotationType)))
+            .toList();
+    }
+
+    /**
+     * 属性注入
+     *
+     * @param accessor 属性访问器
+     * @param point 注入点
+     */
+    record FieldInjection(FieldAccessor accessor, InjectionPoint point) {
+        FieldInjection(FieldMetadata field) {
+            this(field.getAccessor(), InjectionPoint.of(field.getSource()));
+        }
+    }
+
+    /**
+     * 方法注入
+     *
+     * @param invoker 方法调用器
+     * @param points 方法参数的注入点
+     */
+    record MethodInjection(MethodInvoker invoker, List<InjectionPoint> points) {
+        MethodInjection(MethodMetadata method) {
+            this(method.getInvoker(), Arrays.stream(method.getSource().getParameters())
+                .map(InjectionPoint::of)
+                .toList());
+        }
+    }
+}
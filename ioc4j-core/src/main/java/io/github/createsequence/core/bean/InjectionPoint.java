@@ -0,0 +1,55 @@
+package io.github.createsequence.core.bean;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import javax.inject.Named;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.Objects;
+
+/**
+ * 注入点，表示一个需要由容器提供依赖的属性或参数
+ *
+ * @param type 依赖的类型
+ * @param genericType 依赖的泛型类型
+ * @param qualifier 依赖的Bean名称，通过{@link Named}指定，未指定时为{@code null}
+ * @param lazy 是否延迟获取依赖，通过{@link LazyInject}指定
+ * @param element 属性或参数
+ * @author huangchengxing
+ */
+public record InjectionPoint(
+    Class<?> type, Type genericType, @Nullable String qualifier, boolean lazy, AnnotatedElement element) {
+
+    /**
+     * 创建属性注入点
+     *
+     * @param field 属性
+     * @return 注入点
+     */
+    public static InjectionPoint of(Field field) {
+        return new InjectionPoint(
+            field.getType(), field.getGenericType(), determineQualifier(field), field.isAnnotationPresent(LazyInject.class), field
+        );
+    }
+
+    /**
+     * 创建参数注入点
+     *
+     * @param parameter 参数
+     * @return 注入点
+     */
+    public static InjectionPoint of(Parameter parameter) {
+        return new InjectionPoint(
+            parameter.getType(), parameter.getParameterizedType(), determineQualifier(parameter),
+            parameter.isAnnotationPresent(LazyInject.class), parameter
+        );
+    }
+
+    @Nullable
+    private static String determineQualifier(AnnotatedElement element) {
+        Named named = element.getAnnotation(Named.class);
+        return Objects.isNull(named) || named.value().isEmpty() ? null : named.value();
+    }
+}
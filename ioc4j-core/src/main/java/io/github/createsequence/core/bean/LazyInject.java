@@ -0,0 +1,25 @@
+package io.github.createsequence.core.bean;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>表示注入点的依赖需要延迟获取，容器将注入一个轻量的延迟句柄，而不是立即获取依赖：
+ * <ul>
+ *     <li>若注入点类型为接口，则注入一个实现了该接口的代理对象，首次调用其方法时才获取依赖；</li>
+ *     <li>若注入点类型为{@link javax.inject.Provider}，则首次调用{@link javax.inject.Provider#get()}时获取依赖，
+ *     此后总是返回同一个实例；</li>
+ * </ul>
+ * 被延迟获取的依赖不会参与Bean之间依赖关系的构建，因此也可以用于打破循环依赖。
+ *
+ * @author huangchengxing
+ * @see javax.inject.Provider
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+public @interface LazyInject {
+}
@@ -3,6 +3,9 @@ package io.github.createsequence.core.bean;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Objects;
+import java.util.function.Supplier;
+
 /**
  * 单例注册表
  *
@@ -27,4 +30,22 @@ public interface SingletonRegister {
      */
     @Nullable
     Object getSingleton(String name);
+
+    /**
+     * <p>获取单例bean，若不存在则通过{@code factory}创建并注册。<br/>
+     * 默认实现不保证原子性，并发时同一个bean可能被创建多次，实现类应当保证每个bean只被创建一次。
+     *
+     * @param name bean的名称
+     * @param factory bean的创建方法
+     * @return bean实例
+     * @see GeneralSingletonRegister
+     */
+    default Object getSingleton(String name, Supplier<?> factory) {
+        Object singleton = getSingleton(name);
+        if (Objects.isNull(singleton)) {
+            singleton = factory.get();
+            registerSingleton(name, singleton);
+        }
+        return singleton;
+    }
 }
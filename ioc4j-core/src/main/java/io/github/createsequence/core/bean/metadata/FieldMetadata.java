@@ -1,5 +1,6 @@
 package io.github.createsequence.core.bean.metadata;
 
+import io.github.createsequence.core.support.FieldAccessor;
 import io.github.createsequence.core.support.annotation.HierarchicalAnnotatedElement;
 
 import java.lang.reflect.Field;
@@ -44,4 +45,14 @@ public interface FieldMetadata extends HierarchicalAnnotatedElement<Field, Field
     default Class<?> getType() {
         return getSource().getType();
     }
+
+    /**
+     * 获取属性的访问器，默认每次调用都会创建一个新的访问器，实现类应当对其进行缓存
+     *
+     * @return 属性访问器
+     * @see FieldAccessor#of
+     */
+    default FieldAccessor getAccessor() {
+        return FieldAccessor.of(getSource());
+    }
 }
@@ -1,17 +1,28 @@
 package io.github.createsequence.core.bean.metadata;
 
+import io.github.createsequence.core.support.FieldAccessor;
+import io.github.createsequence.core.support.MethodSignature;
+import io.github.createsequence.core.support.annotation.HierarchicalAnnotatedElement;
 import io.github.createsequence.core.util.ArrayUtils;
-import io.github.createsequence.core.util.CollectionUtils;
+import io.github.createsequence.core.util.Lazy;
 import io.github.createsequence.core.util.ReflectUtils;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import lombok.Setter;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Repeatable;
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -20,7 +31,12 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 /**
- * {@link ClassMetadataFactory}的通用实现
+ * <p>{@link ClassMetadataFactory}的通用实现。<br/>
+ * 类型元数据在创建时不会立刻解析其中的属性、方法与父类，
+ * 而是在首次访问时才进行解析并缓存结果，因此创建元数据的开销很小。
+ *
+ * <p>元数据的创建不在{@link ConcurrentHashMap#computeIfAbsent}中进行，
+ * 多个线程同时解析同一类型时可能会重复创建元数据，但最终只有一个实例会被缓存并返回。
  *
  * @author huangchengxing
  */
@@ -36,40 +52,13 @@ public class GeneralClassMetadataFactory implements ClassMetadataFactory {
      */
     @Override
     public ClassMetadata resolve(Class<?> type) {
-        return metadataCaches.computeIfAbsent(type, this::doResolve);
-    }
-
-    private ClassMetadataImpl doResolve(Class<?> type) {
-        ClassMetadataImpl metadata = createClassMetadata(type);
-
-        // 搜集类中所有的属性
-        Field[] declaredFields = type.getDeclaredFields();
-        if (ArrayUtils.isNotEmpty(declaredFields)) {
-            List<FieldMetadata> fieldMetadataList = Stream.of(declaredFields)
-                .map(field -> createFieldMetadata(metadata, field))
-                .toList();
-            metadata.setDeclaredFields(fieldMetadataList);
+        ClassMetadataImpl metadata = metadataCaches.get(type);
+        if (Objects.nonNull(metadata)) {
+            return metadata;
         }
-
-        // 收集类中所有的方法
-        Method[] declaredMethods = type.getDeclaredMethods();
-        if (ArrayUtils.isNotEmpty(declaredMethods)) {
-            List<MethodMetadata> methodMetadataList = Stream.of(declaredMethods)
-                .filter(method -> !method.isSynthetic())
-                .map(method -> createMethodMetadata(metadata, method))
-                .toList();
-            metadata.setDeclaredMethods(methodMetadataList);
-        }
-
-        // 搜集父类或父接口
-        Set<Class<?>> superAndInterfaces = ReflectUtils.getDeclaredSuperClassWithInterface(type);
-        superAndInterfaces.remove(Object.class);
-        if (CollectionUtils.isNotEmpty(superAndInterfaces)) {
-            List<Class<?>> parents = List.copyOf(superAndInterfaces);
-            metadata.setSuperclasses(parents);
-        }
-
-        return metadata;
+        metadata = createClassMetadata(type);
+        ClassMetadataImpl existing = metadataCaches.putIfAbsent(type, metadata);
+        return Objects.isNull(existing) ? metadata : existing;
     }
 
     /**
@@ -82,6 +71,45 @@ public class GeneralClassMetadataFactory implements ClassMetadataFactory {
         return new ClassMetadataImpl(type);
     }
 
+    /**
+     * 搜集类中所有的属性，该方法在首次访问类型元数据的属性时调用
+     *
+     * @param metadata 类型元数据
+     * @return 属性元数据
+     */
+    protected List<FieldMetadata> resolveDeclaredFields(ClassMetadataImpl metadata) {
+        Field[] declaredFields = ReflectUtils.getDeclaredFields(metadata.getSource());
+        return ArrayUtils.isEmpty(declaredFields) ? Collections.emptyList() : Stream.of(declaredFields)
+            .map(field -> createFieldMetadata(metadata, field))
+            .toList();
+    }
+
+    /**
+     * 搜集类中所有的非合成方法，该方法在首次访问类型元数据的方法时调用
+     *
+     * @param metadata 类型元数据
+     * @return 方法元数据
+     */
+    protected List<MethodMetadata> resolveDeclaredMethods(ClassMetadataImpl metadata) {
+        Method[] declaredMethods = ReflectUtils.getDeclaredMethods(metadata.getSource());
+        return ArrayUtils.isEmpty(declaredMethods) ? Collections.emptyList() : Stream.of(declaredMethods)
+            .filter(method -> !method.isSynthetic())
+            .map(method -> createMethodMetadata(metadata, method))
+            .toList();
+    }
+
+    /**
+     * 搜集类的父类或父接口，该方法在首次访问类型元数据的父级节点时调用
+     *
+     * @param metadata 类型元数据
+     * @return 父类或父接口
+     */
+    protected List<Class<?>> resolveSuperclasses(ClassMetadataImpl metadata) {
+        return ReflectUtils.getDeclaredSuperClassWithInterface(metadata.getSource()).stream()
+            .filter(parent -> parent != Object.class)
+            .toList();
+    }
+
     /**
      * 创建属性元数据
      *
@@ -105,19 +133,52 @@ public class GeneralClassMetadataFactory implements ClassMetadataFactory {
     }
 
     /**
-     * 类型元数据实现
+     * 类型元数据实现，其属性、方法与父级节点都在首次访问时解析
      *
      * @author huangchengxing
      */
-    @Setter
-    @Getter
     @RequiredArgsConstructor
-    protected class ClassMetadataImpl implements ClassMetadata {
+    protected class ClassMetadataImpl extends AbstractHierarchicalMetadata<Class<?>, ClassMetadata> implements ClassMetadata {
 
+        @Getter
         private final Class<?> source;
-        private List<MethodMetadata> declaredMethods = Collections.emptyList();
-        private List<FieldMetadata> declaredFields = Collections.emptyList();
-        private List<Class<?>> superclasses = Collections.emptyList();
+        private final Lazy<List<MethodMetadata>> declaredMethods = new Lazy<>(() -> resolveDeclaredMethods(this));
+        private final Lazy<List<FieldMetadata>> declaredFields = new Lazy<>(() -> resolveDeclaredFields(this));
+        private final Lazy<List<Class<?>>> superclasses = new Lazy<>(() -> resolveSuperclasses(this));
+        private final Lazy<List<ClassMetadata>> parents = new Lazy<>(() -> getSuperclasses().stream()
+            .map(GeneralClassMetadataFactory.this::resolve)
+            .toList()
+        );
+        private final Lazy<Map<MethodSignature, List<MethodMetadata>>> hierarchyMethods = new Lazy<>(this::indexHierarchyMethods);
+
+        /**
+         * 获取方法列表
+         *
+         * @return 方法列表，返回的列表不可变
+         */
+        @Override
+        public List<MethodMetadata> getDeclaredMethods() {
+            return declaredMethods.get();
+        }
+
+        /**
+         * 获取属性列表
+         *
+         * @return 属性列表，返回的列表不可变
+         */
+        @Override
+        public List<FieldMetadata> getDeclaredFields() {
+            return declaredFields.get();
+        }
+
+        /**
+         * 获取父类或父接口，不包括{@link Object}
+         *
+         * @return 父类或父接口，返回的列表不可变
+         */
+        public List<Class<?>> getSuperclasses() {
+            return superclasses.get();
+        }
 
         /**
          * 若元数据存在父级节点，则返回父级节点的元数据。<br/>
@@ -128,10 +189,38 @@ public class GeneralClassMetadataFactory implements ClassMetadataFactory {
         @NonNull
         @Override
         public Collection<ClassMetadata> getParents() {
-            return superclasses.stream()
-                .map(GeneralClassMetadataFactory.this::resolve)
+            return parents.get();
+        }
+
+        /**
+         * 获取层级结构中被指定方法重写的方法，包括当前类中声明的方法
+         *
+         * @param method 方法元数据
+         * @return 被重写的方法，返回的列表不可变
+         * @see MethodMetadata#isOverrideFrom
+         */
+        protected List<MethodMetadata> getOverwrittenMethods(MethodMetadata method) {
+            List<MethodMetadata> candidates = hierarchyMethods.get().get(MethodSignature.of(method.getSource()));
+            return Objects.isNull(candidates) ? Collections.emptyList() : candidates.stream()
+                .filter(mm -> mm != method && method.isOverrideFrom(mm.getSource()))
                 .toList();
         }
+
+        /**
+         * 按签名对层级结构中的全部方法建立索引，同一签名下的方法按层级结构的广度优先顺序排列
+         *
+         * @return 方法索引
+         */
+        private Map<MethodSignature, List<MethodMetadata>> indexHierarchyMethods() {
+            Map<MethodSignature, List<MethodMetadata>> index = new HashMap<>();
+            for (ClassMetadata metadata : this) {
+                metadata.getDeclaredMethods().forEach(mm -> index
+                    .computeIfAbsent(MethodSignature.of(mm.getSource()), s -> new ArrayList<>(1))
+                    .add(mm)
+                );
+            }
+            return index;
+        }
     }
 
     /**
@@ -141,28 +230,33 @@ public class GeneralClassMetadataFactory implements ClassMetadataFactory {
      */
     @Getter
     @RequiredArgsConstructor
-    protected class MethodMetadataImpl implements MethodMetadata {
+    protected class MethodMetadataImpl extends AbstractHierarchicalMetadata<Method, MethodMetadata> implements MethodMetadata {
 
         private final Method source;
-        private final ClassMetadata declaringClassMetadata;
-        private volatile Collection<MethodMetadata> parents;
+        private final ClassMetadataImpl declaringClassMetadata;
+        @Getter(AccessLevel.NONE)
+        private final Lazy<List<MethodMetadata>> parents = new Lazy<>(() -> getDeclaringClassMetadata().getOverwrittenMethods(this));
+
+        /**
+         * 该方法是否重写自父类
+         *
+         * @return 是否
+         */
+        @Override
+        public boolean isOverride() {
+            return !getParents().isEmpty();
+        }
 
         /**
-         * 获取被该方法重写的所有父类方法
+         * 获取被该方法重写的所有父类方法，
+         * 父类方法通过声明类的方法签名索引查找，并在首次访问后缓存
          *
          * @return 父级元数据，返回的列表不可变
          */
         @NonNull
         @Override
         public Collection<MethodMetadata> getParents() {
-            if (Objects.isNull(parents)) {
-                synchronized (this) {
-                    if (Objects.isNull(parents)) {
-                        parents = MethodMetadata.super.getParents();
-                    }
-                }
-            }
-            return parents;
+            return parents.get();
         }
     }
 
@@ -173,8 +267,138 @@ public class GeneralClassMetadataFactory implements ClassMetadataFactory {
      */
     @Getter
     @RequiredArgsConstructor
-    protected static class FieldMetadataImpl implements FieldMetadata {
+    protected static class FieldMetadataImpl extends AbstractHierarchicalMetadata<Field, FieldMetadata> implements FieldMetadata {
         private final Field source;
         private final ClassMetadata declaringClassMetadata;
+        @Getter(AccessLevel.NONE)
+        private final Lazy<FieldAccessor> accessor = new Lazy<>(() -> FieldMetadata.super.getAccessor());
+
+        /**
+         * 获取属性的访问器，访问器在首次访问时创建
+         *
+         * @return 属性访问器
+         */
+        @Override
+        public FieldAccessor getAccessor() {
+            return accessor.get();
+        }
+    }
+
+    /**
+     * <p>元数据的基本实现，缓存了按广度优先排序的层级结构，以及从层级结构中查找注解的结果。<br/>
+     * 元数据创建后其层级结构与注解都不会再改变，因此对同一注解类型的重复查找只需要一次哈希查找。
+     *
+     * @author huangchengxing
+     * @param <E> 元素类型
+     * @param <I> 实现类类型
+     */
+    protected abstract static class AbstractHierarchicalMetadata<E extends AnnotatedElement, I extends HierarchicalAnnotatedElement<E, I>>
+        implements HierarchicalAnnotatedElement<E, I> {
+
+        /**
+         * 用于表示注解不存在的占位符
+         */
+        private static final Object NULL = new Object();
+
+        /**
+         * 包括当前元素在内，层级结构中按广度优先排序的全部元素
+         */
+        private final Lazy<List<I>> hierarchies = new Lazy<>(this::linearizeHierarchy);
+
+        /**
+         * 层级结构中的全部注解
+         */
+        private final Lazy<Annotation[]> annotations = new Lazy<>(HierarchicalAnnotatedElement.super::getAnnotations);
+
+        /**
+         * 从层级结构中查找的首个注解，若注解不存在则值为{@link #NULL}
+         */
+        private final Map<Class<? extends Annotation>, Object> annotationCaches = new ConcurrentHashMap<>();
+
+        /**
+         * 从层级结构中查找的全部指定类型的注解
+         */
+        private final Map<Class<? extends Annotation>, Annotation[]> annotationsByTypeCaches = new ConcurrentHashMap<>();
+
+        /**
+         * 从层级结构中的所有的元素中查找首个匹配的注解
+         *
+         * @param annotationType 注解类型
+         * @param <A> 注解类型
+         * @return 注解
+         */
+        @Nullable
+        @Override
+        public <A extends Annotation> A getAnnotation(@NonNull Class<A> annotationType) {
+            Object annotation = annotationCaches.get(annotationType);
+            if (Objects.isNull(annotation)) {
+                annotation = Objects.requireNonNullElse(HierarchicalAnnotatedElement.super.getAnnotation(annotationType), NULL);
+                annotationCaches.putIfAbsent(annotationType, annotation);
+            }
+            return annotation == NULL ? null : annotationType.cast(annotation);
+        }
+
+        /**
+         * 获取层级结构中的所有的元素上的全部注解
+         *
+         * @return 注解列表
+         */
+        @Override
+        public Annotation[] getAnnotations() {
+            return annotations.get().clone();
+        }
+
+        /**
+         * 从层级结构中的所有的元素上获取所有指定类型的注解，包括被{@link Repeatable}标记的可重复注解
+         *
+         * @param annotationType 注解类型
+         * @return 注解
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public <A extends Annotation> A[] getAnnotationsByType(Class<A> annotationType) {
+            Annotation[] results = annotationsByTypeCaches.get(annotationType);
+            if (Objects.isNull(results)) {
+                results = HierarchicalAnnotatedElement.super.getAnnotationsByType(annotationType);
+                annotationsByTypeCaches.putIfAbsent(annotationType, results);
+            }
+            return (A[]) results.clone();
+        }
+
+        /**
+         * 获取迭代器，该迭代器可用于按广度优先迭代包括当前元素在内，层级结构中的所有元素
+         *
+         * @return 迭代器实例
+         */
+        @Override
+        public Iterator<I> iterator() {
+            return hierarchies.get().iterator();
+        }
+
+        /**
+         * 获取包括当前元素在内，层级结构中的所有元素组成的流
+         *
+         * @return 流
+         */
+        @Override
+        public Stream<I> stream() {
+            return hierarchies.get().stream();
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<I> linearizeHierarchy() {
+            List<I> elements = new ArrayList<>();
+            Set<E> accessed = new HashSet<>();
+            elements.add((I) this);
+            accessed.add(getSource());
+            for (int i = 0; i < elements.size(); i++) {
+                for (I parent : elements.get(i).getParents()) {
+                    if (accessed.add(parent.getSource())) {
+                        elements.add(parent);
+                    }
+                }
+            }
+            return Collections.unmodifiableList(elements);
+        }
     }
 }
@@ -1,5 +1,7 @@
 package io.github.createsequence.core.bean.metadata;
 
+import io.github.createsequence.core.support.MethodInvoker;
+import io.github.createsequence.core.support.MethodInvokerFactory;
 import io.github.createsequence.core.support.annotation.HierarchicalAnnotatedElement;
 import io.github.createsequence.core.util.ReflectUtils;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -34,6 +36,16 @@ public interface MethodMetadata extends HierarchicalAnnotatedElement<Method, Met
         return Modifier.isStatic(getSource().getModifiers());
     }
 
+    /**
+     * 获取方法的调用器，调用器将被缓存，不应每次调用方法前都重新创建
+     *
+     * @return 方法调用器
+     * @see MethodInvokerFactory
+     */
+    default MethodInvoker getInvoker() {
+        return MethodInvokerFactory.INSTANCE.getInvoker(getSource());
+    }
+
     /**
      * 获取方法的声明类的元数据对象
      *
@@ -7,6 +7,7 @@ import java.util.function.Supplier;
 
 /**
  * 单例，每次获取bean时都会返回同一个实例。
+ * bean的创建委托给{@link SingletonRegister#getSingleton(String, Supplier)}，是否只创建一次由注册表保证。
  *
  * @author huangchengxing
  * @see SingletonRegister
@@ -26,11 +27,6 @@ public class SingletonScope implements Scope {
     @SuppressWarnings("unchecked")
     @Override
     public <T> T get(String name, Supplier<T> supplier) {
-        Object singleton = singletonRegister.getSingleton(name);
-        if (singleton == null) {
-            singleton = supplier.get();
-            singletonRegister.registerSingleton(name, singleton);
-        }
-        return (T) singleton;
+        return (T) singletonRegister.getSingleton(name, supplier);
     }
 }
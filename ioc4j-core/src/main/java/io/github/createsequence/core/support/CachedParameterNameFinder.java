@@ -0,0 +1,81 @@
+package io.github.createsequence.core.support;
+
+import io.github.createsequence.core.util.ClassValueCache;
+import lombok.RequiredArgsConstructor;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>A decorator of {@link ParameterNameFinder} which caches the parameter names.<br />
+ * Parameter names are cached by the declaring class of method or constructor,
+ * and will be collected together with the declaring class.
+ * The returned array is shared, it should not be modified.
+ *
+ * @author huangchengxing
+ */
+@RequiredArgsConstructor
+public class CachedParameterNameFinder implements ParameterNameFinder {
+
+    private static final String[] EMPTY_ARRAY = new String[0];
+
+    /**
+     * parameter name finder to be decorated
+     */
+    @NonNull
+    private final ParameterNameFinder delegate;
+
+    /**
+     * parameter name cache
+     */
+    private final ClassValueCache<Map<Executable, String[]>> parameterNameCaches = new ClassValueCache<>(
+        type -> new ConcurrentHashMap<>()
+    );
+
+    /**
+     * Get parameter names
+     *
+     * @param method method
+     * @return parameter names
+     */
+    @Override
+    public String[] getParameterNames(Method method) {
+        return Objects.isNull(method) ?
+            EMPTY_ARRAY : getCaches(method).computeIfAbsent(method, m -> nonNull(delegate.getParameterNames(method)));
+    }
+
+    /**
+     * Get parameter names of constructor.
+     *
+     * @param constructor constructor
+     * @return parameter names
+     */
+    @Override
+    public String[] getParameterNames(Constructor<?> constructor) {
+        return Objects.isNull(constructor) ?
+            EMPTY_ARRAY : getCaches(constructor).computeIfAbsent(constructor, c -> nonNull(delegate.getParameterNames(constructor)));
+    }
+
+    /**
+     * Remove cached parameter names of all classes loaded by the specified class loader.
+     *
+     * @param classLoader class loader, null means bootstrap class loader
+     */
+    public void clearCaches(@Nullable ClassLoader classLoader) {
+        parameterNameCaches.removeByClassLoader(classLoader);
+    }
+
+    private Map<Executable, String[]> getCaches(Executable executable) {
+        return parameterNameCaches.get(executable.getDeclaringClass());
+    }
+
+    private static String[] nonNull(String[] names) {
+        return Objects.isNull(names) ? EMPTY_ARRAY : names;
+    }
+}
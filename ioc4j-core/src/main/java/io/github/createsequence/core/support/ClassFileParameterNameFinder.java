@@ -0,0 +1,315 @@
+package io.github.createsequence.core.support;
+
+import io.github.createsequence.core.util.ArrayUtils;
+import io.github.createsequence.core.util.ClassValueCache;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * <p>Implementation of {@link ParameterNameFinder} which does not depend on {@code -parameters} compiler option.<br />
+ * If the names of parameters are present in runtime, use them directly,
+ * otherwise, read the {@code MethodParameters} or {@code LocalVariableTable} attribute
+ * from the class file of declaring class, the latter is generated by {@code -g} compiler option.
+ * If the parameter names still can not be found, fall back to {@link Parameter#getName()}.
+ *
+ * <p>The class file of each declaring class is parsed at most once,
+ * and the parameter names of all methods and constructors in it are cached together.
+ *
+ * @author huangchengxing
+ * @see CachedParameterNameFinder
+ */
+public class ClassFileParameterNameFinder implements ParameterNameFinder {
+
+    public static final ClassFileParameterNameFinder INSTANCE = new ClassFileParameterNameFinder();
+
+    private static final String[] EMPTY_ARRAY = new String[0];
+
+    /**
+     * parameter names read from class file, key is the name and descriptor of method
+     */
+    private final ClassValueCache<Map<String, String[]>> classFileCaches = new ClassValueCache<>(
+        ClassFileParameterNameFinder::readClassFile
+    );
+
+    /**
+     * Get parameter names
+     *
+     * @param method method
+     * @return parameter names
+     */
+    @Override
+    public String[] getParameterNames(Method method) {
+        return Objects.isNull(method) ?
+            EMPTY_ARRAY : resolve(method, method.getName(), method.getReturnType());
+    }
+
+    /**
+     * Get parameter names of constructor.
+     *
+     * @param constructor constructor
+     * @return parameter names
+     */
+    @Override
+    public String[] getParameterNames(Constructor<?> constructor) {
+        return Objects.isNull(constructor) ?
+            EMPTY_ARRAY : resolve(constructor, "<init>", void.class);
+    }
+
+    private String[] resolve(Executable executable, String name, Class<?> returnType) {
+        Parameter[] parameters = executable.getParameters();
+        if (ArrayUtils.isEmpty(parameters)) {
+            return EMPTY_ARRAY;
+        }
+        if (parameters[0].isNamePresent()) {
+            return getNames(parameters);
+        }
+        String descriptor = MethodType.methodType(returnType, executable.getParameterTypes()).toMethodDescriptorString();
+        String[] names = classFileCaches.get(executable.getDeclaringClass()).get(name + descriptor);
+        return Objects.isNull(names) || names.length != parameters.length ?
+            getNames(parameters) : names.clone();
+    }
+
+    private static String[] getNames(Parameter[] parameters) {
+        return Stream.of(parameters)
+            .map(Parameter::getName)
+            .toArray(String[]::new);
+    }
+
+    // ====================== class file ======================
+
+    private static final String MAGIC_CODE = "CAFEBABE";
+    private static final String CODE = "Code";
+    private static final String METHOD_PARAMETERS = "MethodParameters";
+    private static final String LOCAL_VARIABLE_TABLE = "LocalVariableTable";
+
+    /**
+     * Read parameter names of all methods and constructors from class file.
+     *
+     * @param type type
+     * @return parameter names, key is the name and descriptor of method
+     */
+    private static Map<String, String[]> readClassFile(Class<?> type) {
+        String resourceName = "/" + type.getName().replace('.', '/') + ".class";
+        try (InputStream stream = type.getResourceAsStream(resourceName)) {
+            return Objects.isNull(stream) ?
+                Collections.emptyMap() : new ClassFileReader(new DataInputStream(stream)).read();
+        } catch (IOException | RuntimeException e) {
+            // class file is not available or malformed
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * A minimal reader of class file, only reads what is needed to resolve parameter names.
+     *
+     * @see <a href="https://docs.oracle.com/javase/specs/jvms/se17/html/jvms-4.html">The class File Format</a>
+     */
+    private static class ClassFileReader {
+
+        private final DataInputStream input;
+        private String[] utf8Constants;
+
+        ClassFileReader(DataInputStream input) {
+            this.input = input;
+        }
+
+        Map<String, String[]> read() throws IOException {
+            if (!Integer.toHexString(input.readInt()).equalsIgnoreCase(MAGIC_CODE)) {
+                return Collections.emptyMap();
+            }
+            // minor_version, major_version
+            input.skipBytes(4);
+            readConstantPool();
+            // access_flags, this_class, super_class
+            input.skipBytes(6);
+            // interfaces
+            input.skipBytes(input.readUnsignedShort() * 2);
+            // fields
+            int fieldCount = input.readUnsignedShort();
+            for (int i = 0; i < fieldCount; i++) {
+                input.skipBytes(6);
+                skipAttributes();
+            }
+            // methods
+            int methodCount = input.readUnsignedShort();
+            Map<String, String[]> result = new HashMap<>(methodCount);
+            for (int i = 0; i < methodCount; i++) {
+                int accessFlags = input.readUnsignedShort();
+                String name = utf8Constants[input.readUnsignedShort()];
+                String descriptor = utf8Constants[input.readUnsignedShort()];
+                String[] names = readMethodAttributes(Modifier.isStatic(accessFlags), descriptor);
+                if (Objects.nonNull(names)) {
+                    result.put(name + descriptor, names);
+                }
+            }
+            return result;
+        }
+
+        private void readConstantPool() throws IOException {
+            int count = input.readUnsignedShort();
+            utf8Constants = new String[count];
+            for (int i = 1; i < count; i++) {
+                int tag = input.readUnsignedByte();
+                switch (tag) {
+                    // Utf8
+                    case 1 -> utf8Constants[i] = input.readUTF();
+                    // Class, String, MethodType, Module, Package
+                    case 7, 8, 16, 19, 20 -> input.skipBytes(2);
+                    // MethodHandle
+                    case 15 -> input.skipBytes(3);
+                    // Integer, Float, Fieldref, Methodref, InterfaceMethodref, NameAndType, Dynamic, InvokeDynamic
+                    case 3, 4, 9, 10, 11, 12, 17, 18 -> input.skipBytes(4);
+                    // Long, Double, which take two entries
+                    case 5, 6 -> {
+                        input.skipBytes(8);
+                        i++;
+                    }
+                    default -> throw new IOException("unknown constant pool tag: " + tag);
+                }
+            }
+        }
+
+        private void skipAttributes() throws IOException {
+            int attributeCount = input.readUnsignedShort();
+            for (int i = 0; i < attributeCount; i++) {
+                input.skipBytes(2);
+                input.skipBytes(input.readInt());
+            }
+        }
+
+        @Nullable
+        private String[] readMethodAttributes(boolean isStatic, String descriptor) throws IOException {
+            String[] methodParameters = null;
+            String[] localVariables = null;
+            int attributeCount = input.readUnsignedShort();
+            for (int i = 0; i < attributeCount; i++) {
+                String attributeName = utf8Constants[input.readUnsignedShort()];
+                int length = input.readInt();
+                if (METHOD_PARAMETERS.equals(attributeName)) {
+                    methodParameters = readMethodParameters();
+                } else if (CODE.equals(attributeName)) {
+                    localVariables = readCode(isStatic, descriptor);
+                } else {
+                    input.skipBytes(length);
+                }
+            }
+            return Objects.nonNull(methodParameters) ? methodParameters : localVariables;
+        }
+
+        @Nullable
+        private String[] readMethodParameters() throws IOException {
+            int count = input.readUnsignedByte();
+            String[] names = new String[count];
+            boolean complete = true;
+            for (int i = 0; i < count; i++) {
+                int nameIndex = input.readUnsignedShort();
+                // access_flags
+                input.skipBytes(2);
+                names[i] = nameIndex == 0 ? null : utf8Constants[nameIndex];
+                complete &= Objects.nonNull(names[i]);
+            }
+            return complete ? names : null;
+        }
+
+        @Nullable
+        private String[] readCode(boolean isStatic, String descriptor) throws IOException {
+            // max_stack, max_locals
+            input.skipBytes(4);
+            // code
+            input.skipBytes(input.readInt());
+            // exception_table
+            input.skipBytes(input.readUnsignedShort() * 8);
+
+            // map slots of local variables to parameter index
+            int[] slotToIndex = null;
+            String[] names = null;
+            int attributeCount = input.readUnsignedShort();
+            for (int i = 0; i < attributeCount; i++) {
+                String attributeName = utf8Constants[input.readUnsignedShort()];
+                int length = input.readInt();
+                if (!LOCAL_VARIABLE_TABLE.equals(attributeName)) {
+                    input.skipBytes(length);
+                    continue;
+                }
+                if (Objects.isNull(slotToIndex)) {
+                    slotToIndex = resolveParameterSlots(isStatic, descriptor);
+                    names = new String[countParameters(slotToIndex)];
+                }
+                int tableLength = input.readUnsignedShort();
+                for (int j = 0; j < tableLength; j++) {
+                    int startPc = input.readUnsignedShort();
+                    // length
+                    input.skipBytes(2);
+                    int nameIndex = input.readUnsignedShort();
+                    // descriptor
+                    input.skipBytes(2);
+                    int slot = input.readUnsignedShort();
+                    // parameters are available from the beginning of method
+                    if (startPc == 0 && slot < slotToIndex.length
+                        && slotToIndex[slot] >= 0 && Objects.isNull(names[slotToIndex[slot]])) {
+                        names[slotToIndex[slot]] = utf8Constants[nameIndex];
+                    }
+                }
+            }
+            if (Objects.isNull(names)) {
+                return null;
+            }
+            for (String name : names) {
+                if (Objects.isNull(name)) {
+                    return null;
+                }
+            }
+            return names;
+        }
+
+        /**
+         * Resolve the parameter index of each local variable slot, -1 means the slot is not a parameter.
+         */
+        private static int[] resolveParameterSlots(boolean isStatic, String descriptor) {
+            int[] slots = new int[descriptor.length() * 2 + 1];
+            Arrays.fill(slots, -1);
+            int slot = isStatic ? 0 : 1;
+            int index = 0;
+            int i = 1;
+            while (descriptor.charAt(i) != ')') {
+                // long and double take two slots, but arrays of them do not
+                boolean wide = descriptor.charAt(i) == 'J' || descriptor.charAt(i) == 'D';
+                slots[slot] = index++;
+                while (descriptor.charAt(i) == '[') {
+                    i++;
+                }
+                if (descriptor.charAt(i) == 'L') {
+                    i = descriptor.indexOf(';', i);
+                }
+                i++;
+                slot += wide ? 2 : 1;
+            }
+            return Arrays.copyOf(slots, slot);
+        }
+
+        private static int countParameters(int[] slotToIndex) {
+            int count = 0;
+            for (int index : slotToIndex) {
+                if (index >= 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.createsequence.core.support;
+
+import io.github.createsequence.core.exception.Ioc4jException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+
+/**
+ * <p>Represents a field that can be read and written.<br />
+ * Besides {@link #get} and {@link #set}, primitive-specialized methods are provided to avoid boxing,
+ * the field type must be assignable to the type of getter, or from the type of setter.
+ *
+ * <p>Any exception thrown by accessor will be wrapped as {@link Ioc4jException}.
+ *
+ * @author huangchengxing
+ * @see #of(Field)
+ */
+public interface FieldAccessor {
+
+    /**
+     * <p>Create an accessor of field.<br />
+     * The accessor is backed by {@link VarHandle} if the field is accessible and not final,
+     * otherwise it will fall back to reflection.
+     * Creating accessor is expensive, the accessor should be cached and reused.
+     *
+     * @param field field
+     * @return accessor
+     */
+    static FieldAccessor of(@NonNull Field field) {
+        return VarHandleFieldAccessor.create(field);
+    }
+
+    /**
+     * Get field.
+     *
+     * @return field
+     */
+    Field getField();
+
+    /**
+     * Get value of field.
+     *
+     * @param target target object, ignored if field is static
+     * @return field value, primitive value will be boxed
+     */
+    Object get(Object target);
+
+    /**
+     * Set value of field.
+     *
+     * @param target target object, ignored if field is static
+     * @param value field value, primitive value must be boxed
+     */
+    void set(Object target, Object value);
+
+    /**
+     * Get value of boolean field.
+     *
+     * @param target target object, ignored if field is static
+     * @return field value
+     */
+    boolean getBoolean(Object target);
+
+    /**
+     * Set value of boolean field.
+     *
+     * @param target target object, ignored if field is static
+     * @param value field value
+     */
+    void setBoolean(Object target, boolean value);
+
+    /**
+     * Get value of byte field.
+     *
+     * @param target target object, ignored if field is static
+     * @return field value
+     */
+    byte getByte(Object target);
+
+    /**
+     * Set value of byte field.
+     *
+     * @param target target object, ignored if field is static
+     * @param value field value
+     */
+    void setByte(Object target, byte value);
+
+    /**
+     * Get value of char field.
+     *
+     * @param target target object, ignored if field is static
+     * @return field value
+     */
+    char getChar(Object target);
+
+    /**
+     * Set value of char field.
+     *
+     * @param target target object, ignored if field is static
+     * @param value field value
+     */
+    void setChar(Object target, char value);
+
+    /**
+     * Get value of short field.
+     *
+     * @param target target object, ignored if field is static
+     * @return field value
+     */
+    short getShort(Object target);
+
+    /**
+     * Set value of short field.
+     *
+     * @param target target object, ignored if field is static
+     * @param value field value
+     */
+    void setShort(Object target, short value);
+
+    /**
+     * Get value of int field.
+     *
+     * @param target target object, ignored if field is static
+     * @return field value
+     */
+    int getInt(Object target);
+
+    /**
+     * Set value of int field.
+     *
+     * @param target target object, ignored if field is static
+     * @param value field value
+     */
+    void setInt(Object target, int value);
+
+    /**
+     * Get value of long field.
+     *
+     * @param target target object, ignored if field is static
+     * @return field value
+     */
+    long getLong(Object target);
+
+    /**
+     * Set value of long field.
+     *
+     * @param target target object, ignored if field is static
+     * @param value field value
+     */
+    void setLong(Object target, long value);
+
+    /**
+     * Get value of float field.
+     *
+     * @param target target object, ignored if field is static
+     * @return field value
+     */
+    float getFloat(Object target);
+
+    /**
+     * Set value of float field.
+     *
+     * @param target target object, ignored if field is static
+     * @param value field value
+     */
+    void setFloat(Object target, float value);
+
+    /**
+     * Get value of double field.
+     *
+     * @param target target object, ignored if field is static
+     * @return field value
+     */
+    double getDouble(Object target);
+
+    /**
+     * Set value of double field.
+     *
+     * @param target target object, ignored if field is static
+     * @param value field value
+     */
+    void setDouble(Object target, double value);
+}
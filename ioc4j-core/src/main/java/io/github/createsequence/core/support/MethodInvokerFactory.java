@@ -0,0 +1,373 @@
+package io.github.createsequence.core.support;
+
+import io.github.createsequence.core.exception.Ioc4jException;
+import io.github.createsequence.core.util.ClassValueCache;
+import lombok.RequiredArgsConstructor;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>Factory of {@link MethodInvoker}, the invoker of a method is created in the following order:
+ * <ul>
+ *     <li>
+ *         if the method is an instance method with no more than 1 parameter,
+ *         or a static method with no more than 2 parameters,
+ *         implement a functional interface in {@code java.util.function} by {@link LambdaMetafactory},
+ *         which can be inlined by JIT compiler just like a direct invocation;
+ *     </li>
+ *     <li>
+ *         otherwise, adapt the {@link MethodHandle} of method to a generic signature
+ *         {@code (Object target, Object arg0, ...) Object},
+ *         methods with no more than 3 parameters are invoked without spreading arguments array;
+ *     </li>
+ *     <li>if the method is not accessible by {@link MethodHandles.Lookup}, fall back to reflection;</li>
+ * </ul>
+ *
+ * <p>Invokers are cached by the declaring class of method,
+ * and will be collected together with the declaring class.
+ *
+ * <p>Same as {@link io.github.createsequence.core.util.ReflectUtils#invokeRaw},
+ * any exception thrown by invoker will be wrapped as {@link Ioc4jException},
+ * and the target exception of {@link InvocationTargetException} will be unwrapped.
+ *
+ * @author huangchengxing
+ */
+public class MethodInvokerFactory {
+
+    public static final MethodInvokerFactory INSTANCE = new MethodInvokerFactory();
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final int MAX_FAST_PATH_ARITY = 3;
+    private static final Object[] EMPTY_ARGS = new Object[0];
+
+    /**
+     * invoker cache
+     */
+    private final ClassValueCache<Map<Method, MethodInvoker>> invokerCaches = new ClassValueCache<>(
+        type -> new ConcurrentHashMap<>()
+    );
+
+    /**
+     * Get cached invoker of method, if absent, create and cache it.
+     *
+     * @param method method
+     * @return invoker
+     */
+    public MethodInvoker getInvoker(@NonNull Method method) {
+        Objects.requireNonNull(method, "method must not null");
+        return invokerCaches.get(method.getDeclaringClass())
+            .computeIfAbsent(method, this::createInvoker);
+    }
+
+    /**
+     * Remove cached invokers of all classes loaded by the specified class loader.
+     *
+     * @param classLoader class loader, null means bootstrap class loader
+     */
+    public void clearCaches(@Nullable ClassLoader classLoader) {
+        invokerCaches.removeByClassLoader(classLoader);
+    }
+
+    /**
+     * Create invoker of method.
+     *
+     * @param method method
+     * @return invoker
+     */
+    protected MethodInvoker createInvoker(Method method) {
+        MethodHandles.Lookup lookup = lookupFor(method.getDeclaringClass());
+        MethodHandle handle = unreflect(lookup, method);
+        if (Objects.isNull(handle)) {
+            return new ReflectiveInvoker(method);
+        }
+        MethodInvoker invoker = createLambdaInvoker(lookup, method, handle);
+        return Objects.isNull(invoker) ? createMethodHandleInvoker(method, handle) : invoker;
+    }
+
+    private static MethodHandles.Lookup lookupFor(Class<?> declaringClass) {
+        try {
+            MethodInvokerFactory.class.getModule().addReads(declaringClass.getModule());
+            return MethodHandles.privateLookupIn(declaringClass, LOOKUP);
+        } catch (IllegalAccessException | SecurityException | IllegalArgumentException e) {
+            // the package of declaring class is not open to current module
+            return null;
+        }
+    }
+
+    @Nullable
+    private static MethodHandle unreflect(MethodHandles.Lookup lookup, Method method) {
+        try {
+            return (Objects.isNull(lookup) ? LOOKUP : lookup).unreflect(method).asFixedArity();
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    // ====================== lambda ======================
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static MethodInvoker createLambdaInvoker(
+        MethodHandles.Lookup lookup, Method method, MethodHandle handle) {
+        if (Objects.isNull(lookup) || !lookup.hasFullPrivilegeAccess()) {
+            return null;
+        }
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        boolean isVoid = method.getReturnType() == void.class;
+        // the target of instance method is the first parameter of lambda
+        int lambdaArity = isStatic ? method.getParameterCount() : method.getParameterCount() + 1;
+        LambdaShape shape = LambdaShape.of(lambdaArity, isVoid);
+        if (Objects.isNull(shape)) {
+            return null;
+        }
+        Object function = implement(lookup, shape, handle, isVoid);
+        if (Objects.isNull(function)) {
+            return null;
+        }
+        return switch (shape) {
+            case SUPPLIER -> staticInvoker(0, args -> ((Supplier<Object>) function).get());
+            case RUNNABLE -> staticInvoker(0, args -> {
+                ((Runnable) function).run();
+                return null;
+            });
+            case FUNCTION -> isStatic ?
+                staticInvoker(1, args -> ((Function<Object, Object>) function).apply(args[0])) :
+                instanceInvoker(0, (target, args) -> ((Function<Object, Object>) function).apply(target));
+            case CONSUMER -> isStatic ?
+                staticInvoker(1, args -> {
+                    ((Consumer<Object>) function).accept(args[0]);
+                    return null;
+                }) :
+                instanceInvoker(0, (target, args) -> {
+                    ((Consumer<Object>) function).accept(target);
+                    return null;
+                });
+            case BI_FUNCTION -> isStatic ?
+                staticInvoker(2, args -> ((BiFunction<Object, Object, Object>) function).apply(args[0], args[1])) :
+                instanceInvoker(1, (target, args) -> ((BiFunction<Object, Object, Object>) function).apply(target, args[0]));
+            case BI_CONSUMER -> isStatic ?
+                staticInvoker(2, args -> {
+                    ((BiConsumer<Object, Object>) function).accept(args[0], args[1]);
+                    return null;
+                }) :
+                instanceInvoker(1, (target, args) -> {
+                    ((BiConsumer<Object, Object>) function).accept(target, args[0]);
+                    return null;
+                });
+        };
+    }
+
+    @Nullable
+    private static Object implement(MethodHandles.Lookup lookup, LambdaShape shape, MethodHandle handle, boolean isVoid) {
+        MethodType instantiatedType = handle.type().wrap();
+        if (isVoid) {
+            instantiatedType = instantiatedType.changeReturnType(void.class);
+        }
+        try {
+            return LambdaMetafactory.metafactory(
+                lookup, shape.methodName, MethodType.methodType(shape.functionalInterface),
+                shape.samMethodType, handle, instantiatedType
+            ).getTarget().invoke();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    private static MethodInvoker staticInvoker(int arity, Function<Object[], Object> function) {
+        return (target, args) -> {
+            args = nonNullArgs(args);
+            checkArgumentCount(arity, args);
+            try {
+                return function.apply(args);
+            } catch (Throwable e) {
+                throw wrap(e);
+            }
+        };
+    }
+
+    private static MethodInvoker instanceInvoker(int arity, BiFunction<Object, Object[], Object> function) {
+        return (target, args) -> {
+            args = nonNullArgs(args);
+            checkArgumentCount(arity, args);
+            try {
+                return function.apply(target, args);
+            } catch (Throwable e) {
+                throw wrap(e);
+            }
+        };
+    }
+
+    /**
+     * Functional interfaces used by {@link #createLambdaInvoker},
+     * they are accessible to any class.
+     */
+    @RequiredArgsConstructor
+    private enum LambdaShape {
+
+        SUPPLIER(Supplier.class, "get", MethodType.genericMethodType(0)),
+        RUNNABLE(Runnable.class, "run", MethodType.methodType(void.class)),
+        FUNCTION(Function.class, "apply", MethodType.genericMethodType(1)),
+        CONSUMER(Consumer.class, "accept", MethodType.methodType(void.class, Object.class)),
+        BI_FUNCTION(BiFunction.class, "apply", MethodType.genericMethodType(2)),
+        BI_CONSUMER(BiConsumer.class, "accept", MethodType.methodType(void.class, Object.class, Object.class));
+
+        private final Class<?> functionalInterface;
+        private final String methodName;
+        private final MethodType samMethodType;
+
+        @Nullable
+        static LambdaShape of(int lambdaArity, boolean isVoid) {
+            return switch (lambdaArity) {
+                case 0 -> isVoid ? RUNNABLE : SUPPLIER;
+                case 1 -> isVoid ? CONSUMER : FUNCTION;
+                case 2 -> isVoid ? BI_CONSUMER : BI_FUNCTION;
+                default -> null;
+            };
+        }
+    }
+
+    // ====================== method handle ======================
+
+    private static MethodInvoker createMethodHandleInvoker(Method method, MethodHandle handle) {
+        int arity = method.getParameterCount();
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        if (arity > MAX_FAST_PATH_ARITY) {
+            handle = handle.asSpreader(Object[].class, arity);
+            return new SpreadInvoker(arity, handle.asType(MethodType.methodType(Object.class, Object.class, Object[].class)));
+        }
+        handle = handle.asType(MethodType.genericMethodType(arity + 1));
+        return switch (arity) {
+            case 0 -> new Arity0Invoker(handle);
+            case 1 -> new Arity1Invoker(handle);
+            case 2 -> new Arity2Invoker(handle);
+            default -> new Arity3Invoker(handle);
+        };
+    }
+
+    @RequiredArgsConstructor
+    private static class Arity0Invoker implements MethodInvoker {
+        private final MethodHandle handle;
+        @Override
+        public Object invoke(Object target, Object... args) {
+            checkArgumentCount(0, nonNullArgs(args));
+            try {
+                return (Object) handle.invokeExact(target);
+            } catch (Throwable e) {
+                throw wrap(e);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Arity1Invoker implements MethodInvoker {
+        private final MethodHandle handle;
+        @Override
+        public Object invoke(Object target, Object... args) {
+            checkArgumentCount(1, nonNullArgs(args));
+            try {
+                return (Object) handle.invokeExact(target, args[0]);
+            } catch (Throwable e) {
+                throw wrap(e);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Arity2Invoker implements MethodInvoker {
+        private final MethodHandle handle;
+        @Override
+        public Object invoke(Object target, Object... args) {
+            checkArgumentCount(2, nonNullArgs(args));
+            try {
+                return (Object) handle.invokeExact(target, args[0], args[1]);
+            } catch (Throwable e) {
+                throw wrap(e);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Arity3Invoker implements MethodInvoker {
+        private final MethodHandle handle;
+        @Override
+        public Object invoke(Object target, Object... args) {
+            checkArgumentCount(3, nonNullArgs(args));
+            try {
+                return (Object) handle.invokeExact(target, args[0], args[1], args[2]);
+            } catch (Throwable e) {
+                throw wrap(e);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class SpreadInvoker implements MethodInvoker {
+        private final int arity;
+        private final MethodHandle handle;
+        @Override
+        public Object invoke(Object target, Object... args) {
+            checkArgumentCount(arity, nonNullArgs(args));
+            try {
+                return (Object) handle.invokeExact(target, args);
+            } catch (Throwable e) {
+                throw wrap(e);
+            }
+        }
+    }
+
+    // ====================== reflection ======================
+
+    private static class ReflectiveInvoker implements MethodInvoker {
+        private final Method method;
+        ReflectiveInvoker(Method method) {
+            this.method = method;
+            method.trySetAccessible();
+        }
+        @Override
+        public Object invoke(Object target, Object... args) {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw wrap(e.getTargetException());
+            } catch (Throwable e) {
+                throw wrap(e);
+            }
+        }
+    }
+
+    // ====================== common ======================
+
+    private static Object[] nonNullArgs(Object[] args) {
+        return Objects.isNull(args) ? EMPTY_ARGS : args;
+    }
+
+    private static void checkArgumentCount(int expected, Object[] args) {
+        if (args.length != expected) {
+            throw new Ioc4jException(new IllegalArgumentException(
+                "wrong number of arguments: " + args.length + " expected: " + expected
+            ));
+        }
+    }
+
+    private static Ioc4jException wrap(Throwable e) {
+        return e instanceof Ioc4jException ex ? ex : new Ioc4jException(e);
+    }
+}
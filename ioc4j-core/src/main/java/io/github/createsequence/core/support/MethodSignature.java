@@ -0,0 +1,31 @@
+package io.github.createsequence.core.support;
+
+import io.github.createsequence.core.util.ReflectUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * <p>Signature of method which consists of the method name and the number of parameters,
+ * used to quickly find the candidate methods that may be overridden in a type hierarchy.
+ *
+ * <p>Because {@link ReflectUtils#isOverrideableFrom} allows the parameter type
+ * to be a subtype of the parameter type of parent method,
+ * the parameter types are not included in the signature,
+ * the candidates found by signature should still be checked by {@link ReflectUtils#isOverrideableFrom}.
+ *
+ * @param name name of method
+ * @param parameterCount number of parameters
+ * @author huangchengxing
+ */
+public record MethodSignature(String name, int parameterCount) {
+
+    /**
+     * Create signature of method.
+     *
+     * @param method method
+     * @return signature
+     */
+    public static MethodSignature of(Method method) {
+        return new MethodSignature(method.getName(), method.getParameterCount());
+    }
+}
@@ -1,6 +1,9 @@
 package io.github.createsequence.core.support;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.stream.Stream;
 
 /**
  * Parameter name finder.
@@ -16,4 +19,18 @@ public interface ParameterNameFinder {
      * @return parameter names
      */
     String[] getParameterNames(Method method);
+
+    /**
+     * Get parameter names of constructor,
+     * by default, use the names of parameters obtained by reflection.
+     *
+     * @param constructor constructor
+     * @return parameter names
+     * @see Parameter#getName()
+     */
+    default String[] getParameterNames(Constructor<?> constructor) {
+        return Stream.of(constructor.getParameters())
+            .map(Parameter::getName)
+            .toArray(String[]::new);
+    }
 }
@@ -0,0 +1,194 @@
+package io.github.createsequence.core.support;
+
+import io.github.createsequence.core.exception.Ioc4jException;
+import lombok.Getter;
+
+import java.lang.reflect.Field;
+
+/**
+ * {@link FieldAccessor} backed by reflection,
+ * used when the field is final or not accessible by {@link java.lang.invoke.MethodHandles.Lookup}.
+ *
+ * @author huangchengxing
+ * @see FieldAccessor#of
+ */
+final class ReflectiveFieldAccessor implements FieldAccessor {
+
+    @Getter
+    private final Field field;
+
+    ReflectiveFieldAccessor(Field field) {
+        this.field = field;
+        field.trySetAccessible();
+    }
+
+    @Override
+    public Object get(Object target) {
+        try {
+            return field.get(target);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void set(Object target, Object value) {
+        try {
+            field.set(target, value);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(Object target) {
+        try {
+            return field.getBoolean(target);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setBoolean(Object target, boolean value) {
+        try {
+            field.setBoolean(target, value);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public byte getByte(Object target) {
+        try {
+            return field.getByte(target);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setByte(Object target, byte value) {
+        try {
+            field.setByte(target, value);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public char getChar(Object target) {
+        try {
+            return field.getChar(target);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setChar(Object target, char value) {
+        try {
+            field.setChar(target, value);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public short getShort(Object target) {
+        try {
+            return field.getShort(target);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setShort(Object target, short value) {
+        try {
+            field.setShort(target, value);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public int getInt(Object target) {
+        try {
+            return field.getInt(target);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setInt(Object target, int value) {
+        try {
+            field.setInt(target, value);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public long getLong(Object target) {
+        try {
+            return field.getLong(target);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setLong(Object target, long value) {
+        try {
+            field.setLong(target, value);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public float getFloat(Object target) {
+        try {
+            return field.getFloat(target);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setFloat(Object target, float value) {
+        try {
+            field.setFloat(target, value);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public double getDouble(Object target) {
+        try {
+            return field.getDouble(target);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setDouble(Object target, double value) {
+        try {
+            field.setDouble(target, value);
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+    private static Ioc4jException wrap(Exception e) {
+        return e instanceof Ioc4jException ex ? ex : new Ioc4jException(e);
+    }
+
+    @Override
+    public String toString() {
+        return "ReflectiveFieldAccessor(" + field + ")";
+    }
+}
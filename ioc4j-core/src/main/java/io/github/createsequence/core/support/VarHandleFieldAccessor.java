@@ -0,0 +1,352 @@
+package io.github.createsequence.core.support;
+
+import io.github.createsequence.core.exception.Ioc4jException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>{@link FieldAccessor} backed by {@link VarHandle}.
+ *
+ * <p>Invoking a {@link VarHandle} or {@link MethodHandle} stored in an instance field cannot be constant-folded by JIT,
+ * and invoking it through a call site whose type differs from the handle,
+ * such as {@code (int) handle.get(target)} with an {@code Object} target,
+ * requires type adaptation and boxing on every access.
+ * So this class is used as a template, for each field a hidden class is defined from its bytes,
+ * whose class data holds the field and the access modes of its {@link VarHandle} converted to {@link MethodHandle}s
+ * typed as {@code (Object)T} and {@code (Object, T)void},
+ * where {@code T} is the field type for primitive field, or {@code Object} for reference field,
+ * static fields ignore the target argument.<br />
+ * The handles are loaded into {@code static final} fields of the hidden class, which are trusted as constants by JIT,
+ * then accessor methods whose type matches the field type invoke them by {@link MethodHandle#invokeExact},
+ * other methods fall back to {@link MethodHandle#invoke} for widening or boxing conversion.
+ *
+ * <p>The template itself is never instantiated, its static fields are always {@code null}.
+ *
+ * @author huangchengxing
+ * @see FieldAccessor#of
+ * @see FieldAccessorBenchmark
+ */
+final class VarHandleFieldAccessor implements FieldAccessor {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * bytes of this class, which are used as the template of hidden classes
+     */
+    private static volatile byte[] template;
+
+    private static final Field FIELD;
+
+    /**
+     * field type, or {@code Object} for reference field
+     */
+    private static final Class<?> TYPE;
+
+    /**
+     * getter typed as {@code (Object)T}
+     */
+    private static final MethodHandle GETTER;
+
+    /**
+     * setter typed as {@code (Object, T)void}
+     */
+    private static final MethodHandle SETTER;
+
+    static {
+        try {
+            FIELD = MethodHandles.classDataAt(LOOKUP, ConstantDescs.DEFAULT_NAME, Field.class, 0);
+            TYPE = MethodHandles.classDataAt(LOOKUP, ConstantDescs.DEFAULT_NAME, Class.class, 1);
+            GETTER = MethodHandles.classDataAt(LOOKUP, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 2);
+            SETTER = MethodHandles.classDataAt(LOOKUP, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 3);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private VarHandleFieldAccessor() {
+    }
+
+    /**
+     * Create accessor of field, if the field is final or not accessible,
+     * or the hidden class cannot be defined, fall back to reflection.
+     *
+     * @param field field
+     * @return accessor
+     */
+    static FieldAccessor create(Field field) {
+        Objects.requireNonNull(field, "field must not null");
+        // VarHandle of final field is read-only
+        if (Modifier.isFinal(field.getModifiers())) {
+            return new ReflectiveFieldAccessor(field);
+        }
+        Class<?> declaringClass = field.getDeclaringClass();
+        try {
+            VarHandleFieldAccessor.class.getModule().addReads(declaringClass.getModule());
+            VarHandle handle = MethodHandles.privateLookupIn(declaringClass, LOOKUP).unreflectVarHandle(field);
+            Class<?> type = field.getType().isPrimitive() ? field.getType() : Object.class;
+            MethodHandle getter = handle.toMethodHandle(VarHandle.AccessMode.GET);
+            MethodHandle setter = handle.toMethodHandle(VarHandle.AccessMode.SET);
+            if (Modifier.isStatic(field.getModifiers())) {
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+            List<Object> classData = List.of(
+                field, type,
+                getter.asType(MethodType.methodType(type, Object.class)),
+                setter.asType(MethodType.methodType(void.class, Object.class, type))
+            );
+            MethodHandles.Lookup lookup = LOOKUP.defineHiddenClassWithClassData(getTemplate(), classData, true);
+            return (FieldAccessor) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class))
+                .invoke();
+        } catch (IllegalAccessException | SecurityException | IllegalArgumentException e) {
+            // the package of declaring class is not open to current module
+            return new ReflectiveFieldAccessor(field);
+        } catch (Throwable e) {
+            // the hidden class cannot be defined
+            if (e instanceof VirtualMachineError error) {
+                throw error;
+            }
+            return new ReflectiveFieldAccessor(field);
+        }
+    }
+
+    private static byte[] getTemplate() throws IOException {
+        byte[] bytes = template;
+        if (Objects.isNull(bytes)) {
+            String name = VarHandleFieldAccessor.class.getSimpleName() + ".class";
+            try (InputStream in = VarHandleFieldAccessor.class.getResourceAsStream(name)) {
+                if (Objects.isNull(in)) {
+                    throw new IOException("class file of " + VarHandleFieldAccessor.class.getName() + " not found");
+                }
+                bytes = in.readAllBytes();
+            }
+            template = bytes;
+        }
+        return bytes;
+    }
+
+    @Override
+    public Field getField() {
+        return FIELD;
+    }
+
+    @Override
+    public Object get(Object target) {
+        try {
+            return TYPE == Object.class ? (Object) GETTER.invokeExact(target) : GETTER.invoke(target);
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void set(Object target, Object value) {
+        try {
+            if (TYPE == Object.class) {
+                SETTER.invokeExact(target, value);
+            } else {
+                SETTER.invoke(target, value);
+            }
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(Object target) {
+        try {
+            return TYPE == boolean.class ? (boolean) GETTER.invokeExact(target) : (boolean) GETTER.invoke(target);
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setBoolean(Object target, boolean value) {
+        try {
+            if (TYPE == boolean.class) {
+                SETTER.invokeExact(target, value);
+            } else {
+                SETTER.invoke(target, value);
+            }
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public byte getByte(Object target) {
+        try {
+            return TYPE == byte.class ? (byte) GETTER.invokeExact(target) : (byte) GETTER.invoke(target);
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setByte(Object target, byte value) {
+        try {
+            if (TYPE == byte.class) {
+                SETTER.invokeExact(target, value);
+            } else {
+                SETTER.invoke(target, value);
+            }
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public char getChar(Object target) {
+        try {
+            return TYPE == char.class ? (char) GETTER.invokeExact(target) : (char) GETTER.invoke(target);
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setChar(Object target, char value) {
+        try {
+            if (TYPE == char.class) {
+                SETTER.invokeExact(target, value);
+            } else {
+                SETTER.invoke(target, value);
+            }
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public short getShort(Object target) {
+        try {
+            return TYPE == short.class ? (short) GETTER.invokeExact(target) : (short) GETTER.invoke(target);
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setShort(Object target, short value) {
+        try {
+            if (TYPE == short.class) {
+                SETTER.invokeExact(target, value);
+            } else {
+                SETTER.invoke(target, value);
+            }
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public int getInt(Object target) {
+        try {
+            return TYPE == int.class ? (int) GETTER.invokeExact(target) : (int) GETTER.invoke(target);
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setInt(Object target, int value) {
+        try {
+            if (TYPE == int.class) {
+                SETTER.invokeExact(target, value);
+            } else {
+                SETTER.invoke(target, value);
+            }
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public long getLong(Object target) {
+        try {
+            return TYPE == long.class ? (long) GETTER.invokeExact(target) : (long) GETTER.invoke(target);
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setLong(Object target, long value) {
+        try {
+            if (TYPE == long.class) {
+                SETTER.invokeExact(target, value);
+            } else {
+                SETTER.invoke(target, value);
+            }
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public float getFloat(Object target) {
+        try {
+            return TYPE == float.class ? (float) GETTER.invokeExact(target) : (float) GETTER.invoke(target);
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setFloat(Object target, float value) {
+        try {
+            if (TYPE == float.class) {
+                SETTER.invokeExact(target, value);
+            } else {
+                SETTER.invoke(target, value);
+            }
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public double getDouble(Object target) {
+        try {
+            return TYPE == double.class ? (double) GETTER.invokeExact(target) : (double) GETTER.invoke(target);
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    @Override
+    public void setDouble(Object target, double value) {
+        try {
+            if (TYPE == double.class) {
+                SETTER.invokeExact(target, value);
+            } else {
+                SETTER.invoke(target, value);
+            }
+        } catch (Throwable e) {
+            throw wrap(e);
+        }
+    }
+
+    private static RuntimeException wrap(Throwable e) {
+        if (e instanceof Error error) {
+            throw error;
+        }
+        return e instanceof Ioc4jException ex ? ex : new Ioc4jException(e);
+    }
+
+    @Override
+    public String toString() {
+        return "VarHandleFieldAccessor(" + FIELD + ")";
+    }
+}
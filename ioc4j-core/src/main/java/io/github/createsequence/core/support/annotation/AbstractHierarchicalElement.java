@@ -5,17 +5,15 @@ import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
-import java.util.Spliterators;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * 表示一个具备层级的结构的对象
@@ -39,7 +37,12 @@ public abstract class AbstractHierarchicalElement<E, I extends AbstractHierarchi
     /**
      * 上级元素缓存，在调用{@link #getParents}时触发加载。
      */
-    private volatile Collection<? extends E> parents;
+    private volatile List<I> parents;
+
+    /**
+     * 层级结构快照，包括当前元素在内，按广度优先排序且不重复的全部元素，在首次遍历层级结构时触发加载。
+     */
+    private volatile List<I> hierarchies;
 
     /**
      * 创建一个{@link AbstractHierarchicalElement}实例
@@ -65,90 +68,142 @@ public abstract class AbstractHierarchicalElement<E, I extends AbstractHierarchi
     /**
      * 获取父级别元素
      *
-     * @return 父级别元素
+     * @return 父级别元素，返回的列表不可变
      */
     @SuppressWarnings("unchecked")
     @NonNull
     public final Collection<I> getParents() {
-        if (parents == null) {
+        List<I> ps = parents;
+        if (ps == null) {
             synchronized (this) {
-                if (parents == null) {
-                    var ps = parentElementDiscoverer.get(root);
-                    parents = CollectionUtils.isNotEmpty(ps) ? (Collection<E>)ps : Collections.emptyList();
+                ps = parents;
+                if (ps == null) {
+                    Collection<?> elements = parentElementDiscoverer.get(root);
+                    ps = CollectionUtils.isEmpty(elements) ? Collections.emptyList() : elements.stream()
+                        .map(e -> createElement((E)e))
+                        .toList();
+                    parents = ps;
                 }
             }
         }
-        return parents.stream()
-            .map(this::createElement)
-            .toList();
+        return ps;
     }
 
-
     /**
      * 获取包括当前元素在内，层级结构中的所有元素组成的流
      *
-     * @param parallel 是否并行流，全量搜索注解时可使用并行流加速
+     * @param parallel 是否并行流
      * @return 流
+     * @see #hierarchyStream(ExecutionPolicy)
      */
     public Stream<I> hierarchyStream(boolean parallel) {
-        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(hierarchyIterator(), 0), parallel);
+        return parallel ? hierarchies().parallelStream() : hierarchies().stream();
     }
 
     /**
-     * 获取包括当前元素在内，层级结构中的所有元素组成的串行流
+     * 获取包括当前元素在内，层级结构中的所有元素组成的流，是否并行由执行策略根据层级结构的大小决定
      *
+     * @param policy 执行策略
      * @return 流
      */
-    public Stream<I> hierarchyStream() {
-        return hierarchyStream(false);
+    public Stream<I> hierarchyStream(@NonNull ExecutionPolicy policy) {
+        List<I> hs = hierarchies();
+        return policy.isParallel(hs.size()) ? hs.parallelStream() : hs.stream();
     }
 
     /**
-     * 获取包括当前元素在内，层级结构中的所有元素
+     * 获取包括当前元素在内，层级结构中的所有元素组成的串行流
      *
      * @return 流
      */
-    public List<I> hierarchies() {
-        return hierarchyStream(false).toList();
+    public Stream<I> hierarchyStream() {
+        return hierarchies().stream();
     }
 
     /**
      * 获取层级结构迭代器，用于按广度优先迭代包括当前元素在内，层级结构中所有元素
      *
      * @return 迭代器实例
-     * @see IteratorImpl
      */
-    @SuppressWarnings("unchecked")
-    private Iterator<I> hierarchyIterator() {
-        return new IteratorImpl<>((I)this);
+    public Iterator<I> hierarchyIterator() {
+        return hierarchies().iterator();
     }
 
     /**
-     * 内部迭代器，用于按广度优先迭代包括当前元素在内，层级结构中的所有元素
+     * 获取包括当前元素在内，层级结构中的所有元素，
+     * 元素按广度优先排序且不重复，结果将在首次调用后被缓存
      *
-     * @author huangchengxing
+     * @return 元素列表，返回的列表不可变
      */
-    static class IteratorImpl<E, I extends AbstractHierarchicalElement<E, I>> implements Iterator<I> {
-        private final Set<E> accessed = new HashSet<>();
-        private final Deque<I> queue = new LinkedList<>();
-        IteratorImpl(I root) {
-            queue.add(root);
-        }
-        @Override
-        public boolean hasNext() {
-            return !queue.isEmpty();
+    public List<I> hierarchies() {
+        List<I> hs = hierarchies;
+        if (hs == null) {
+            // 快照不可变，并发时即使重复计算也总是得到相同的结果
+            hs = Collections.unmodifiableList(Arrays.asList(linearizeHierarchy()));
+            hierarchies = hs;
         }
-        @Override
-        public I next() {
-            I curr = queue.removeFirst();
-            accessed.add(curr.getRoot());
-            for (I rhe : curr.getParents()) {
-                if (!accessed.contains(rhe.getRoot())) {
-                    queue.add(rhe);
+        return hs;
+    }
+
+    /**
+     * 按广度优先遍历包括当前元素在内的层级结构，将所有元素展开为数组
+     *
+     * @return 元素数组
+     */
+    @SuppressWarnings("unchecked")
+    private I[] linearizeHierarchy() {
+        List<I> elements = new ArrayList<>();
+        Set<E> accessed = new HashSet<>();
+        elements.add((I)this);
+        accessed.add(root);
+        // 列表本身即为广度优先遍历的队列
+        for (int i = 0; i < elements.size(); i++) {
+            for (I parent : elements.get(i).getParents()) {
+                if (accessed.add(parent.getRoot())) {
+                    elements.add(parent);
                 }
             }
-            return curr;
         }
+        return (I[]) elements.toArray(new AbstractHierarchicalElement<?, ?>[0]);
+    }
+
+    /**
+     * <p>遍历层级结构时的执行策略，用于决定是否使用并行流。<br/>
+     * 并行流需要借助公共的{@link java.util.concurrent.ForkJoinPool}执行，
+     * 对于常见的仅包含数个元素的层级结构，其调度开销远高于串行遍历，
+     * 因此默认总是串行执行，仅在层级结构足够大时才考虑并行。<br/>
+     * 注意，目前尚无多核环境下的测试数据可以支撑{@link #parallelAbove}的阈值，
+     * 使用前应当先在目标环境中运行{@code ExecutionPolicyBenchmark}确定阈值。
+     *
+     * @author huangchengxing
+     * @see #SEQUENTIAL
+     * @see #parallelAbove
+     */
+    @FunctionalInterface
+    public interface ExecutionPolicy {
+
+        /**
+         * 总是串行执行
+         */
+        ExecutionPolicy SEQUENTIAL = hierarchySize -> false;
+
+        /**
+         * 当层级结构中的元素数量大于指定阈值时并行执行，否则串行执行
+         *
+         * @param threshold 阈值
+         * @return 执行策略
+         */
+        static ExecutionPolicy parallelAbove(int threshold) {
+            return hierarchySize -> hierarchySize > threshold;
+        }
+
+        /**
+         * 是否并行执行
+         *
+         * @param hierarchySize 层级结构中的元素数量，包括当前元素
+         * @return 是否
+         */
+        boolean isParallel(int hierarchySize);
     }
 
     /**
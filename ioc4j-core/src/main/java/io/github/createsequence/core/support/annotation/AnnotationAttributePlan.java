@@ -0,0 +1,356 @@
+package io.github.createsequence.core.support.annotation;
+
+import io.github.createsequence.core.exception.Ioc4jException;
+import io.github.createsequence.core.util.AnnotationUtils;
+import io.github.createsequence.core.util.Asserts;
+import io.github.createsequence.core.util.ClassUtils;
+import io.github.createsequence.core.util.CollectionUtils;
+import io.github.createsequence.core.util.Graph;
+import io.github.createsequence.core.util.Lazy;
+import lombok.Getter;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>注解属性解析计划，包含一种注解类型中与实例无关的全部属性信息：
+ * <ul>
+ *     <li>注解属性，属性在数组中的下标即为属性下标；</li>
+ *     <li>属性的默认值；</li>
+ *     <li>通过{@link AliasFor}构成的别名属性组；</li>
+ *     <li>用于根据属性名快速查找属性下标的散列表；</li>
+ * </ul>
+ * 别名属性组仅在首次被访问时解析并校验，因此不需要解析属性的{@link ResolvedAnnotation}不会因为错误的{@link AliasFor}配置而构建失败。<br/>
+ * 计划在每种注解类型首次被使用时构建，此后由该类型的所有{@link ResolvedAnnotation}实例共享，
+ * 因此构建{@link ResolvedAnnotation}时仅需要对属性值进行求值。<br/>
+ * 实例是不可变的，通过其获取的数组不应被修改。
+ *
+ * @author huangchengxing
+ * @see ResolvedAnnotation
+ */
+final class AnnotationAttributePlan {
+
+    /**
+     * 不存在的属性对应的默认下标
+     */
+    static final int NOT_FOUND_INDEX = -1;
+
+    /**
+     * 散列表容量上限，若超过该值仍无法构建完美散列，则使用线性探测解决冲突
+     */
+    private static final int MAX_PERFECT_TABLE_SIZE = 1 << 12;
+
+    private static final ClassValue<AnnotationAttributePlan> PLANS = new ClassValue<>() {
+        @SuppressWarnings("unchecked")
+        @Override
+        protected AnnotationAttributePlan computeValue(Class<?> type) {
+            return new AnnotationAttributePlan((Class<? extends Annotation>) type);
+        }
+    };
+
+    /**
+     * 注解类型
+     */
+    @Getter
+    private final Class<? extends Annotation> annotationType;
+
+    /**
+     * 注解属性，属性在该数组中的下标等同于属性本身
+     */
+    @Getter
+    private final Method[] attributes;
+
+    /**
+     * 属性默认值，下标与{@link #attributes}一一对应
+     */
+    private final Object[] defaultValues;
+
+    /**
+     * 别名属性组，仅在首次访问时解析
+     *
+     * @see #getAliasGroups
+     * @see #getAliasGroup
+     */
+    private final Lazy<AliasIndex> aliasIndex = new Lazy<>(this::resolveAliasIndex);
+
+    /**
+     * 属性名散列表，值为属性下标，空槽位为{@link #NOT_FOUND_INDEX}
+     */
+    private final int[] nameTable;
+
+    /**
+     * 散列表掩码
+     */
+    private final int nameTableMask;
+
+    /**
+     * 使用其他类型的注解覆写当前类型注解时的属性映射关系，以覆写注解的类型为键
+     *
+     * @see #getOverwriteMappings
+     */
+    private final ClassValue<int[]> overwriteMappings = new ClassValue<>() {
+        @SuppressWarnings("unchecked")
+        @Override
+        protected int[] computeValue(Class<?> sourceType) {
+            return resolveOverwriteMappings(of((Class<? extends Annotation>) sourceType));
+        }
+    };
+
+    /**
+     * 获取注解类型对应的属性解析计划
+     *
+     * @param annotationType 注解类型
+     * @return 属性解析计划
+     */
+    static AnnotationAttributePlan of(Class<? extends Annotation> annotationType) {
+        return PLANS.get(annotationType);
+    }
+
+    private AnnotationAttributePlan(Class<? extends Annotation> annotationType) {
+        this.annotationType = annotationType;
+        this.attributes = AnnotationUtils.getAnnotationAttributes(annotationType);
+        this.defaultValues = Arrays.stream(attributes)
+            .map(Method::getDefaultValue)
+            .toArray();
+
+        // 构建属性名散列表，尽可能保证不发生冲突
+        int size = Integer.highestOneBit(Math.max(attributes.length, 1)) << 2;
+        int[] table = buildNameTable(size, true);
+        while (Objects.isNull(table) && size < MAX_PERFECT_TABLE_SIZE) {
+            size <<= 1;
+            table = buildNameTable(size, true);
+        }
+        this.nameTable = Objects.isNull(table) ? buildNameTable(size, false) : table;
+        this.nameTableMask = nameTable.length - 1;
+    }
+
+    // ================== 属性 ==================
+
+    /**
+     * 获取属性数量
+     *
+     * @return 属性数量
+     */
+    int size() {
+        return attributes.length;
+    }
+
+    /**
+     * 获取属性默认值
+     *
+     * @param index 属性下标
+     * @return 默认值，若属性不存在默认值则返回{@code null}
+     */
+    Object getDefaultValue(int index) {
+        return defaultValues[index];
+    }
+
+    /**
+     * 获取别名属性组，每组中的属性互为别名
+     *
+     * @return 别名属性组
+     * @throws Ioc4jException 当{@link AliasFor}配置错误时
+     */
+    int[][] getAliasGroups() {
+        return aliasIndex.get().groups();
+    }
+
+    /**
+     * 获取属性所在的别名属性组
+     *
+     * @param index 属性下标
+     * @return 别名属性组，若属性不存在别名则返回{@code null}
+     * @throws Ioc4jException 当{@link AliasFor}配置错误时
+     */
+    int[] getAliasGroup(int index) {
+        return aliasIndex.get().groupOfAttributes()[index];
+    }
+
+    /**
+     * 获取名称与类型皆匹配的属性下标
+     *
+     * @param attributeName 属性名称
+     * @param attributeType 属性类型
+     * @return 属性下标，若不存在则返回{@link #NOT_FOUND_INDEX}
+     */
+    int indexOf(String attributeName, Class<?> attributeType) {
+        if (Objects.isNull(attributeName)) {
+            return NOT_FOUND_INDEX;
+        }
+        int slot = spread(attributeName.hashCode()) & nameTableMask;
+        int index;
+        while ((index = nameTable[slot]) != NOT_FOUND_INDEX) {
+            Method attribute = attributes[index];
+            if (attribute.getName().equals(attributeName)) {
+                return ClassUtils.isAssignable(attributeType, attribute.getReturnType()) ? index : NOT_FOUND_INDEX;
+            }
+            slot = (slot + 1) & nameTableMask;
+        }
+        return NOT_FOUND_INDEX;
+    }
+
+    private int[] buildNameTable(int size, boolean perfect) {
+        int[] table = new int[size];
+        Arrays.fill(table, NOT_FOUND_INDEX);
+        int mask = size - 1;
+        for (int i = 0; i < attributes.length; i++) {
+            int slot = spread(attributes[i].getName().hashCode()) & mask;
+            while (table[slot] != NOT_FOUND_INDEX) {
+                if (perfect) {
+                    return null;
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i;
+        }
+        return table;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    // ================== 覆写 ==================
+
+    /**
+     * <p>获取使用{@code sourceType}类型的注解覆写当前类型注解时的属性映射关系。<br/>
+     * 返回的数组中每两个元素为一组，分别为覆写注解中的属性下标与当前注解中被覆写的同名同类型属性下标，
+     * 各组先按覆写注解中的属性下标排序，再按当前注解中的属性下标排序。
+     *
+     * @param sourceType 覆写注解的类型
+     * @return 属性映射关系
+     */
+    int[] getOverwriteMappings(Class<? extends Annotation> sourceType) {
+        return overwriteMappings.get(sourceType);
+    }
+
+    private int[] resolveOverwriteMappings(AnnotationAttributePlan source) {
+        int[] mappings = new int[Math.min(source.size(), size()) * 2];
+        int length = 0;
+        // 遍历覆写注解中的全部属性，然后依次与当前注解中的每一个属性进行匹配
+        for (int overwriteIndex = 0; overwriteIndex < source.size(); overwriteIndex++) {
+            Method overwrite = source.attributes[overwriteIndex];
+            for (int targetIndex = 0; targetIndex < attributes.length; targetIndex++) {
+                Method attribute = attributes[targetIndex];
+                // 若有属性与当前属性名称与类型都一致，则该属性可被覆写
+                if (Objects.equals(attribute.getName(), overwrite.getName())
+                    && ClassUtils.isAssignable(attribute.getReturnType(), overwrite.getReturnType())) {
+                    mappings[length++] = overwriteIndex;
+                    mappings[length++] = targetIndex;
+                }
+            }
+        }
+        return Arrays.copyOf(mappings, length);
+    }
+
+    // ================== 别名 ==================
+
+    /**
+     * 解析别名属性组，并建立属性到其所在属性组的索引
+     */
+    private AliasIndex resolveAliasIndex() {
+        int[][] groups = resolveAliasGroups();
+        int[][] groupOfAttributes = new int[attributes.length][];
+        for (int[] group : groups) {
+            for (int index : group) {
+                groupOfAttributes[index] = group;
+            }
+        }
+        return new AliasIndex(groups, groupOfAttributes);
+    }
+
+    /**
+     * 解析当前注解属性中通过{@link AliasFor}构成别名的属性
+     */
+    private int[][] resolveAliasGroups() {
+        Map<Method, Integer> attributeIndexes = new HashMap<>(attributes.length);
+
+        Graph<Method> methodGraph = new Graph<>();
+        // 解析被作为别名的关联属性，根据节点关系构建邻接表
+        for (int i = 0; i < attributes.length; i++) {
+            // 获取属性上的@Alias注解
+            Method attribute = attributes[i];
+            attributeIndexes.put(attribute, i);
+            AliasFor attributeAnnotation = attribute.getAnnotation(AliasFor.class);
+            if (Objects.isNull(attributeAnnotation)) {
+                continue;
+            }
+            // 获取别名属性
+            Method aliasAttribute = getAliasAttribute(attribute, attributeAnnotation);
+            Objects.requireNonNull(aliasAttribute);
+            methodGraph.putEdge(aliasAttribute, attribute);
+        }
+
+        // 按广度优先遍历邻接表，将属于同一张图上的节点分为一组
+        List<int[]> groups = new ArrayList<>();
+        Set<Method> accessed = new HashSet<>(attributes.length);
+        Set<Method> group = new LinkedHashSet<>();
+        Deque<Method> deque = new LinkedList<>();
+        for (Method target : methodGraph.keySet()) {
+            group.clear();
+            deque.addLast(target);
+            while (!deque.isEmpty()) {
+                Method curr = deque.removeFirst();
+                if (accessed.contains(curr)) {
+                    continue;
+                }
+                accessed.add(curr);
+                // 将其添加到关系组
+                group.add(curr);
+                Collection<Method> aliases = methodGraph.getAdjacentPoints(curr);
+                if (CollectionUtils.isNotEmpty(aliases)) {
+                    deque.addAll(aliases);
+                }
+            }
+            if (!group.isEmpty()) {
+                groups.add(group.stream().mapToInt(attributeIndexes::get).toArray());
+            }
+        }
+        return groups.toArray(new int[0][]);
+    }
+
+    /**
+     * 获取属性别名，并对其进行基本校验
+     */
+    private Method getAliasAttribute(Method attribute, AliasFor aliasFor) {
+        // 获取别名属性下标，该属性必须在当前注解中存在
+        int aliasAttributeIndex = indexOf(aliasFor.value(), attribute.getReturnType());
+        Asserts.isTrue(aliasAttributeIndex != NOT_FOUND_INDEX, "Can not find alias attribute [{}] in [{}]", aliasFor.value(), annotationType);
+
+        // 获取具体的别名属性，该属性不能是其本身
+        Method aliasAttribute = attributes[aliasAttributeIndex];
+        Asserts.isFalse(
+            Objects.equals(aliasAttribute, attribute),
+            "Attribute [{}] can not alias for itself", attribute
+        );
+
+        // 互为别名的属性类型必须一致
+        Asserts.isTrue(
+            ClassUtils.isAssignable(attribute.getReturnType(), aliasAttribute.getReturnType()),
+            "Aliased attributes [{}] and [{}] must have same return type",
+            attribute, aliasAttribute
+        );
+        return aliasAttribute;
+    }
+
+    /**
+     * 别名属性索引
+     *
+     * @param groups 别名属性组，每组中的属性互为别名
+     * @param groupOfAttributes 属性所在的别名属性组，下标与{@link #attributes}一一对应，若属性不存在别名则为{@code null}
+     */
+    private record AliasIndex(int[][] groups, int[][] groupOfAttributes) {
+    }
+}
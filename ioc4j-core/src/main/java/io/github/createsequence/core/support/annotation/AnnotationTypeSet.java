@@ -0,0 +1,102 @@
+package io.github.createsequence.core.support.annotation;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * <p>不可变的注解类型集合，用于快速判断某个注解类型是否存在。<br/>
+ * 每个注解类型在首次被使用时都会分配一个全局唯一的id，
+ * 集合内部以id为下标，使用位图记录注解类型是否存在，因此判断的时间复杂度为O(1)。
+ *
+ * <p>注解类型的id在其生命周期内保持不变，且不会被回收复用，
+ * 考虑到应用中注解类型的数量通常是有限的，位图的大小不会无限增长。
+ *
+ * @author huangchengxing
+ * @see ResolvedHierarchicalElement#isAnnotationPresent
+ */
+final class AnnotationTypeSet {
+
+    /**
+     * 空集合
+     */
+    static final AnnotationTypeSet EMPTY = new AnnotationTypeSet(new long[0]);
+
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    /**
+     * 注解类型的id
+     */
+    private static final ClassValue<Integer> TYPE_IDS = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return NEXT_ID.getAndIncrement();
+        }
+    };
+
+    private final long[] words;
+
+    private AnnotationTypeSet(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * 创建一个包含指定注解类型的集合
+     *
+     * @param annotationTypes 注解类型
+     * @return 集合
+     */
+    static AnnotationTypeSet of(Stream<? extends Class<? extends Annotation>> annotationTypes) {
+        int[] ids = annotationTypes.mapToInt(TYPE_IDS::get).toArray();
+        long[] words = new long[0];
+        for (int id : ids) {
+            int index = id >>> 6;
+            if (index >= words.length) {
+                words = Arrays.copyOf(words, index + 1);
+            }
+            words[index] |= 1L << id;
+        }
+        return words.length == 0 ? EMPTY : new AnnotationTypeSet(words);
+    }
+
+    /**
+     * 合并多个集合
+     *
+     * @param sets 集合
+     * @return 包含所有集合中注解类型的集合
+     */
+    static AnnotationTypeSet union(Stream<AnnotationTypeSet> sets) {
+        long[] words = new long[0];
+        for (AnnotationTypeSet set : sets.toList()) {
+            if (set.words.length > words.length) {
+                words = Arrays.copyOf(words, set.words.length);
+            }
+            for (int i = 0; i < set.words.length; i++) {
+                words[i] |= set.words[i];
+            }
+        }
+        return words.length == 0 ? EMPTY : new AnnotationTypeSet(words);
+    }
+
+    /**
+     * 集合中是否包含指定的注解类型
+     *
+     * @param annotationType 注解类型
+     * @return 是否
+     */
+    boolean contains(Class<? extends Annotation> annotationType) {
+        int id = TYPE_IDS.get(annotationType);
+        int index = id >>> 6;
+        return index < words.length && (words[index] & (1L << id)) != 0;
+    }
+
+    /**
+     * 集合是否为空
+     *
+     * @return 是否
+     */
+    boolean isEmpty() {
+        return words.length == 0;
+    }
+}
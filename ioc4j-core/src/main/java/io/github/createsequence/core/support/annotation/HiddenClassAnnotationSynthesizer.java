@@ -0,0 +1,474 @@
+package io.github.createsequence.core.support.annotation;
+
+import io.github.createsequence.core.exception.Ioc4jException;
+import lombok.RequiredArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>基于隐藏类的合成注解生成器。<br/>
+ * 将为每一种注解类型生成一个实现了该注解接口与{@link ResolvedAnnotation.ResolvedAnnotationInvocationHandler.Proxied}的隐藏类，
+ * 其结构等同于：
+ * <pre>{@code
+ * final class $Synthesized$Foo implements Foo, Proxied {
+ *     private final ResolvedAnnotation annotation;
+ *     private final String a0;
+ *     private final int[] a1;
+ *     $Synthesized$Foo(ResolvedAnnotation annotation, Object[] values) {
+ *         this.annotation = annotation;
+ *         this.a0 = (String)values[0];
+ *         this.a1 = (int[])values[1];
+ *     }
+ *     public String value() { return a0; }
+ *     public int[] items() { return a1.clone(); }
+ *     // annotationType、getAnnotation、equals与toString
+ * }
+ * }</pre>
+ * 属性值在实例创建时即被解析，此后读取属性等同于直接读取字段。
+ * {@code equals}与{@code toString}与{@link ResolvedAnnotation.ResolvedAnnotationInvocationHandler}共用同一实现，
+ * 而{@code hashCode}与代理对象一样基于实例本身。
+ *
+ * <p>若注解类型或其属性类型对生成的隐藏类不可见（比如由其他不可见的类加载器加载，或所在的包未对当前模块开放），
+ * 则该类型将总是回退至{@link ResolvedAnnotationSynthesizer#PROXY}。
+ *
+ * @author huangchengxing
+ * @see ResolvedAnnotationSynthesizer#HIDDEN_CLASS
+ */
+final class HiddenClassAnnotationSynthesizer implements ResolvedAnnotationSynthesizer {
+
+    static final HiddenClassAnnotationSynthesizer INSTANCE = new HiddenClassAnnotationSynthesizer();
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * 无法生成隐藏类的注解类型对应的占位符
+     */
+    private static final GeneratedClass UNSUPPORTED = new GeneratedClass(0, null);
+
+    /**
+     * 注解类型对应的隐藏类，随注解类型一并被回收
+     */
+    private final ClassValue<GeneratedClass> generatedClasses = new ClassValue<>() {
+        @Override
+        protected GeneratedClass computeValue(Class<?> type) {
+            return generate(type);
+        }
+    };
+
+    private HiddenClassAnnotationSynthesizer() {
+    }
+
+    /**
+     * 生成合成注解
+     *
+     * @param annotation 已解析的注解对象
+     * @return 合成注解
+     */
+    @Override
+    public Annotation synthesize(ResolvedAnnotation annotation) {
+        GeneratedClass generatedClass = generatedClasses.get(annotation.annotationType());
+        return generatedClass == UNSUPPORTED ?
+            PROXY.synthesize(annotation) : generatedClass.newInstance(annotation);
+    }
+
+    /**
+     * 指定注解类型是否可以通过隐藏类进行合成
+     *
+     * @param annotationType 注解类型
+     * @return 是否
+     */
+    boolean isSupported(Class<? extends Annotation> annotationType) {
+        return generatedClasses.get(annotationType) != UNSUPPORTED;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GeneratedClass generate(Class<?> type) {
+        Method[] attributes = AnnotationAttributePlan.of((Class<? extends Annotation>) type).getAttributes();
+        if (!isVisible(type)) {
+            return UNSUPPORTED;
+        }
+        for (Method attribute : attributes) {
+            if (!isVisible(attribute.getReturnType())) {
+                return UNSUPPORTED;
+            }
+        }
+        try {
+            HiddenClassAnnotationSynthesizer.class.getModule().addReads(type.getModule());
+            byte[] bytes = new ClassFileBuilder(type, attributes).build();
+            MethodHandles.Lookup lookup = LOOKUP.defineHiddenClass(bytes, true);
+            MethodHandle constructor = lookup
+                .findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, ResolvedAnnotation.class, Object[].class))
+                .asType(MethodType.methodType(Annotation.class, ResolvedAnnotation.class, Object[].class));
+            return new GeneratedClass(attributes.length, constructor);
+        } catch (IOException | ReflectiveOperationException | LinkageError e) {
+            return UNSUPPORTED;
+        }
+    }
+
+    /**
+     * 类型是否对当前包中的类可见
+     */
+    private static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        try {
+            LOOKUP.accessClass(type);
+            return type == Class.forName(type.getName(), false, LOOKUP.lookupClass().getClassLoader());
+        } catch (IllegalAccessException | ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * 已生成的隐藏类
+     */
+    @RequiredArgsConstructor
+    private static class GeneratedClass {
+
+        /**
+         * 属性数量，属性顺序与{@link AnnotationAttributePlan#getAttributes()}一致
+         */
+        private final int attributeCount;
+        private final MethodHandle constructor;
+
+        Annotation newInstance(ResolvedAnnotation annotation) {
+            Object[] values = new Object[attributeCount];
+            for (int i = 0; i < attributeCount; i++) {
+                values[i] = annotation.getResolvedAttributeValue(i);
+            }
+            try {
+                return (Annotation) constructor.invokeExact(annotation, values);
+            } catch (Throwable e) {
+                throw new Ioc4jException(e);
+            }
+        }
+    }
+
+    /**
+     * 用于生成合成注解的类文件，生成的方法中不包含任何跳转指令，因此无需生成{@code StackMapTable}
+     */
+    private static class ClassFileBuilder {
+
+        private static final int JAVA_17 = 61;
+        private static final int ACC_PUBLIC = 0x0001;
+        private static final int ACC_PRIVATE = 0x0002;
+        private static final int ACC_FINAL = 0x0010;
+        private static final int ACC_SUPER = 0x0020;
+        private static final int ACC_SYNTHETIC = 0x1000;
+
+        private static final int ICONST_0 = 0x03;
+        private static final int BIPUSH = 0x10;
+        private static final int SIPUSH = 0x11;
+        private static final int ALOAD_0 = 0x2a;
+        private static final int ALOAD_1 = 0x2b;
+        private static final int ALOAD_2 = 0x2c;
+        private static final int AALOAD = 0x32;
+        private static final int IRETURN = 0xac;
+        private static final int LRETURN = 0xad;
+        private static final int FRETURN = 0xae;
+        private static final int DRETURN = 0xaf;
+        private static final int ARETURN = 0xb0;
+        private static final int RETURN = 0xb1;
+        private static final int GETFIELD = 0xb4;
+        private static final int PUTFIELD = 0xb5;
+        private static final int INVOKEVIRTUAL = 0xb6;
+        private static final int INVOKESPECIAL = 0xb7;
+        private static final int INVOKESTATIC = 0xb8;
+        private static final int CHECKCAST = 0xc0;
+
+        private static final String OBJECT = "java/lang/Object";
+        private static final String RESOLVED_ANNOTATION = internalName(ResolvedAnnotation.class);
+        private static final String RESOLVED_ANNOTATION_DESC = ResolvedAnnotation.class.descriptorString();
+        private static final String HANDLER = internalName(ResolvedAnnotation.ResolvedAnnotationInvocationHandler.class);
+        private static final String PROXIED = internalName(ResolvedAnnotation.ResolvedAnnotationInvocationHandler.Proxied.class);
+        private static final String ANNOTATION_FIELD = "annotation";
+
+        private final Class<?> annotationType;
+        private final Method[] attributes;
+        private final String className;
+
+        private final Map<String, Integer> constants = new HashMap<>();
+        private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+        private final DataOutputStream pool = new DataOutputStream(poolBytes);
+        private int poolSize = 1;
+
+        private final ByteArrayOutputStream methodBytes = new ByteArrayOutputStream();
+        private final DataOutputStream methods = new DataOutputStream(methodBytes);
+        private int methodCount = 0;
+
+        ClassFileBuilder(Class<?> annotationType, Method[] attributes) {
+            this.annotationType = annotationType;
+            this.attributes = attributes;
+            String packageName = RESOLVED_ANNOTATION.substring(0, RESOLVED_ANNOTATION.lastIndexOf('/'));
+            this.className = packageName + "/$Synthesized$" + annotationType.getSimpleName();
+        }
+
+        byte[] build() throws IOException {
+            // 字段
+            ByteArrayOutputStream fieldBytes = new ByteArrayOutputStream();
+            DataOutputStream fields = new DataOutputStream(fieldBytes);
+            writeField(fields, ANNOTATION_FIELD, RESOLVED_ANNOTATION_DESC);
+            for (int i = 0; i < attributes.length; i++) {
+                writeField(fields, fieldName(i), attributes[i].getReturnType().descriptorString());
+            }
+
+            // 方法
+            writeConstructor();
+            for (int i = 0; i < attributes.length; i++) {
+                writeAttributeMethod(i);
+            }
+            writeMethod("annotationType", "()Ljava/lang/Class;", 1, 1, code -> {
+                getAnnotationField(code);
+                code.writeByte(INVOKEVIRTUAL);
+                code.writeShort(methodRef(RESOLVED_ANNOTATION, "annotationType", "()Ljava/lang/Class;"));
+                code.writeByte(ARETURN);
+            });
+            writeMethod("getAnnotation", "()" + RESOLVED_ANNOTATION_DESC, 1, 1, code -> {
+                getAnnotationField(code);
+                code.writeByte(ARETURN);
+            });
+            writeMethod("equals", "(Ljava/lang/Object;)Z", 2, 2, code -> {
+                getAnnotationField(code);
+                code.writeByte(ALOAD_1);
+                code.writeByte(INVOKESTATIC);
+                code.writeShort(methodRef(HANDLER, "synthesizedEquals", "(" + RESOLVED_ANNOTATION_DESC + "Ljava/lang/Object;)Z"));
+                code.writeByte(IRETURN);
+            });
+            writeMethod("toString", "()Ljava/lang/String;", 1, 1, code -> {
+                getAnnotationField(code);
+                code.writeByte(INVOKESTATIC);
+                code.writeShort(methodRef(HANDLER, "synthesizedToString", "(" + RESOLVED_ANNOTATION_DESC + ")Ljava/lang/String;"));
+                code.writeByte(ARETURN);
+            });
+
+            // 类信息
+            int thisClass = classRef(className);
+            int superClass = classRef(OBJECT);
+            int annotationInterface = classRef(internalName(annotationType));
+            int proxiedInterface = classRef(PROXIED);
+
+            ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(classBytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(JAVA_17);
+            out.writeShort(poolSize);
+            poolBytes.writeTo(out);
+            out.writeShort(ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(2);
+            out.writeShort(annotationInterface);
+            out.writeShort(proxiedInterface);
+            out.writeShort(attributes.length + 1);
+            fieldBytes.writeTo(out);
+            out.writeShort(methodCount);
+            methodBytes.writeTo(out);
+            out.writeShort(0);
+            return classBytes.toByteArray();
+        }
+
+        private void writeConstructor() throws IOException {
+            writeMethod("<init>", "(" + RESOLVED_ANNOTATION_DESC + "[Ljava/lang/Object;)V", 4, 3, code -> {
+                code.writeByte(ALOAD_0);
+                code.writeByte(INVOKESPECIAL);
+                code.writeShort(methodRef(OBJECT, "<init>", "()V"));
+                code.writeByte(ALOAD_0);
+                code.writeByte(ALOAD_1);
+                code.writeByte(PUTFIELD);
+                code.writeShort(fieldRef(className, ANNOTATION_FIELD, RESOLVED_ANNOTATION_DESC));
+                for (int i = 0; i < attributes.length; i++) {
+                    Class<?> type = attributes[i].getReturnType();
+                    code.writeByte(ALOAD_0);
+                    code.writeByte(ALOAD_2);
+                    pushInt(code, i);
+                    code.writeByte(AALOAD);
+                    if (type.isPrimitive()) {
+                        Class<?> wrapper = MethodType.methodType(type).wrap().returnType();
+                        code.writeByte(CHECKCAST);
+                        code.writeShort(classRef(internalName(wrapper)));
+                        code.writeByte(INVOKEVIRTUAL);
+                        code.writeShort(methodRef(internalName(wrapper), type.getName() + "Value", "()" + type.descriptorString()));
+                    } else {
+                        code.writeByte(CHECKCAST);
+                        code.writeShort(classRef(internalName(type)));
+                    }
+                    code.writeByte(PUTFIELD);
+                    code.writeShort(fieldRef(className, fieldName(i), type.descriptorString()));
+                }
+                code.writeByte(RETURN);
+            });
+        }
+
+        private void writeAttributeMethod(int index) throws IOException {
+            Method attribute = attributes[index];
+            Class<?> type = attribute.getReturnType();
+            writeMethod(attribute.getName(), "()" + type.descriptorString(), 2, 1, code -> {
+                code.writeByte(ALOAD_0);
+                code.writeByte(GETFIELD);
+                code.writeShort(fieldRef(className, fieldName(index), type.descriptorString()));
+                // 与JDK的注解实现一致，返回数组的副本
+                if (type.isArray()) {
+                    code.writeByte(INVOKEVIRTUAL);
+                    code.writeShort(methodRef(internalName(type), "clone", "()Ljava/lang/Object;"));
+                    code.writeByte(CHECKCAST);
+                    code.writeShort(classRef(internalName(type)));
+                }
+                code.writeByte(returnOpcode(type));
+            });
+        }
+
+        private void getAnnotationField(DataOutputStream code) throws IOException {
+            code.writeByte(ALOAD_0);
+            code.writeByte(GETFIELD);
+            code.writeShort(fieldRef(className, ANNOTATION_FIELD, RESOLVED_ANNOTATION_DESC));
+        }
+
+        private void writeField(DataOutputStream fields, String name, String descriptor) throws IOException {
+            fields.writeShort(ACC_PRIVATE | ACC_FINAL);
+            fields.writeShort(utf8(name));
+            fields.writeShort(utf8(descriptor));
+            fields.writeShort(0);
+        }
+
+        private void writeMethod(
+            String name, String descriptor, int maxStack, int maxLocals, CodeWriter writer) throws IOException {
+            ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+            writer.write(new DataOutputStream(codeBytes));
+            byte[] code = codeBytes.toByteArray();
+            int flags = "<init>".equals(name) ? 0 : (ACC_PUBLIC | ACC_FINAL);
+            methods.writeShort(flags);
+            methods.writeShort(utf8(name));
+            methods.writeShort(utf8(descriptor));
+            methods.writeShort(1);
+            methods.writeShort(utf8("Code"));
+            methods.writeInt(12 + code.length);
+            methods.writeShort(maxStack);
+            methods.writeShort(maxLocals);
+            methods.writeInt(code.length);
+            methods.write(code);
+            methods.writeShort(0);
+            methods.writeShort(0);
+            methodCount++;
+        }
+
+        // ============================== 常量池 ==============================
+
+        private int utf8(String value) throws IOException {
+            Integer index = constants.get("U:" + value);
+            if (Objects.nonNull(index)) {
+                return index;
+            }
+            pool.writeByte(1);
+            pool.writeUTF(value);
+            return register("U:" + value);
+        }
+
+        private int classRef(String internalName) throws IOException {
+            Integer index = constants.get("C:" + internalName);
+            if (Objects.nonNull(index)) {
+                return index;
+            }
+            int name = utf8(internalName);
+            pool.writeByte(7);
+            pool.writeShort(name);
+            return register("C:" + internalName);
+        }
+
+        private int nameAndType(String name, String descriptor) throws IOException {
+            String key = "N:" + name + ":" + descriptor;
+            Integer index = constants.get(key);
+            if (Objects.nonNull(index)) {
+                return index;
+            }
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            pool.writeByte(12);
+            pool.writeShort(nameIndex);
+            pool.writeShort(descriptorIndex);
+            return register(key);
+        }
+
+        private int fieldRef(String owner, String name, String descriptor) throws IOException {
+            return memberRef(9, owner, name, descriptor);
+        }
+
+        private int methodRef(String owner, String name, String descriptor) throws IOException {
+            return memberRef(10, owner, name, descriptor);
+        }
+
+        private int memberRef(int tag, String owner, String name, String descriptor) throws IOException {
+            String key = tag + ":" + owner + "." + name + ":" + descriptor;
+            Integer index = constants.get(key);
+            if (Objects.nonNull(index)) {
+                return index;
+            }
+            int ownerIndex = classRef(owner);
+            int nameAndTypeIndex = nameAndType(name, descriptor);
+            pool.writeByte(tag);
+            pool.writeShort(ownerIndex);
+            pool.writeShort(nameAndTypeIndex);
+            return register(key);
+        }
+
+        private int register(String key) {
+            int index = poolSize++;
+            constants.put(key, index);
+            return index;
+        }
+
+        // ============================== 工具方法 ==============================
+
+        private static String fieldName(int index) {
+            return "a" + index;
+        }
+
+        private static String internalName(Class<?> type) {
+            return type.isArray() ? type.descriptorString() : type.getName().replace('.', '/');
+        }
+
+        private static void pushInt(DataOutputStream code, int value) throws IOException {
+            if (value <= 5) {
+                code.writeByte(ICONST_0 + value);
+            } else if (value <= Byte.MAX_VALUE) {
+                code.writeByte(BIPUSH);
+                code.writeByte(value);
+            } else {
+                code.writeByte(SIPUSH);
+                code.writeShort(value);
+            }
+        }
+
+        private static int returnOpcode(Class<?> type) {
+            if (type == long.class) {
+                return LRETURN;
+            }
+            if (type == float.class) {
+                return FRETURN;
+            }
+            if (type == double.class) {
+                return DRETURN;
+            }
+            return type.isPrimitive() ? IRETURN : ARETURN;
+        }
+
+        @FunctionalInterface
+        private interface CodeWriter {
+            void write(DataOutputStream code) throws IOException;
+        }
+    }
+}
@@ -12,12 +12,9 @@
 
 package io.github.createsequence.core.support.annotation;
 
-import io.github.createsequence.core.util.AnnotationUtils;
+import io.github.createsequence.core.exception.Ioc4jException;
 import io.github.createsequence.core.util.ArrayUtils;
 import io.github.createsequence.core.util.Asserts;
-import io.github.createsequence.core.util.ClassUtils;
-import io.github.createsequence.core.util.CollectionUtils;
-import io.github.createsequence.core.util.Graph;
 import io.github.createsequence.core.util.ReflectUtils;
 import io.github.createsequence.core.util.StringUtils;
 import lombok.Getter;
@@ -27,22 +24,20 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.IntConsumer;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -88,18 +83,19 @@ public class ResolvedAnnotation implements Annotation {
 	/**
 	 * 不存在的属性对应的默认下标
 	 */
-	protected static final int NOT_FOUND_INDEX = -1;
+	protected static final int NOT_FOUND_INDEX = AnnotationAttributePlan.NOT_FOUND_INDEX;
 
 	/**
-	 * 注解属性，属性在该数组中的下标等同于属性本身
+	 * 注解属性，属性在该数组中的下标等同于属性本身，
+	 * 该数组由同类型的所有实例共享，不应被修改
 	 */
 	@Getter
 	private final Method[] attributes;
 
 	/**
-	 * 别名属性设置
+	 * 注解属性解析计划，包含属性、别名属性组与默认值等仅与注解类型有关的信息
 	 */
-	private final AliasSet[] aliasSets;
+	private final AnnotationAttributePlan plan;
 
 	/**
 	 * 解析后的属性，下标都与{@link #attributes}相同下标的属性一一对应。
@@ -145,6 +141,34 @@ public class ResolvedAnnotation implements Annotation {
 	@Getter
 	private final boolean resolved;
 
+	/**
+	 * 合成注解生成器，默认基于{@link Proxy}生成合成注解
+	 *
+	 * @see ResolvedAnnotationSynthesizer
+	 */
+	private static volatile ResolvedAnnotationSynthesizer synthesizer = ResolvedAnnotationSynthesizer.PROXY;
+
+	/**
+	 * 设置全局使用的合成注解生成器，仅对设置后首次调用{@link #synthesis()}的实例生效
+	 *
+	 * @param synthesizer 合成注解生成器
+	 * @see ResolvedAnnotationSynthesizer#PROXY
+	 * @see ResolvedAnnotationSynthesizer#HIDDEN_CLASS
+	 */
+	public static void setSynthesizer(@NonNull ResolvedAnnotationSynthesizer synthesizer) {
+		Asserts.isNotNull(synthesizer, "synthesizer must not null");
+		ResolvedAnnotation.synthesizer = synthesizer;
+	}
+
+	/**
+	 * 获取全局使用的合成注解生成器
+	 *
+	 * @return 合成注解生成器
+	 */
+	public static ResolvedAnnotationSynthesizer getSynthesizer() {
+		return synthesizer;
+	}
+
 	/**
 	 * 当前注解是否由当前代理类生成
 	 *
@@ -193,6 +217,7 @@ public class ResolvedAnnotation implements Annotation {
 	 *     <li>当{@code source}包装的注解对象与{@code annotation}相同时抛出；</li>
 	 *     <li>当{@code annotation}包装的注解对象类型为{@code ResolvedAnnotation}时抛出；</li>
 	 * </ul>
+	 * @throws Ioc4jException 当{@code resolveAttribute}为{@code true}，且注解中的{@link AliasFor}配置错误时抛出
 	 */
 	ResolvedAnnotation(
 		@Nullable ResolvedAnnotation source, Annotation annotation, boolean resolveAttribute) {
@@ -204,12 +229,10 @@ public class ResolvedAnnotation implements Annotation {
 			"The source annotation can not same with target [{}]", annotation
 		);
 		this.annotation = annotation;
-		this.attributes = AnnotationUtils.getAnnotationAttributes(annotation.annotationType());
+		this.plan = AnnotationAttributePlan.of(annotation.annotationType());
+		this.attributes = plan.getAttributes();
 		this.source = source;
 
-		// 别名属性
-		this.aliasSets = new AliasSet[this.attributes.length];
-
 		// 解析后的属性与数据源
 		this.resolvedAttributeSources = new ResolvedAnnotation[this.attributes.length];
 		this.resolvedAttributes = new int[this.attributes.length];
@@ -257,7 +280,7 @@ public class ResolvedAnnotation implements Annotation {
 	}
 
 	/**
-	 * 根据当前映射对象，通过动态代理生成一个合成注解，该注解相对原生注解：
+	 * 根据当前映射对象，通过{@link #getSynthesizer()}生成一个合成注解，该注解相对原生注解：
 	 * <ul>
 	 *     <li>支持同注解内通过{@link AliasFor}构建的别名机制；</li>
 	 *     <li>支持子注解对元注解的同名同类型属性覆盖机制；</li>
@@ -275,7 +298,7 @@ public class ResolvedAnnotation implements Annotation {
 		if (Objects.isNull(proxied)) {
 			synchronized (this) {
 				if (Objects.isNull(proxied)) {
-					proxied = ResolvedAnnotationInvocationHandler.create(annotationType(), this);
+					proxied = synthesizer.synthesize(this);
 				}
 			}
 		}
@@ -314,14 +337,7 @@ public class ResolvedAnnotation implements Annotation {
 	 * @return 属性下标
 	 */
 	public int getAttributeIndex(String attributeName, Class<?> attributeType) {
-		for (int i = 0; i < attributes.length; i++) {
-			Method attribute = attributes[i];
-			if (Objects.equals(attribute.getName(), attributeName)
-				&& ClassUtils.isAssignable(attributeType, attribute.getReturnType())) {
-				return i;
-			}
-		}
-		return NOT_FOUND_INDEX;
+		return plan.indexOf(attributeName, attributeType);
 	}
 
 	/**
@@ -444,7 +460,7 @@ public class ResolvedAnnotation implements Annotation {
 			);
 			// 尾插法，因此循环结束后，sources中头结点为根注解，而尾节点为当前注解
 			sources.addFirst(curr);
-			accessed.add(this.source.annotationType());
+			accessed.add(curr.annotationType());
 			curr = curr.source;
 		}
 		// 从根注解开始，依次覆写当前注解中的同名属性
@@ -454,23 +470,15 @@ public class ResolvedAnnotation implements Annotation {
 	}
 
 	/**
-	 * 令{@code annotationAttributes}中属性覆写当前注解中同名、同类型且未被覆写的属性
+	 * 令{@code annotationAttributes}中属性覆写当前注解中同名、同类型且未被覆写的属性，
+	 * 属性间的映射关系由{@link AnnotationAttributePlan#getOverwriteMappings}按注解类型缓存
 	 *
 	 *  @param overwriteAnnotation 当前注解的上级注解，即用于覆写当前注解属性的注解
 	 */
 	private void updateResolvedAttributesByOverwrite(ResolvedAnnotation overwriteAnnotation) {
-		// 遍历覆写注解中的全部属性，然后依次与当前注解中的每一个属性进行匹配
-		for (int overwriteIndex = 0; overwriteIndex < overwriteAnnotation.getAttributes().length; overwriteIndex++) {
-			Method overwrite = overwriteAnnotation.getAttribute(overwriteIndex);
-			for (int targetIndex = 0; targetIndex < attributes.length; targetIndex++) {
-				Method attribute =  attributes[targetIndex];
-				// 若有属性与当前属性名称与类型都一致，且未被覆写，则覆写该属性
-				if (!Objects.equals(attribute.getName(), overwrite.getName())
-					|| ClassUtils.isNotAssignable(attribute.getReturnType(), overwrite.getReturnType())) {
-					continue;
-				}
-				overwriteAttribute(overwriteAnnotation, overwriteIndex, targetIndex, true);
-			}
+		int[] mappings = plan.getOverwriteMappings(overwriteAnnotation.annotationType());
+		for (int i = 0; i < mappings.length; i += 2) {
+			overwriteAttribute(overwriteAnnotation, mappings[i], mappings[i + 1], true);
 		}
 	}
 
@@ -487,10 +495,11 @@ public class ResolvedAnnotation implements Annotation {
 		resolvedAttributes[targetIndex] = overwriteIndex;
 		resolvedAttributeSources[targetIndex] = overwriteAnnotation;
 		// 若覆写的属性本身还存在别名，则将别名属性一并覆写
-		if (overwriteAliases && Objects.nonNull(aliasSets[targetIndex])) {
-			aliasSets[targetIndex].forEach(aliasIndex -> overwriteAttribute(
-				overwriteAnnotation, overwriteIndex, aliasIndex, false
-			));
+		int[] aliasGroup = overwriteAliases ? plan.getAliasGroup(targetIndex) : null;
+		if (Objects.nonNull(aliasGroup)) {
+			for (int aliasIndex : aliasGroup) {
+				overwriteAttribute(overwriteAnnotation, overwriteIndex, aliasIndex, false);
+			}
 		}
 	}
 
@@ -507,93 +516,77 @@ public class ResolvedAnnotation implements Annotation {
 	// ================== 解析别名属性 ==================
 
 	/**
-	 * 解析当前注解属性中通过{@link AliasFor}构成别名的属性
+	 * 根据{@link AnnotationAttributePlan#getAliasGroups()}，
+	 * 为当前注解属性中通过{@link AliasFor}构成别名的属性确定最终有效的属性
 	 */
 	private void resolveAliasAttributes() {
-		Map<Method, Integer> attributeIndexes = new HashMap<>(attributes.length);
-
-		Graph<Method> methodGraph = new Graph<>();
-		// 解析被作为别名的关联属性，根据节点关系构建邻接表
-		for (int i = 0; i < attributes.length; i++) {
-			// 获取属性上的@Alias注解
-			Method attribute = attributes[i];
-			attributeIndexes.put(attribute, i);
-			AliasFor attributeAnnotation = attribute.getAnnotation(AliasFor.class);
-			if (Objects.isNull(attributeAnnotation)) {
-				continue;
+		for (int[] group : plan.getAliasGroups()) {
+			int effectiveAttributeIndex = determineEffectiveAttribute(group);
+			for (int index : group) {
+				resolvedAttributes[index] = effectiveAttributeIndex;
 			}
-			// 获取别名属性
-			Method aliasAttribute = getAliasAttribute(attribute, attributeAnnotation);
-			Objects.requireNonNull(aliasAttribute);
-			methodGraph.putEdge(aliasAttribute, attribute);
 		}
-
-		// 按广度优先遍历邻接表，将属于同一张图上的节点分为一组，并为其建立AliasSet
-		Set<Method> accessed = new HashSet<>(attributes.length);
-		Set<Method> group = new LinkedHashSet<>();
-		Deque<Method> deque = new LinkedList<>();
-		for (Method target : methodGraph.keySet()) {
-			group.clear();
-			deque.addLast(target);
-			while (!deque.isEmpty()) {
-				Method curr = deque.removeFirst();
-				if (accessed.contains(curr)) {
-					continue;
-				}
-				accessed.add(curr);
-				// 将其添加到关系组
-				group.add(curr);
-				Collection<Method> aliases = methodGraph.getAdjacentPoints(curr);
-				if (CollectionUtils.isNotEmpty(aliases)) {
-					deque.addAll(aliases);
-				}
-			}
-			// 为同一关系组的节点构建关联关系
-			int[] groupIndexes = group.stream()
-				.mapToInt(attributeIndexes::get)
-				.toArray();
-			updateAliasSetsForAliasGroup(groupIndexes);
-		}
-
-		// 根据AliasSet更新关联的属性
-		Stream.of(aliasSets).filter(Objects::nonNull).forEach(set -> {
-			int effectiveAttributeIndex = set.determineEffectiveAttribute();
-			set.forEach(index -> resolvedAttributes[index] = effectiveAttributeIndex);
-		});
 	}
 
 	/**
-	 * 获取属性别名，并对其进行基本校验
+	 * 从所有关联的别名属性中，选择出唯一个最终有效的属性：
+	 * <ul>
+	 *     <li>若所有属性都只有默认值，则要求所有的默认值都必须相等，若符合则返回首个属性，否则报错；</li>
+	 *     <li>若有且仅有一个属性具有非默认值，则返回该属性；</li>
+	 *     <li>若有多个属性具有非默认值，则要求所有的非默认值都必须相等，若符合并返回该首个具有非默认值的属性，否则报错；</li>
+	 * </ul>
 	 */
-	private Method getAliasAttribute(Method attribute, AliasFor aliasFor) {
-		// 获取别名属性下标，该属性必须在当前注解中存在
-		int aliasAttributeIndex = getAttributeIndex(aliasFor.value(), attribute.getReturnType());
-		Asserts.isTrue(hasAttribute(aliasAttributeIndex), "Can not find alias attribute [{}] in [{}]", aliasFor.value(), this.annotation.annotationType());
+	private int determineEffectiveAttribute(int[] indexes) {
+		int resolvedIndex = NOT_FOUND_INDEX;
+		boolean hasNotDef = false;
+		Object lastValue = null;
+		for (int index : indexes) {
+			Method attribute = attributes[index];
+
+			// 获取属性的值，并确认是否为默认值
+			Object def = plan.getDefaultValue(index);
+			Object undef = ReflectUtils.invokeRaw(annotation, attribute);
+			boolean isDefault = Objects.equals(def, undef);
+
+			// 若是首个属性
+			if (resolvedIndex == NOT_FOUND_INDEX) {
+				resolvedIndex = index;
+				lastValue = isDefault ? def : undef;
+				hasNotDef = !isDefault;
+				continue;
+			}
 
-		// 获取具体的别名属性，该属性不能是其本身
-		Method aliasAttribute = getAttribute(aliasAttributeIndex);
-		Asserts.isFalse(
-			Objects.equals(aliasAttribute, attribute),
-			"Attribute [{}] can not alias for itself", attribute
-		);
+			// 不是首个属性，且已存在非默认值
+			if (hasNotDef) {
+				// 如果当前也是非默认值，则要求两值必须相等
+				if (!isDefault) {
+					Asserts.isTrue(
+						Objects.equals(lastValue, undef),
+						"Aliased attribute [{}] and [{}] must have same not default value, but is different: [{}] <==> [{}]",
+						attributes[resolvedIndex], attribute, lastValue, undef
+					);
+				}
+				// 否则直接跳过，依然以上一非默认值为准
+				continue;
+			}
 
-		// 互为别名的属性类型必须一致
-		Asserts.isTrue(
-			ClassUtils.isAssignable(attribute.getReturnType(), aliasAttribute.getReturnType()),
-			"Aliased attributes [{}] and [{}] must have same return type",
-			attribute, aliasAttribute
-		);
-		return aliasAttribute;
-	}
+			// 不是首个属性，但是还没有非默认值，而当前值恰好是非默认值，直接更新当前有效值与对应索引
+			if (!isDefault) {
+				hasNotDef = true;
+				lastValue = undef;
+				resolvedIndex = index;
+				continue;
+			}
 
-	/**
-	 * 为具有关联关系的别名属性构建{@link AliasSet}
-	 */
-	private void updateAliasSetsForAliasGroup(int[] groupIndexes) {
-		AliasSet set = new AliasSet(groupIndexes);
-		for (int index : groupIndexes) {
-			aliasSets[index] = set;
+			// 不是首个属性，还没有非默认值，如果当前也是默认值，则要求两值必须相等
+			Asserts.isTrue(
+				Objects.equals(lastValue, def),
+				"Aliased attribute [{}] and [{}] must have same default value, but is different: [{}] <==> [{}]",
+				attributes[resolvedIndex], attribute, lastValue, def
+			);
 		}
+		Asserts.isFalse(resolvedIndex == NOT_FOUND_INDEX, "Can not resolve aliased attributes createElement [{}]", annotation);
+		return resolvedIndex;
 	}
 
 	/**
@@ -624,103 +617,6 @@ public class ResolvedAnnotation implements Annotation {
 		return Objects.hash(annotation, resolved);
 	}
 
-	/**
-	 * 别名设置，一组具有别名关系的属性会共用同一实例
-	 */
-	class AliasSet {
-
-		/**
-		 * 关联的别名字段对应的属性在{@link #attributes}中的下标
-		 */
-		int[] indexes;
-
-		/**
-		 * 创建一个别名设置
-		 *
-		 * @param indexes 互相关联的别名属性的下标
-		 */
-		AliasSet(int[] indexes) {
-			this.indexes = indexes;
-		}
-
-		/**
-		 * 从所有关联的别名属性中，选择出唯一个最终有效的属性：
-		 * <ul>
-		 *     <li>若所有属性都只有默认值，则要求所有的默认值都必须相等，若符合则返回首个属性，否则报错；</li>
-		 *     <li>若有且仅有一个属性具有非默认值，则返回该属性；</li>
-		 *     <li>若有多个属性具有非默认值，则要求所有的非默认值都必须相等，若符合并返回该首个具有非默认值的属性，否则报错；</li>
-		 * </ul>
-		 */
-		private int determineEffectiveAttribute() {
-			int resolvedIndex = NOT_FOUND_INDEX;
-			boolean hasNotDef = false;
-			Object lastValue = null;
-			for (int index : indexes) {
-				Method attribute = attributes[index];
-
-				// 获取属性的值，并确认是否为默认值
-				Object def = attribute.getDefaultValue();
-				Object undef = ReflectUtils.invokeRaw(annotation, attribute);
-				boolean isDefault = Objects.equals(def, undef);
-
-				// 若是首个属性
-				if (resolvedIndex == NOT_FOUND_INDEX) {
-					resolvedIndex = index;
-					lastValue = isDefault ? def : undef;
-					hasNotDef = !isDefault;
-					continue;
-				}
-
-				// 不是首个属性，且已存在非默认值
-				if (hasNotDef) {
-					// 如果当前也是非默认值，则要求两值必须相等
-					if (!isDefault) {
-						Asserts.isTrue(
-							Objects.equals(lastValue, undef),
-							"Aliased attribute [{}] and [{}] must have same not default value, but is different: [{}] <==> [{}]",
-							attributes[resolvedIndex], attribute, lastValue, undef
-						);
-					}
-					// 否则直接跳过，依然以上一非默认值为准
-					continue;
-				}
-
-				// 不是首个属性，但是还没有非默认值，而当前值恰好是非默认值，直接更新当前有效值与对应索引
-				if (!isDefault) {
-					hasNotDef = true;
-					lastValue = undef;
-					resolvedIndex = index;
-					continue;
-				}
-
-				// 不是首个属性，还没有非默认值，如果当前也是默认值，则要求两值必须相等
-				Asserts.isTrue(
-					Objects.equals(lastValue, def),
-					"Aliased attribute [{}] and [{}] must have same default value, but is different: [{}] <==> [{}]",
-					attributes[resolvedIndex], attribute, lastValue, def
-				);
-			}
-			Asserts.isFalse(resolvedIndex == NOT_FOUND_INDEX, "Can not resolve aliased attributes createElement [{}]", annotation);
-			return resolvedIndex;
-		}
-
-		/**
-		 * 遍历下标
-		 */
-		void forEach(IntConsumer consumer) {
-			for (int index : indexes) {
-				consumer.accept(index);
-			}
-		}
-
-		@Override
-		public String toString() {
-			return IntStream.of(indexes)
-				.mapToObj(i -> attributes[i].getName())
-				.collect(Collectors.joining(" <-> ", "[", "]"));
-		}
-	}
-
 	/**
 	 * 代理注解处理器，用于为{@link ResolvedAnnotation}生成代理对象，当从该代理对象上获取属性值时，
 	 * 总是通过{@link ResolvedAnnotation#getResolvedAttributeValue(String, Class)}获取。
@@ -789,20 +685,37 @@ public class ResolvedAnnotation implements Annotation {
 				case "annotationType" -> proxyAnnotationType();
 				case "getAnnotation" -> proxyGetAnnotation();
 				default -> Optional.ofNullable(getAttributeValue(method.getName(), method.getReturnType()))
-					.orElse(ReflectUtils.invokeRaw(annotation.getAnnotation(), method, args));
+					.map(ResolvedAnnotationInvocationHandler::cloneArrayIfNecessary)
+					.orElseGet(() -> ReflectUtils.invokeRaw(annotation.getAnnotation(), method, args));
 			};
 		}
 
+		/**
+		 * 与JDK的注解实现一致，若属性值为非空数组则返回其副本，避免调用方修改缓存的属性值
+		 *
+		 * @param value 属性值
+		 * @return 属性值或其副本
+		 */
+		private static Object cloneArrayIfNecessary(Object value) {
+			if (!value.getClass().isArray()) {
+				return value;
+			}
+			int length = Array.getLength(value);
+			if (length == 0) {
+				return value;
+			}
+			Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+			System.arraycopy(value, 0, copy, 0, length);
+			return copy;
+		}
+
 		// ============================== 代理方法 ==============================
 
 		/**
 		 * 代理{@link Annotation#toString()}方法
 		 */
 		private String proxyToString() {
-			String attributes = Stream.of(annotation.getAttributes())
-				.map(attribute -> StringUtils.format("{}={}", attribute.getName(), getAttributeValue(attribute.getName(), attribute.getReturnType())))
-				.collect(Collectors.joining(", "));
-			return StringUtils.format("@{}({})", annotation.annotationType().getName(), attributes);
+			return synthesizedToString(annotation, this::getAttributeValue);
 		}
 
 		/**
@@ -816,7 +729,7 @@ public class ResolvedAnnotation implements Annotation {
 		 * 代理{@link Annotation#equals(Object)}方法
 		 */
 		private boolean proxyEquals(Object o) {
-			return Objects.equals(annotation, o);
+			return synthesizedEquals(annotation, o);
 		}
 
 		/**
@@ -840,6 +753,39 @@ public class ResolvedAnnotation implements Annotation {
 			return valueCache.computeIfAbsent(attributeName, name -> annotation.getResolvedAttributeValue(attributeName, attributeType));
 		}
 
+		// ============================== 合成注解通用方法 ==============================
+
+		/**
+		 * 合成注解的{@link Annotation#equals(Object)}实现，
+		 * 供{@link ResolvedAnnotationSynthesizer}的各实现共用，以保证不同方式生成的合成注解行为一致
+		 *
+		 * @param annotation 已解析的注解对象
+		 * @param o 比较对象
+		 * @return 是否相等
+		 */
+		static boolean synthesizedEquals(ResolvedAnnotation annotation, Object o) {
+			return Objects.equals(annotation, o);
+		}
+
+		/**
+		 * 合成注解的{@link Annotation#toString()}实现，
+		 * 供{@link ResolvedAnnotationSynthesizer}的各实现共用，以保证不同方式生成的合成注解行为一致
+		 *
+		 * @param annotation 已解析的注解对象
+		 * @return 字符串
+		 */
+		static String synthesizedToString(ResolvedAnnotation annotation) {
+			return synthesizedToString(annotation, annotation::getResolvedAttributeValue);
+		}
+
+		private static String synthesizedToString(
+			ResolvedAnnotation annotation, BiFunction<String, Class<?>, Object> valueGetter) {
+			String attributes = Stream.of(annotation.getAttributes())
+				.map(attribute -> StringUtils.format("{}={}", attribute.getName(), valueGetter.apply(attribute.getName(), attribute.getReturnType())))
+				.collect(Collectors.joining(", "));
+			return StringUtils.format("@{}({})", annotation.annotationType().getName(), attributes);
+		}
+
 		/**
 		 * 表明注解是一个合成的注解
 		 */
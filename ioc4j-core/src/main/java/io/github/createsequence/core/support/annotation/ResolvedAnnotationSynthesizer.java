@@ -0,0 +1,39 @@
+package io.github.createsequence.core.support.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Proxy;
+
+/**
+ * 合成注解生成器，用于根据{@link ResolvedAnnotation}生成对应类型的合成注解对象。<br/>
+ * 生成的合成注解必须实现{@link ResolvedAnnotation.ResolvedAnnotationInvocationHandler.Proxied}接口，
+ * 并且其{@code equals}、{@code hashCode}与{@code toString}方法的行为应当与{@link #PROXY}保持一致。
+ *
+ * @author huangchengxing
+ * @see ResolvedAnnotation#setSynthesizer
+ */
+@FunctionalInterface
+public interface ResolvedAnnotationSynthesizer {
+
+    /**
+     * 基于{@link Proxy}的合成注解生成器，每次获取属性值时都需要经过{@code InvocationHandler}分派
+     */
+    ResolvedAnnotationSynthesizer PROXY = annotation -> ResolvedAnnotation.ResolvedAnnotationInvocationHandler.create(
+        annotation.annotationType(), annotation
+    );
+
+    /**
+     * 基于{@link MethodHandles.Lookup#defineHiddenClass}的合成注解生成器，
+     * 将为每种注解类型生成一个隐藏类，属性值在创建时即被解析并保存在{@code final}字段中。<br/>
+     * 当注解类型或其属性类型对生成的隐藏类不可见时，将回退至{@link #PROXY}。
+     */
+    ResolvedAnnotationSynthesizer HIDDEN_CLASS = HiddenClassAnnotationSynthesizer.INSTANCE;
+
+    /**
+     * 生成合成注解
+     *
+     * @param annotation 已解析的注解对象
+     * @return 合成注解
+     */
+    Annotation synthesize(ResolvedAnnotation annotation);
+}
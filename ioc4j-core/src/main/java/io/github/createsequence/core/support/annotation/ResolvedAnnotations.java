@@ -3,25 +3,34 @@ package io.github.createsequence.core.support.annotation;
 import io.github.createsequence.core.util.AnnotationUtils;
 import io.github.createsequence.core.util.ArrayUtils;
 import io.github.createsequence.core.util.Asserts;
+import io.github.createsequence.core.util.ClassValueCache;
 import io.github.createsequence.core.util.CollectionUtils;
 import io.github.createsequence.core.util.Streamable;
+import io.github.createsequence.core.util.WeakConcurrentCache;
 import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
 /**
- * 组合注解，由复数{@link ResolvedAnnotation}按特定规则聚合而成
+ * <p>组合注解，由复数{@link ResolvedAnnotation}按特定规则聚合而成
+ *
+ * <p>通过{@link #from}创建的组合注解在初始化后即不可变，因此将按根注解、是否解析属性与过滤器进行缓存，
+ * 当多个元素上存在相等的注解时，它们将共享同一个组合注解实例。
+ * 缓存以弱引用持有注解，以软引用持有组合注解，也可以通过{@link #clearCaches}主动清空。
  *
  * @author huangchengxing
  * @see ResolvedAnnotation
@@ -30,6 +39,23 @@ import java.util.stream.Stream;
  */
 public abstract class ResolvedAnnotations implements Streamable<ResolvedAnnotation> {
 
+    /**
+     * 默认的注解过滤器，忽略java自带的注解
+     */
+    private static final Predicate<? super Annotation> DEFAULT_FILTER = a -> AnnotationUtils.isNotJdkMetaAnnotation(a.annotationType());
+
+    /**
+     * 解析属性的组合注解缓存，key为过滤器，value为根注解与组合注解的缓存
+     */
+    private static final WeakConcurrentCache<Predicate<? super Annotation>, WeakConcurrentCache<Annotation, ResolvedAnnotations>> RESOLVED_CACHES =
+        new WeakConcurrentCache<>();
+
+    /**
+     * 不解析属性的组合注解缓存，key为过滤器，value为根注解与组合注解的缓存
+     */
+    private static final WeakConcurrentCache<Predicate<? super Annotation>, WeakConcurrentCache<Annotation, ResolvedAnnotations>> UNRESOLVED_CACHES =
+        new WeakConcurrentCache<>();
+
     @Getter
     protected final ResolvedAnnotation root;
     @Getter
@@ -82,8 +108,7 @@ public abstract class ResolvedAnnotations implements Streamable<ResolvedAnnotati
      */
     public static ResolvedAnnotations from(
         @NonNull Annotation root, boolean resolveAttribute) {
-        Predicate<? super Annotation> filter = a -> AnnotationUtils.isNotJdkMetaAnnotation(a.annotationType());
-        return from(root, resolveAttribute, filter);
+        return from(root, resolveAttribute, DEFAULT_FILTER);
     }
 
     /**
@@ -96,7 +121,20 @@ public abstract class ResolvedAnnotations implements Streamable<ResolvedAnnotati
      */
     public static ResolvedAnnotations from(
         @NonNull Annotation root, boolean resolveAttribute, @NonNull Predicate<? super Annotation> filter) {
-        return new Hierarchy(root, resolveAttribute, filter);
+        Asserts.isNotNull(root, "root annotation must not null");
+        Asserts.isNotNull(filter, "The annotations filter must not null!");
+        // 组合注解强引用其根注解，因此需要以软引用持有，否则根注解将永远无法被回收
+        var caches = resolveAttribute ? RESOLVED_CACHES : UNRESOLVED_CACHES;
+        return caches.computeIfAbsent(filter, f -> new WeakConcurrentCache<>(WeakConcurrentCache.UNBOUNDED, true))
+            .computeIfAbsent(root, r -> new Hierarchy(r, resolveAttribute, filter));
+    }
+
+    /**
+     * 清空通过{@link #from}创建的组合注解的缓存
+     */
+    public static void clearCaches() {
+        RESOLVED_CACHES.clear();
+        UNRESOLVED_CACHES.clear();
     }
 
     /**
@@ -149,13 +187,13 @@ public abstract class ResolvedAnnotations implements Streamable<ResolvedAnnotati
     }
 
     /**
-     * 获取迭代器
+     * 获取迭代器，{@link Hierarchy}实例可能被多个元素共享，因此迭代器不支持{@link Iterator#remove()}
      *
      * @return 迭代器
      */
     @Override
     public Iterator<ResolvedAnnotation> iterator() {
-        return annotations.values().iterator();
+        return Collections.unmodifiableCollection(annotations.values()).iterator();
     }
 
     /**
@@ -176,23 +214,122 @@ public abstract class ResolvedAnnotations implements Streamable<ResolvedAnnotati
             init(filter);
         }
 
+        /**
+         * 按广度优先收集该注解上的元注解，元注解的层级结构仅与根注解的类型和过滤器有关，
+         * 因此直接从{@link MetaAnnotationGraph}中获取，此处仅需要为每个元注解创建对应的{@link ResolvedAnnotation}
+         *
+         * @param filter 注解过滤器
+         */
         protected void init(Predicate<? super Annotation> filter) {
-            // 按广度优先收集该注解上的元注解
-            Deque<ResolvedAnnotation> queue = CollectionUtils.newCollection(LinkedList::new, root);
+            MetaAnnotationGraph graph = MetaAnnotationGraph.of(root.annotationType(), filter);
+            ResolvedAnnotation[] resolved = new ResolvedAnnotation[graph.size()];
+            resolved[0] = root;
+            annotations.put(root.annotationType(), root);
+            for (int i = 1; i < resolved.length; i++) {
+                Annotation annotation = graph.getAnnotation(i);
+                resolved[i] = ResolvedAnnotation.create(resolved[graph.getSource(i)], annotation, resolveAttribute);
+                annotations.put(annotation.annotationType(), resolved[i]);
+            }
+        }
+    }
+
+    /**
+     * <p>注解类型上的元注解层级结构，由按广度优先排序的元注解及每个元注解的子注解的下标组成，
+     * 下标为0的节点表示根注解类型本身。<br/>
+     * 由于类型上的元注解是固定的，因此每个注解类型与过滤器的组合只需要解析一次，
+     * 此后为该类型的注解实例创建{@link Hierarchy}时，不再需要访问{@link Class#getAnnotations()}。
+     */
+    static final class MetaAnnotationGraph {
+
+        /**
+         * 元注解层级结构缓存，value为过滤器与元注解层级结构的缓存
+         */
+        private static final ClassValueCache<WeakConcurrentCache<Predicate<? super Annotation>, MetaAnnotationGraph>> GRAPH_CACHES =
+            new ClassValueCache<>(type -> new WeakConcurrentCache<>());
+
+        /**
+         * 元注解，下标为0的元素为{@code null}
+         */
+        private final Annotation[] metaAnnotations;
+
+        /**
+         * 元注解的子注解的下标，下标为0的元素为{@code -1}
+         */
+        private final int[] sources;
+
+        /**
+         * 获取注解类型的元注解层级结构
+         *
+         * @param annotationType 注解类型
+         * @param filter 注解过滤器，过滤的注解及其元注解不会被收集
+         * @return 元注解层级结构
+         */
+        static MetaAnnotationGraph of(Class<? extends Annotation> annotationType, Predicate<? super Annotation> filter) {
+            return GRAPH_CACHES.get(annotationType)
+                .computeIfAbsent(filter, f -> new MetaAnnotationGraph(annotationType, f));
+        }
+
+        private MetaAnnotationGraph(Class<? extends Annotation> annotationType, Predicate<? super Annotation> filter) {
+            List<Annotation> nodes = new ArrayList<>();
+            List<Integer> sourceIndexes = new ArrayList<>();
+            Set<Class<? extends Annotation>> accessed = new HashSet<>();
+            // 队列中的元素为元注解及其子注解在结果中的下标
+            Deque<Map.Entry<Annotation, Integer>> queue = new ArrayDeque<>();
+            accessed.add(annotationType);
+            nodes.add(null);
+            sourceIndexes.add(-1);
+            collectMetaAnnotations(annotationType, 0, accessed, filter, queue);
             while (!queue.isEmpty()) {
-                ResolvedAnnotation source = queue.removeFirst();
-                Class<? extends Annotation> sourceType = source.annotationType();
-                if (annotations.containsKey(sourceType)) {
+                Map.Entry<Annotation, Integer> entry = queue.removeFirst();
+                Class<? extends Annotation> type = entry.getKey().annotationType();
+                if (!accessed.add(type)) {
                     continue;
                 }
-                annotations.put(sourceType, source);
-                // 收集元注解
-                Stream.of(sourceType.getAnnotations())
-                    .filter(annotation -> !annotations.containsKey(annotation.annotationType()))
-                    .filter(filter)
-                    .map(annotation -> ResolvedAnnotation.create(source, annotation, resolveAttribute))
-                    .forEach(queue::addLast);
+                nodes.add(entry.getKey());
+                sourceIndexes.add(entry.getValue());
+                collectMetaAnnotations(type, nodes.size() - 1, accessed, filter, queue);
             }
+            this.metaAnnotations = nodes.toArray(new Annotation[0]);
+            this.sources = sourceIndexes.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private static void collectMetaAnnotations(
+            Class<? extends Annotation> type, int index, Set<Class<? extends Annotation>> accessed,
+            Predicate<? super Annotation> filter, Deque<Map.Entry<Annotation, Integer>> queue) {
+            for (Annotation annotation : type.getAnnotations()) {
+                if (!accessed.contains(annotation.annotationType()) && filter.test(annotation)) {
+                    queue.addLast(Map.entry(annotation, index));
+                }
+            }
+        }
+
+        /**
+         * 获取节点数量，包括根注解
+         *
+         * @return 节点数量
+         */
+        int size() {
+            return metaAnnotations.length;
+        }
+
+        /**
+         * 获取元注解
+         *
+         * @param index 下标
+         * @return 元注解
+         */
+        Annotation getAnnotation(int index) {
+            return metaAnnotations[index];
+        }
+
+        /**
+         * 获取元注解的子注解的下标
+         *
+         * @param index 下标
+         * @return 子注解的下标
+         */
+        int getSource(int index) {
+            return sources[index];
         }
     }
 
@@ -1,11 +1,16 @@
 package io.github.createsequence.core.support.annotation;
 
 import io.github.createsequence.core.exception.Ioc4jException;
+import io.github.createsequence.core.support.MethodSignature;
 import io.github.createsequence.core.util.AnnotationUtils;
 import io.github.createsequence.core.util.ArrayUtils;
-import io.github.createsequence.core.util.CollectionUtils;
+import io.github.createsequence.core.util.Asserts;
+import io.github.createsequence.core.util.ClassValueCache;
+import io.github.createsequence.core.util.ConcurrentClassMap;
+import io.github.createsequence.core.util.Lazy;
 import io.github.createsequence.core.util.ReflectUtils;
 import io.github.createsequence.core.util.Streamable;
+import io.github.createsequence.core.util.WeakConcurrentCache;
 import lombok.ToString;
 import lombok.experimental.Delegate;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -16,7 +21,6 @@ import java.lang.annotation.Repeatable;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -58,7 +62,13 @@ import java.util.stream.Stream;
  * 基于{@link #from}工厂方法创建的所有类型{@link ResolvedHierarchicalElement}均会被缓存，
  * 缓存的加载是渐进式的，比如若基于{@link Class}创建一个实例，
  * 那么当未访问其父类或父接口时，它们对应的缓存并不会被加载。<br/>
- * 不存在强引用的缓存会在下一次GC时被回收，不过也可以通过{@link #clearCaches}主动清空。
+ * 缓存以弱引用持有元素，以软引用持有实例，当实例不存在强引用时，将在内存不足时被回收，
+ * 此后元素及其所属的类加载器也可随之被卸载；也可以通过{@link #clearCaches}主动清空。<br/>
+ * 可以通过{@link #getCacheStatistics}获取缓存的命中、未命中与淘汰次数。
+ *
+ * <p><strong>执行策略</strong><br />
+ * 全量搜索层级结构中的注解时默认串行执行，
+ * 可以通过{@link #setExecutionPolicy}指定当层级结构足够大时使用并行流。
  *
  * @author huangchengxing
  * @see ResolvedAnnotation
@@ -67,8 +77,21 @@ import java.util.stream.Stream;
 public class ResolvedHierarchicalElement<E extends AnnotatedElement>
     extends AbstractHierarchicalElement<E, ResolvedHierarchicalElement<E>> implements AnnotatedElement, Streamable<ResolvedAnnotations> {
 
-    // TODO 更换为 WeakConcurrentHashMap
-    private static final Map<AnnotatedElement, ResolvedHierarchicalElement<AnnotatedElement>> RESOLVED_ELEMENT_CACHES = new ConcurrentHashMap<>();
+    /**
+     * 实例缓存，由于实例总是强引用其元素，因此需要以软引用持有实例，否则元素将永远无法被回收
+     */
+    private static final WeakConcurrentCache<AnnotatedElement, ResolvedHierarchicalElement<?>> RESOLVED_ELEMENT_CACHES =
+        new WeakConcurrentCache<>(WeakConcurrentCache.UNBOUNDED, true);
+
+    /**
+     * 全量搜索层级结构中的注解时使用的执行策略
+     */
+    private static volatile ExecutionPolicy executionPolicy = ExecutionPolicy.SEQUENTIAL;
+
+    /**
+     * 用于表示注解不存在的占位符
+     */
+    private static final Object NULL = new Object();
 
     /**
      * 在元素上直接存在的注解
@@ -76,6 +99,28 @@ public class ResolvedHierarchicalElement<E extends AnnotatedElement>
     @Delegate(types = Iterable.class)
     private final List<ResolvedAnnotations> resolvedAnnotations;
 
+    /**
+     * 在元素上直接存在的注解及其元注解的类型
+     */
+    private final AnnotationTypeSet declaredAnnotationTypes;
+
+    /**
+     * 层级结构中所有元素上直接存在的注解及其元注解的类型，在首次访问时加载
+     */
+    private final Lazy<AnnotationTypeSet> annotationTypes = new Lazy<>(() -> AnnotationTypeSet.union(
+        hierarchyStream().map(ele -> ele.declaredAnnotationTypes)
+    ));
+
+    /**
+     * 在元素上直接存在的合成注解，若注解不存在则值为{@link #NULL}
+     */
+    private final ConcurrentClassMap<Object> declaredAnnotationCaches = new ConcurrentClassMap<>();
+
+    /**
+     * 在元素上直接存在的指定类型的全部合成注解，包括可重复注解容器中的注解
+     */
+    private final ConcurrentClassMap<Annotation[]> declaredAnnotationsByTypeCaches = new ConcurrentClassMap<>();
+
     /**
      * 从元素中构建一个{@link ResolvedHierarchicalElement}实例。
      * <ul>
@@ -113,10 +158,40 @@ public class ResolvedHierarchicalElement<E extends AnnotatedElement>
     }
 
     /**
-     * 清空缓存
+     * 清空缓存，包括元素上的组合注解的缓存
      */
     public static void clearCaches() {
         RESOLVED_ELEMENT_CACHES.clear();
+        ResolvedAnnotations.clearCaches();
+    }
+
+    /**
+     * 设置全量搜索层级结构中的注解时使用的执行策略，默认总是串行执行
+     *
+     * @param policy 执行策略
+     * @see ExecutionPolicy#parallelAbove
+     */
+    public static void setExecutionPolicy(@NonNull ExecutionPolicy policy) {
+        Asserts.isNotNull(policy, "execution policy must not null");
+        executionPolicy = policy;
+    }
+
+    /**
+     * 获取全量搜索层级结构中的注解时使用的执行策略
+     *
+     * @return 执行策略
+     */
+    public static ExecutionPolicy getExecutionPolicy() {
+        return executionPolicy;
+    }
+
+    /**
+     * 获取缓存的统计信息
+     *
+     * @return 统计信息
+     */
+    public static WeakConcurrentCache.Statistics getCacheStatistics() {
+        return RESOLVED_ELEMENT_CACHES.getStatistics();
     }
 
     /**
@@ -130,6 +205,9 @@ public class ResolvedHierarchicalElement<E extends AnnotatedElement>
         this.resolvedAnnotations = Arrays.stream(source.getDeclaredAnnotations())
             .map(ResolvedAnnotations::from)
             .toList();
+        this.declaredAnnotationTypes = AnnotationTypeSet.of(
+            resolvedAnnotations.stream().flatMap(ResolvedAnnotations::stream).map(ResolvedAnnotation::annotationType)
+        );
     }
 
     /**
@@ -157,6 +235,9 @@ public class ResolvedHierarchicalElement<E extends AnnotatedElement>
     @Override
     @Nullable
     public <A extends Annotation> A getAnnotation(@NonNull Class<A> annotationType) {
+        if (!isAnnotationPresent(annotationType)) {
+            return null;
+        }
         return hierarchyStream()
             .map(ele -> ele.getDeclaredAnnotation(annotationType))
             .filter(Objects::nonNull)
@@ -165,16 +246,15 @@ public class ResolvedHierarchicalElement<E extends AnnotatedElement>
     }
 
     /**
-     * 检查该注解是否在层级结构中存在
+     * 检查该注解是否在层级结构中存在，
+     * 层级结构中的注解类型在首次调用时收集，此后的检查不需要遍历层级结构，也不会合成注解
      *
      * @param annotationType 注解类型
      * @return 是否
      */
     @Override
     public boolean isAnnotationPresent(@NonNull Class<? extends Annotation> annotationType) {
-        return hierarchyStream(true)
-            .map(ele -> ele.getDeclaredAnnotation(annotationType))
-            .anyMatch(Objects::nonNull);
+        return annotationTypes.get().contains(annotationType);
     }
 
     /**
@@ -184,7 +264,7 @@ public class ResolvedHierarchicalElement<E extends AnnotatedElement>
      */
     @Override
     public Annotation[] getAnnotations() {
-        return hierarchyStream(true)
+        return hierarchyStream(executionPolicy)
             .map(ResolvedHierarchicalElement::getDeclaredAnnotations)
             .flatMap(Stream::of)
             .toArray(Annotation[]::new);
@@ -198,7 +278,7 @@ public class ResolvedHierarchicalElement<E extends AnnotatedElement>
      */
     @Override
     public <A extends Annotation> A[] getAnnotationsByType(Class<A> annotationType) {
-        return hierarchyStream(true)
+        return hierarchyStream(executionPolicy)
             .map(ele -> ele.getDeclaredAnnotationsByType(annotationType))
             .filter(ArrayUtils::isNotEmpty)
             .flatMap(Arrays::stream)
@@ -215,12 +295,16 @@ public class ResolvedHierarchicalElement<E extends AnnotatedElement>
     @Override
     @Nullable
     public <A extends Annotation> A getDeclaredAnnotation(@NonNull Class<A> annotationType) {
-        return resolvedAnnotations.stream()
+        if (!declaredAnnotationTypes.contains(annotationType)) {
+            return null;
+        }
+        Object annotation = declaredAnnotationCaches.computeIfAbsent(annotationType, type -> resolvedAnnotations.stream()
             .map(ras -> ras.synthesis(annotationType))
-            .mapMulti(Optional::ifPresent)
+            .<Object>mapMulti(Optional::ifPresent)
             .findFirst()
-            .map(annotationType::cast)
-            .orElse(null);
+            .orElse(NULL)
+        );
+        return annotation == NULL ? null : annotationType.cast(annotation);
     }
 
     /**
@@ -237,13 +321,13 @@ public class ResolvedHierarchicalElement<E extends AnnotatedElement>
     }
 
     /**
-     * 检查该注解是否在层级结构中存在
+     * 检查该注解是否在当前元素上存在
      *
      * @param annotationType 注解类型
      * @return 是否
      */
     public boolean isDeclaredAnnotationPresent(@NonNull Class<? extends Annotation> annotationType) {
-        return Objects.nonNull(getDeclaredAnnotation(annotationType));
+        return declaredAnnotationTypes.contains(annotationType);
     }
 
     /**
@@ -252,8 +336,15 @@ public class ResolvedHierarchicalElement<E extends AnnotatedElement>
      * @param annotationType 注解类型
      * @return 注解对象
      */
+    @SuppressWarnings("unchecked")
     @Override
     public <A extends Annotation> A[] getDeclaredAnnotationsByType(Class<A> annotationType) {
+        return (A[]) declaredAnnotationsByTypeCaches
+            .computeIfAbsent(annotationType, type -> resolveDeclaredAnnotationsByType(annotationType))
+            .clone();
+    }
+
+    private <A extends Annotation> A[] resolveDeclaredAnnotationsByType(Class<A> annotationType) {
         List<A> annotations = resolvedAnnotations.stream()
             .map(ras -> ras.synthesis(annotationType))
             .<A>mapMulti(Optional::ifPresent)
@@ -306,6 +397,8 @@ public class ResolvedHierarchicalElement<E extends AnnotatedElement>
     /**
      * 获得指定方法声明类的父类与父接口中，能够被重写的方法。<br/>
      * 关于可被重写方法判断标准，参照{@link ReflectUtils#isOverrideableFrom}；
+     *
+     * @see OverrideableMethodIndex
      */
     private static class OverrideableMethodsDiscoverer implements ParentElementDiscoverer<AnnotatedElement> {
         static final OverrideableMethodsDiscoverer INSTANCE = new OverrideableMethodsDiscoverer();
@@ -314,35 +407,124 @@ public class ResolvedHierarchicalElement<E extends AnnotatedElement>
         public Collection<Method> get(@NonNull AnnotatedElement element) {
             element = WrappedAnnotatedElement.getRoot(element);
             if (element instanceof Method method) {
-                Set<Class<?>> accessed = new HashSet<>();
-                Deque<Class<?>> typeQueue = new LinkedList<>(ReflectUtils.getDeclaredSuperClassWithInterface(method.getDeclaringClass()));
-                List<Method> recentParents = new ArrayList<>();
-
-                // 由于方法可能重写非直接父类或接口，因此直接的上级节点需要通过递归找到。
-                // 比如当存在 interface a -> interface b -> class c 的继承关系时，c 中的方法可能来自 interface a
-                // 但是，当存在较为复杂的继承树，且相同的方法在不同的上级类中重复出现时，
-                // 就需要对每一个分支进行独立的搜索，直到找到首个匹配的方法为止
-                while (!typeQueue.isEmpty()) {
-                    Class<?> type = typeQueue.removeFirst();
-                    accessed.add(type);
-
-                    // 检查类中是否有可重写的方法，若找到则结束当前分支的搜索
-                    List<Method> methods = Stream.of(ReflectUtils.getDeclaredMethods(type))
-                        .filter(m -> ReflectUtils.isOverrideableFrom(method, m))
-                        .toList();
-                    if (CollectionUtils.isNotEmpty(methods)) {
-                        recentParents.addAll(methods);
-                        continue;
-                    }
+                return OverrideableMethodIndex.INDEXES.get(method.getDeclaringClass()).get(method);
+            }
+            throw new Ioc4jException("element must be a method: [{}]", element);
+        }
+    }
+
+    /**
+     * <p>指定类的父类与父接口中全部方法的索引，方法按{@link MethodSignature}分组，
+     * 同一个类中的所有方法共享一个索引，索引只在首次访问时通过一次对层级结构的遍历构建。
+     *
+     * <p>由于方法可能重写非直接父类或接口，因此直接的上级节点需要通过递归找到。
+     * 比如当存在 interface a -> interface b -> class c 的继承关系时，c 中的方法可能来自 interface a。
+     * 但是，当存在较为复杂的继承树，且相同的方法在不同的上级类中重复出现时，
+     * 就需要对每一个分支进行独立的搜索，直到找到首个匹配的方法为止。<br/>
+     * 因此查找时先根据签名获得候选方法，若不存在候选方法则直接返回，
+     * 否则再沿着索引中记录的类型层级进行广度优先搜索，此过程不再需要访问反射API。
+     */
+    private static final class OverrideableMethodIndex {
+
+        static final ClassValueCache<OverrideableMethodIndex> INDEXES = new ClassValueCache<>(OverrideableMethodIndex::new);
+
+        /**
+         * 声明类的直接父类与父接口在{@link #parents}中的下标
+         */
+        private final int[] roots;
 
-                    Set<Class<?>> declaredSuperClassWithInterface = ReflectUtils.getDeclaredSuperClassWithInterface(type);
-                    declaredSuperClassWithInterface.remove(Object.class);
-                    declaredSuperClassWithInterface.removeAll(accessed);
-                    CollectionUtils.addAll(typeQueue, declaredSuperClassWithInterface);
+        /**
+         * 层级结构中每个类型的直接父类与父接口的下标，类型按广度优先排序
+         */
+        private final int[][] parents;
+
+        /**
+         * 层级结构中的方法，key为方法签名
+         */
+        private final Map<MethodSignature, List<Candidate>> candidates = new HashMap<>();
+
+        OverrideableMethodIndex(Class<?> declaringClass) {
+            Map<Class<?>, Integer> indexes = new HashMap<>();
+            List<Class<?>> types = new ArrayList<>();
+            this.roots = ReflectUtils.getDeclaredSuperClassWithInterface(declaringClass).stream()
+                .mapToInt(type -> register(type, indexes, types))
+                .toArray();
+            List<int[]> parentIndexes = new ArrayList<>();
+            for (int i = 0; i < types.size(); i++) {
+                Class<?> type = types.get(i);
+                parentIndexes.add(ReflectUtils.getDeclaredSuperClassWithInterface(type).stream()
+                    .filter(parent -> parent != Object.class)
+                    .mapToInt(parent -> register(parent, indexes, types))
+                    .toArray()
+                );
+                for (Method method : ReflectUtils.getDeclaredMethods(type)) {
+                    candidates.computeIfAbsent(MethodSignature.of(method), k -> new ArrayList<>(1))
+                        .add(new Candidate(i, method));
                 }
-                return recentParents;
             }
-            throw new Ioc4jException("element must be a method: [{}]", element);
+            this.parents = parentIndexes.toArray(new int[0][]);
+        }
+
+        private static int register(Class<?> type, Map<Class<?>, Integer> indexes, List<Class<?>> types) {
+            return indexes.computeIfAbsent(type, t -> {
+                types.add(t);
+                return types.size() - 1;
+            });
+        }
+
+        /**
+         * 获取被指定方法重写的方法
+         *
+         * @param method 方法
+         * @return 被重写的方法
+         */
+        List<Method> get(Method method) {
+            List<Candidate> sameSignatureMethods = candidates.get(MethodSignature.of(method));
+            if (Objects.isNull(sameSignatureMethods)) {
+                return Collections.emptyList();
+            }
+            Map<Integer, List<Method>> matched = new HashMap<>();
+            for (Candidate candidate : sameSignatureMethods) {
+                if (ReflectUtils.isOverrideableFrom(method, candidate.method())) {
+                    matched.computeIfAbsent(candidate.type(), k -> new ArrayList<>(1)).add(candidate.method());
+                }
+            }
+            if (matched.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            // 在类型中找到可重写的方法后，即结束当前分支的搜索
+            List<Method> recentParents = new ArrayList<>();
+            boolean[] accessed = new boolean[parents.length];
+            Deque<Integer> typeQueue = new ArrayDeque<>(roots.length);
+            for (int root : roots) {
+                accessed[root] = true;
+                typeQueue.addLast(root);
+            }
+            while (!typeQueue.isEmpty()) {
+                int type = typeQueue.removeFirst();
+                List<Method> methods = matched.get(type);
+                if (Objects.nonNull(methods)) {
+                    recentParents.addAll(methods);
+                    continue;
+                }
+                for (int parent : parents[type]) {
+                    if (!accessed[parent]) {
+                        accessed[parent] = true;
+                        typeQueue.addLast(parent);
+                    }
+                }
+            }
+            return recentParents;
+        }
+
+        /**
+         * 候选方法
+         *
+         * @param type 方法声明类在层级结构中的下标
+         * @param method 方法
+         */
+        private record Candidate(int type, Method method) {
         }
     }
 
@@ -0,0 +1,100 @@
+package io.github.createsequence.core.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * <p>A cache keyed by {@link Class} and backed by {@link ClassValue}.<br />
+ * Values are stored along with their classes,
+ * so they are collected when the classes are unloaded,
+ * and the lookup does not need to compute any hash code.
+ *
+ * <p>Classes whose values have been computed are recorded by their class loader through {@link WeakReference},
+ * so that all values of classes loaded by a specific class loader can be removed
+ * by {@link #removeByClassLoader} before the class loader is discarded.
+ *
+ * @param <V> value type
+ * @author huangchengxing
+ */
+public class ClassValueCache<V> {
+
+    private final ClassValue<V> values;
+
+    /**
+     * classes whose values have been computed, grouped by class loader
+     */
+    private final WeakConcurrentCache<ClassLoader, Queue<WeakReference<Class<?>>>> computedClasses = new WeakConcurrentCache<>();
+
+    /**
+     * classes whose values have been computed, which loaded by bootstrap class loader
+     */
+    private final Queue<WeakReference<Class<?>>> bootstrapComputedClasses = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Create a cache.
+     *
+     * @param loader function to compute value of class, it must not return null
+     */
+    public ClassValueCache(@NonNull Function<Class<?>, ? extends V> loader) {
+        Objects.requireNonNull(loader, "loader must not null");
+        this.values = new ClassValue<>() {
+            @Override
+            protected V computeValue(Class<?> type) {
+                V value = loader.apply(type);
+                Objects.requireNonNull(value, "value must not null");
+                getComputedClasses(type.getClassLoader()).add(new WeakReference<>(type));
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Get value of class, if absent, compute and cache it.
+     *
+     * @param type type
+     * @return value
+     */
+    public V get(@NonNull Class<?> type) {
+        return values.get(type);
+    }
+
+    /**
+     * Remove cached value of class.
+     *
+     * @param type type
+     */
+    public void remove(@NonNull Class<?> type) {
+        values.remove(type);
+    }
+
+    /**
+     * Remove cached values of all classes loaded by the specified class loader.
+     *
+     * @param classLoader class loader, null means bootstrap class loader
+     */
+    public void removeByClassLoader(@Nullable ClassLoader classLoader) {
+        Queue<WeakReference<Class<?>>> classes = Objects.isNull(classLoader) ?
+            bootstrapComputedClasses : computedClasses.remove(classLoader);
+        if (Objects.isNull(classes)) {
+            return;
+        }
+        WeakReference<Class<?>> reference;
+        while (Objects.nonNull(reference = classes.poll())) {
+            Class<?> type = reference.get();
+            if (Objects.nonNull(type)) {
+                values.remove(type);
+            }
+        }
+    }
+
+    private Queue<WeakReference<Class<?>>> getComputedClasses(ClassLoader classLoader) {
+        return Objects.isNull(classLoader) ?
+            bootstrapComputedClasses : computedClasses.computeIfAbsent(classLoader, cl -> new ConcurrentLinkedQueue<>());
+    }
+}
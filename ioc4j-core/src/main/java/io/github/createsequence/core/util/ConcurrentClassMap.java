@@ -0,0 +1,148 @@
+package io.github.createsequence.core.util;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * <p>A small thread-safe map specialized for {@link Class} keys,
+ * intended for per-element caches which usually hold only a few entries.
+ *
+ * <p>Keys are compared by identity and stored in an open-addressed table with linear probing,
+ * so a lookup is an identity hash and a few array reads, without any node or boxing allocation.
+ * The table is copy-on-write: reads are lock-free through a volatile reference,
+ * and writes copy the table under lock, which is cheap for small maps that are rarely written after warmup.
+ *
+ * <p>Null values are not allowed, use a sentinel object for negative caching.
+ *
+ * @author huangchengxing
+ * @param <V> value type
+ */
+public class ConcurrentClassMap<V> {
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final Object[] EMPTY_TABLE = new Object[0];
+
+    /**
+     * keys and values are stored interleaved, key at {@code 2 * i} and value at {@code 2 * i + 1}
+     */
+    private volatile Object[] table = EMPTY_TABLE;
+    private int size;
+
+    /**
+     * Get the value of key.
+     *
+     * @param key key
+     * @return value, null if absent
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public V get(Class<?> key) {
+        Object[] tab = table;
+        if (tab.length == 0) {
+            return null;
+        }
+        int mask = tab.length - 2;
+        for (int i = indexOf(key, mask); ; i = (i + 2) & mask) {
+            Object k = tab[i];
+            if (k == key) {
+                return (V) tab[i + 1];
+            }
+            if (k == null) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * <p>Get the value of key, if absent, compute and put it.<br />
+     * The mapping function is called outside the lock, it may be called more than once
+     * when multiple threads compute the same key concurrently, but only the first result is kept.
+     *
+     * @param key key
+     * @param mappingFunction mapping function, must not return null
+     * @return value
+     */
+    public V computeIfAbsent(Class<?> key, Function<? super Class<?>, ? extends V> mappingFunction) {
+        V value = get(key);
+        if (Objects.nonNull(value)) {
+            return value;
+        }
+        value = Objects.requireNonNull(mappingFunction.apply(key), "mapping function must not return null");
+        return putIfAbsent(key, value);
+    }
+
+    /**
+     * Put the value if key is absent.
+     *
+     * @param key key
+     * @param value value
+     * @return the value of key after put
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V putIfAbsent(Class<?> key, V value) {
+        Objects.requireNonNull(key, "key must not null");
+        Objects.requireNonNull(value, "value must not null");
+        Object[] tab = table;
+        // keep the load factor under 0.5
+        int capacity = tab.length / 2;
+        if ((size + 1) * 2 > capacity) {
+            tab = resize(tab, Math.max(INITIAL_CAPACITY, capacity * 2));
+        } else {
+            tab = tab.clone();
+        }
+        int mask = tab.length - 2;
+        int i = indexOf(key, mask);
+        for (; tab[i] != null; i = (i + 2) & mask) {
+            if (tab[i] == key) {
+                return (V) tab[i + 1];
+            }
+        }
+        tab[i] = key;
+        tab[i + 1] = value;
+        size++;
+        table = tab;
+        return value;
+    }
+
+    /**
+     * Get the number of entries.
+     *
+     * @return size
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public synchronized void clear() {
+        table = EMPTY_TABLE;
+        size = 0;
+    }
+
+    private static Object[] resize(Object[] tab, int capacity) {
+        Object[] newTab = new Object[capacity * 2];
+        int mask = newTab.length - 2;
+        for (int j = 0; j < tab.length; j += 2) {
+            Object key = tab[j];
+            if (key != null) {
+                int i = indexOf(key, mask);
+                while (newTab[i] != null) {
+                    i = (i + 2) & mask;
+                }
+                newTab[i] = key;
+                newTab[i + 1] = tab[j + 1];
+            }
+        }
+        return newTab;
+    }
+
+    private static int indexOf(Object key, int mask) {
+        int h = System.identityHashCode(key);
+        // spread the bits and multiply by 2 to point at key slot
+        return ((h ^ (h >>> 16)) << 1) & mask;
+    }
+}
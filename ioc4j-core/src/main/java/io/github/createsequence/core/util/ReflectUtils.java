@@ -16,11 +16,7 @@ import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Deque;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -47,28 +43,66 @@ public class ReflectUtils {
     /**
      * declared field cache
      */
-    // TODO replace with WeakHashMap
-    private static final Map<Class<?>, Field[]> DECLARED_FIELD_CACHE = new ConcurrentHashMap<>();
+    private static final ClassValueCache<Field[]> DECLARED_FIELD_CACHE = new ClassValueCache<>(Class::getDeclaredFields);
 
     /**
      * field cache
      */
-    private static final Map<Class<?>, Field[]> FIELD_CACHE = new ConcurrentHashMap<>();
+    private static final ClassValueCache<Field[]> FIELD_CACHE = new ClassValueCache<>(type -> {
+        List<Field> fields = new ArrayList<>();
+        traverseTypeHierarchy(type, curr -> fields.addAll(Arrays.asList(getDeclaredFields(curr))));
+        return fields.toArray(new Field[0]);
+    });
+
+    /**
+     * declared method cache
+     */
+    private static final ClassValueCache<Method[]> DECLARED_METHOD_CACHE = new ClassValueCache<>(
+        type -> Stream.of(type.getDeclaredMethods())
+            .filter(m -> !m.isSynthetic())
+            .toArray(Method[]::new)
+    );
 
     /**
      * method cache
      */
-    private static final Map<Class<?>, Method[]> DECLARED_METHOD_CACHE = new ConcurrentHashMap<>();
+    private static final ClassValueCache<Method[]> METHOD_CACHE = new ClassValueCache<>(type -> {
+        List<Method> methods = new ArrayList<>();
+        traverseTypeHierarchy(type, t -> methods.addAll(Arrays.asList(getDeclaredMethods(t))));
+        return methods.toArray(new Method[0]);
+    });
 
     /**
-     * declared method cache
+     * resolved parameter names cache, grouped by declaring class of method,
+     * only the result of the last used finder is kept for each method
      */
-    private static final Map<Class<?>, Method[]> METHOD_CACHE = new ConcurrentHashMap<>();
+    private static final ClassValueCache<Map<Method, ResolvedParameterNames>> PARAMETER_NAME_CACHE = new ClassValueCache<>(
+        type -> new ConcurrentHashMap<>()
+    );
+
+    /**
+     * type hierarchy cache
+     */
+    private static final ClassValueCache<TypeHierarchy> TYPE_HIERARCHY_CACHE = new ClassValueCache<>(
+        type -> new TypeHierarchy(type, ReflectUtils::getTypeHierarchy)
+    );
+
+    // ====================== cache ======================
 
     /**
-     * declared super class with interface
+     * Remove cached fields, methods, parameter names and hierarchies of all classes loaded by the specified class loader,
+     * it should be called before the class loader is discarded, such as when a module is redeployed.
+     *
+     * @param classLoader class loader, null means bootstrap class loader
      */
-    private static final Map<Class<?>, Set<Class<?>>> DECLARED_SUPER_CLASS_WITH_INTERFACE = new ConcurrentHashMap<>();
+    public static void clearCaches(@Nullable ClassLoader classLoader) {
+        DECLARED_FIELD_CACHE.removeByClassLoader(classLoader);
+        FIELD_CACHE.removeByClassLoader(classLoader);
+        DECLARED_METHOD_CACHE.removeByClassLoader(classLoader);
+        METHOD_CACHE.removeByClassLoader(classLoader);
+        PARAMETER_NAME_CACHE.removeByClassLoader(classLoader);
+        TYPE_HIERARCHY_CACHE.removeByClassLoader(classLoader);
+    }
 
     // ====================== method ======================
 
@@ -167,7 +201,9 @@ public class ReflectUtils {
     }
 
     /**
-     * Resolve method parameter names.
+     * Resolve method parameter names.<br />
+     * The result is cached per method until another finder is used for the same method,
+     * the returned map is shared and unmodifiable.
      *
      * @param finder discoverer
      * @param method method
@@ -175,11 +211,21 @@ public class ReflectUtils {
      */
     @SuppressWarnings("all")
     public static Map<String, Parameter> resolveParameterNames(ParameterNameFinder finder, Method method) {
-        Parameter[] parameters = method.getParameters();
-        String[] parameterNames = finder.getParameterNames(method);
-        if (ArrayUtils.isEmpty(parameters)) {
+        if (method.getParameterCount() == 0) {
             return Collections.emptyMap();
         }
+        Map<Method, ResolvedParameterNames> caches = PARAMETER_NAME_CACHE.get(method.getDeclaringClass());
+        ResolvedParameterNames resolved = caches.get(method);
+        if (Objects.isNull(resolved) || resolved.finder() != finder) {
+            resolved = new ResolvedParameterNames(finder, doResolveParameterNames(finder, method));
+            caches.put(method, resolved);
+        }
+        return resolved.parameters();
+    }
+
+    private static Map<String, Parameter> doResolveParameterNames(ParameterNameFinder finder, Method method) {
+        Parameter[] parameters = method.getParameters();
+        String[] parameterNames = finder.getParameterNames(method);
         Map<String, Parameter> parameterMap = new LinkedHashMap<>(parameters.length);
         int nameLength = ArrayUtils.length(parameterNames);
         for (int i = 0; i < parameters.length; i++) {
@@ -187,7 +233,7 @@ public class ReflectUtils {
             String parameterName = nameLength <= i ? parameter.getName() : parameterNames[i];
             parameterMap.put(parameterName, parameter);
         }
-        return parameterMap;
+        return Collections.unmodifiableMap(parameterMap);
     }
 
     /**
@@ -197,11 +243,7 @@ public class ReflectUtils {
      * @return method list
      */
     public static Method[] getDeclaredMethods(Class<?> type) {
-        return DECLARED_METHOD_CACHE.computeIfAbsent(
-            type, t -> Stream.of(t.getDeclaredMethods())
-                .filter(m -> !m.isSynthetic())
-                .toArray(Method[]::new)
-        );
+        return DECLARED_METHOD_CACHE.get(type);
     }
 
     /**
@@ -226,11 +268,7 @@ public class ReflectUtils {
      * @see Class#getMethods()
      */
     public static Method[] getMethods(Class<?> type) {
-        return METHOD_CACHE.computeIfAbsent(type, curr -> {
-            List<Method> methods = new ArrayList<>();
-            traverseTypeHierarchy(curr, t -> methods.addAll(Arrays.asList(getDeclaredMethods(t))));
-            return methods.toArray(new Method[0]);
-        });
+        return METHOD_CACHE.get(type);
     }
 
     /**
@@ -413,22 +451,24 @@ public class ReflectUtils {
 
     // ====================== class ======================
 
+    /**
+     * Get the cached descriptor of type hierarchy.
+     *
+     * @param type type
+     * @return type hierarchy
+     */
+    public static TypeHierarchy getTypeHierarchy(Class<?> type) {
+        return TYPE_HIERARCHY_CACHE.get(type);
+    }
+
     /**
      * Get declared super class with interface.
      *
      * @param type type
-     * @return declared super class with interface
+     * @return unmodifiable set of declared super class with interface
      */
     public static Set<Class<?>> getDeclaredSuperClassWithInterface(Class<?> type) {
-        return DECLARED_SUPER_CLASS_WITH_INTERFACE.computeIfAbsent(type, k -> {
-            Set<Class<?>> result = new LinkedHashSet<>();
-            Class<?> superClass = type.getSuperclass();
-            if (superClass != null) {
-                result.add(superClass);
-            }
-            result.addAll(Arrays.asList(type.getInterfaces()));
-            return result;
-        });
+        return getTypeHierarchy(type).getParents();
     }
 
     /**
@@ -449,37 +489,37 @@ public class ReflectUtils {
      * @param consumer operation for each type
      */
     public static void traverseTypeHierarchy(Class<?> beanType, boolean includeRoot, Consumer<Class<?>> consumer) {
-        traverseTypeHierarchyWhile(beanType, includeRoot, t -> {
-            consumer.accept(t);
-            return true;
-        });
+        if (includeRoot) {
+            consumer.accept(beanType);
+        }
+        TypeHierarchy hierarchy = getTypeHierarchy(beanType);
+        for (int i = 0, count = hierarchy.getAncestorCount(); i < count; i++) {
+            consumer.accept(hierarchy.getAncestor(i));
+        }
     }
 
     /**
-     * Traverse type hierarchy until encountering the first mismatched type.
+     * <p>Traverse type hierarchy in breadth-first order while {@code consumer} returns {@code true},
+     * {@link Object} is always skipped.<br />
+     * The traversal stops as soon as {@code consumer} returns {@code false} for a type,
+     * and the remaining types will not be visited.
+     *
+     * <p><b>NOTE</b>: earlier versions stopped on the first type for which {@code consumer} returned {@code true},
+     * which contradicted the name of this method, callers relying on that behavior should negate their predicate.
      *
      * @param beanType bean type
      * @param includeRoot whether include root type
-     * @param consumer operation for each type
+     * @param consumer operation for each type, return {@code true} to continue and {@code false} to stop traversal
      */
     public static void traverseTypeHierarchyWhile(Class<?> beanType, boolean includeRoot, Predicate<Class<?>> consumer) {
-        Set<Class<?>> accessed = new HashSet<>();
-        Deque<Class<?>> typeQueue = new LinkedList<>();
-        typeQueue.add(beanType);
-        while (!typeQueue.isEmpty()) {
-            Class<?> type = typeQueue.removeFirst();
-            accessed.add(type);
-            // do something for current type
-            if (includeRoot || type != beanType) {
-                if (consumer.test(type)) {
-                    return;
-                }
+        if (includeRoot && !consumer.test(beanType)) {
+            return;
+        }
+        TypeHierarchy hierarchy = getTypeHierarchy(beanType);
+        for (int i = 0, count = hierarchy.getAncestorCount(); i < count; i++) {
+            if (!consumer.test(hierarchy.getAncestor(i))) {
+                return;
             }
-            // then find superclass and interfaces
-            Set<Class<?>> declaredSuperClassWithInterface = getDeclaredSuperClassWithInterface(type);
-            declaredSuperClassWithInterface.remove(Object.class);
-            declaredSuperClassWithInterface.removeAll(accessed);
-            CollectionUtils.addAll(typeQueue, declaredSuperClassWithInterface);
         }
     }
 
@@ -507,7 +547,7 @@ public class ReflectUtils {
      * @return field array
      */
     public static Field[] getDeclaredFields(Class<?> type) {
-        return DECLARED_FIELD_CACHE.computeIfAbsent(type, Class::getDeclaredFields);
+        return DECLARED_FIELD_CACHE.get(type);
     }
 
     /**
@@ -532,11 +572,7 @@ public class ReflectUtils {
      * @return field array
      */
     public static Field[] getFields(Class<?> type) {
-        return FIELD_CACHE.computeIfAbsent(type, t -> {
-            List<Field> fields = new ArrayList<>();
-            traverseTypeHierarchy(t, curr -> fields.addAll(Arrays.asList(getDeclaredFields(curr))));
-            return fields.toArray(new Field[0]);
-        });
+        return FIELD_CACHE.get(type);
     }
 
     /**
@@ -579,4 +615,13 @@ public class ReflectUtils {
             accessibleObject.setAccessible(true);
         }
     }
+
+    /**
+     * Parameter names resolved by finder.
+     *
+     * @param finder finder used to resolve the names
+     * @param parameters collection of parameter name and parameter
+     */
+    private record ResolvedParameterNames(ParameterNameFinder finder, Map<String, Parameter> parameters) {
+    }
 }
@@ -2,13 +2,17 @@ package io.github.createsequence.core.util;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -20,12 +24,14 @@ import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 /**
- * 合成注解代理
+ * <p>合成注解代理。<br/>
+ * 注解类型的属性方法在首次使用时会被解析为{@link MemberIndex}并按类型缓存，
+ * 属性值在创建代理时即按下标展开为数组，因此调用属性方法时仅需要按方法名获取下标并读取数组。
+ * {@code hashCode}与{@code toString}的结果与JDK一致，且在首次调用后被缓存。
  *
  * @author huangchengxing
  */
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
-@RequiredArgsConstructor
 public class SynthesizedAnnotationInvocationHandler implements InvocationHandler {
 
     private static final String EQUALS_METHOD = "equals";
@@ -33,13 +39,58 @@ public class SynthesizedAnnotationInvocationHandler implements InvocationHandler
     private static final String HASH_CODE_METHOD = "hashCode";
     private static final String ANNOTATION_TYPE_METHOD = "annotationType";
 
+    private static final int EQUALS = -1;
+    private static final int TO_STRING = -2;
+    private static final int HASH_CODE = -3;
+    private static final int ANNOTATION_TYPE = -4;
+    private static final int NOT_FOUND = -5;
+
+    /**
+     * 注解类型的属性方法索引
+     */
+    private static final ClassValueCache<MemberIndex> MEMBER_INDEXES = new ClassValueCache<>(MemberIndex::new);
+
     @Getter
     @EqualsAndHashCode.Include
     private final Class<? extends Annotation> type;
     @Getter
     @EqualsAndHashCode.Include
     private final Map<String, Object> memberValues;
+    private final MemberIndex index;
+
+    /**
+     * 按{@link MemberIndex}中的下标排列的属性值，未指定的属性使用其默认值
+     */
+    private final Object[] values;
+
+    /**
+     * 对应下标的属性值是否为非空数组，只有非空数组在返回时需要拷贝
+     */
+    private final boolean[] cloneRequired;
     private volatile String stringValue = null;
+    private volatile int hashCode;
+    private volatile boolean hashCodeResolved;
+
+    /**
+     * 创建一个合成注解代理
+     *
+     * @param type 注解类型
+     * @param memberValues 属性值
+     */
+    public SynthesizedAnnotationInvocationHandler(Class<? extends Annotation> type, Map<String, Object> memberValues) {
+        this.type = type;
+        this.memberValues = memberValues;
+        this.index = MEMBER_INDEXES.get(type);
+        Method[] members = index.members;
+        this.values = new Object[members.length];
+        this.cloneRequired = new boolean[members.length];
+        for (int i = 0; i < members.length; i++) {
+            Object value = memberValues.get(members[i].getName());
+            value = Objects.isNull(value) ? members[i].getDefaultValue() : value;
+            values[i] = value;
+            cloneRequired[i] = Objects.nonNull(value) && value.getClass().isArray() && Array.getLength(value) > 0;
+        }
+    }
 
     /**
      * 目标注解是否为合成的注解
@@ -53,16 +104,127 @@ public class SynthesizedAnnotationInvocationHandler implements InvocationHandler
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) {
-        String methodName = method.getName();
-        return switch (method.getName()) {
-            case EQUALS_METHOD -> this.equals(args[0]);
-            case TO_STRING_METHOD -> this.toString();
-            case HASH_CODE_METHOD -> this.hashCode();
-            case ANNOTATION_TYPE_METHOD -> this.type;
-            default -> memberValues.get(methodName);
+        int slot = index.indexOf(method);
+        return switch (slot) {
+            case EQUALS -> annotationEquals(proxy, args[0]);
+            case TO_STRING -> this.toString();
+            case HASH_CODE -> annotationHashCode();
+            case ANNOTATION_TYPE -> this.type;
+            case NOT_FOUND -> memberValues.get(method.getName());
+            default -> getMemberValue(slot);
         };
     }
 
+    private Object getMemberValue(int slot) {
+        Object value = values[slot];
+        return cloneRequired[slot] ? cloneArray(value) : value;
+    }
+
+    /**
+     * 按{@link Annotation#equals}的约定比较注解
+     *
+     * @param proxy 代理对象
+     * @param other 待比较的对象
+     * @return 是否相等
+     */
+    private boolean annotationEquals(Object proxy, Object other) {
+        if (proxy == other) {
+            return true;
+        }
+        if (!type.isInstance(other)) {
+            return false;
+        }
+        SynthesizedAnnotationInvocationHandler handler = asSynthesizedHandler(other);
+        Method[] members = index.members;
+        for (int i = 0; i < members.length; i++) {
+            Object otherValue = Objects.nonNull(handler) ?
+                handler.values[i] : ReflectUtils.invokeRaw(other, members[i]);
+            if (!Objects.deepEquals(values[i], otherValue)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nullable
+    private SynthesizedAnnotationInvocationHandler asSynthesizedHandler(Object other) {
+        if (Proxy.isProxyClass(other.getClass())
+            && Proxy.getInvocationHandler(other) instanceof SynthesizedAnnotationInvocationHandler handler
+            && handler.type == type) {
+            return handler;
+        }
+        return null;
+    }
+
+    /**
+     * 按{@link Annotation#hashCode}的约定计算哈希值，结果将在首次调用后被缓存
+     *
+     * @return 哈希值
+     */
+    private int annotationHashCode() {
+        if (!hashCodeResolved) {
+            int result = 0;
+            Method[] members = index.members;
+            for (int i = 0; i < members.length; i++) {
+                result += (127 * members[i].getName().hashCode()) ^ memberValueHashCode(values[i]);
+            }
+            // 哈希值不可变，并发时即使重复计算也总是得到相同的结果
+            hashCode = result;
+            hashCodeResolved = true;
+        }
+        return hashCode;
+    }
+
+    private static int memberValueHashCode(Object value) {
+        if (Objects.isNull(value)) {
+            return 0;
+        }
+        Class<?> type = value.getClass();
+        if (!type.isArray()) {
+            return value.hashCode();
+        }
+        if (type == byte[].class) {
+            return Arrays.hashCode((byte[]) value);
+        } else if (type == char[].class) {
+            return Arrays.hashCode((char[]) value);
+        } else if (type == double[].class) {
+            return Arrays.hashCode((double[]) value);
+        } else if (type == float[].class) {
+            return Arrays.hashCode((float[]) value);
+        } else if (type == int[].class) {
+            return Arrays.hashCode((int[]) value);
+        } else if (type == long[].class) {
+            return Arrays.hashCode((long[]) value);
+        } else if (type == short[].class) {
+            return Arrays.hashCode((short[]) value);
+        } else if (type == boolean[].class) {
+            return Arrays.hashCode((boolean[]) value);
+        }
+        return Arrays.hashCode((Object[]) value);
+    }
+
+    private static Object cloneArray(Object array) {
+        Class<?> type = array.getClass();
+        if (type == byte[].class) {
+            return ((byte[]) array).clone();
+        } else if (type == char[].class) {
+            return ((char[]) array).clone();
+        } else if (type == double[].class) {
+            return ((double[]) array).clone();
+        } else if (type == float[].class) {
+            return ((float[]) array).clone();
+        } else if (type == int[].class) {
+            return ((int[]) array).clone();
+        } else if (type == long[].class) {
+            return ((long[]) array).clone();
+        } else if (type == short[].class) {
+            return ((short[]) array).clone();
+        } else if (type == boolean[].class) {
+            return ((boolean[]) array).clone();
+        }
+        return ((Object[]) array).clone();
+    }
+
     @Override
     public String toString() {
         if (Objects.isNull(stringValue)) {
@@ -283,4 +445,42 @@ public class SynthesizedAnnotationInvocationHandler implements InvocationHandler
     }
 
     public interface SynthesizedAnnotation {}
+
+    /**
+     * 注解类型的属性方法索引，将属性方法名映射为属性值数组中的下标，
+     * 同时也包括{@code equals}、{@code hashCode}等由{@link Annotation}声明的方法
+     *
+     * @author huangchengxing
+     */
+    private static final class MemberIndex {
+
+        /**
+         * 属性方法
+         */
+        private final Method[] members;
+
+        /**
+         * 方法名与下标，由于注解的属性方法不能与{@link Annotation}中的方法同名，因此方法名总是唯一的
+         */
+        private final Map<String, Integer> slots;
+
+        MemberIndex(Class<?> annotationType) {
+            this.members = Arrays.stream(ReflectUtils.getDeclaredMethods(annotationType))
+                .filter(m -> m.getParameterCount() == 0 && !m.isSynthetic() && !Modifier.isStatic(m.getModifiers()))
+                .toArray(Method[]::new);
+            this.slots = new HashMap<>(members.length + 4);
+            for (int i = 0; i < members.length; i++) {
+                slots.put(members[i].getName(), i);
+            }
+            slots.put(EQUALS_METHOD, EQUALS);
+            slots.put(TO_STRING_METHOD, TO_STRING);
+            slots.put(HASH_CODE_METHOD, HASH_CODE);
+            slots.put(ANNOTATION_TYPE_METHOD, ANNOTATION_TYPE);
+        }
+
+        int indexOf(Method method) {
+            Integer slot = slots.get(method.getName());
+            return Objects.isNull(slot) ? NOT_FOUND : slot;
+        }
+    }
 }
@@ -0,0 +1,226 @@
+package io.github.createsequence.core.util;
+
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * <p>Immutable descriptor of type hierarchy, includes:
+ * <ul>
+ *     <li>direct parents, which are the superclass and interfaces declared by the type;</li>
+ *     <li>linearized ancestors in breadth-first order, without the type itself and {@link Object};</li>
+ *     <li>an id set of ancestors for O(1) ancestor check;</li>
+ * </ul>
+ * Instances are cached and shared, use {@link ReflectUtils#getTypeHierarchy} to obtain one.
+ *
+ * @author huangchengxing
+ * @see ReflectUtils#getTypeHierarchy
+ */
+public final class TypeHierarchy {
+
+    private static final Class<?>[] EMPTY_TYPES = new Class<?>[0];
+    private static final int EMPTY_ID = 0;
+    private static final AtomicInteger ID_GENERATOR = new AtomicInteger(EMPTY_ID);
+
+    /**
+     * ids of types, it is independent of the cache of descriptors,
+     * so the id of a type will not change even if its descriptor is recomputed
+     */
+    private static final ClassValue<Integer> TYPE_IDS = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return ID_GENERATOR.incrementAndGet();
+        }
+    };
+
+    /**
+     * type
+     */
+    @Getter
+    private final Class<?> type;
+
+    /**
+     * unique id of type, which is greater than 0
+     */
+    private final int id;
+
+    /**
+     * declared superclass and interfaces
+     */
+    private final Class<?>[] parents;
+
+    /**
+     * linearized ancestors in breadth-first order, without {@link Object}
+     */
+    private final Class<?>[] ancestors;
+
+    /**
+     * open-addressing table of ancestor ids, empty slot is {@link #EMPTY_ID}
+     */
+    private final int[] ancestorIds;
+
+    /**
+     * unmodifiable set view of {@link #parents}
+     */
+    private final Set<Class<?>> parentSet;
+
+    /**
+     * unmodifiable list view of {@link #ancestors}
+     */
+    private final List<Class<?>> ancestorList;
+
+    /**
+     * Create a descriptor of type hierarchy.
+     *
+     * @param type type
+     * @param hierarchyOfType function to obtain the cached descriptor of parent type
+     */
+    TypeHierarchy(Class<?> type, Function<Class<?>, TypeHierarchy> hierarchyOfType) {
+        this.type = type;
+        this.id = TYPE_IDS.get(type);
+
+        Class<?> superclass = type.getSuperclass();
+        Class<?>[] interfaces = type.getInterfaces();
+        if (Objects.isNull(superclass)) {
+            this.parents = interfaces.length == 0 ? EMPTY_TYPES : interfaces;
+        } else {
+            this.parents = new Class<?>[interfaces.length + 1];
+            this.parents[0] = superclass;
+            System.arraycopy(interfaces, 0, this.parents, 1, interfaces.length);
+        }
+        this.parentSet = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(parents)));
+
+        // linearize ancestors by breadth-first traversal on parents of ancestors
+        List<TypeHierarchy> ancestorHierarchies = new ArrayList<>();
+        Set<Class<?>> accessed = new LinkedHashSet<>();
+        accessed.add(type);
+        accessed.add(Object.class);
+        collectParents(this, accessed, ancestorHierarchies, hierarchyOfType);
+        for (int i = 0; i < ancestorHierarchies.size(); i++) {
+            collectParents(ancestorHierarchies.get(i), accessed, ancestorHierarchies, hierarchyOfType);
+        }
+        this.ancestors = ancestorHierarchies.stream()
+            .map(TypeHierarchy::getType)
+            .toArray(Class<?>[]::new);
+        this.ancestorList = Collections.unmodifiableList(Arrays.asList(ancestors));
+
+        // build id set of ancestors, keep load factor no more than 0.5
+        this.ancestorIds = new int[Integer.highestOneBit(Math.max(ancestors.length, 1)) << 2];
+        int mask = ancestorIds.length - 1;
+        for (TypeHierarchy ancestor : ancestorHierarchies) {
+            int slot = spread(ancestor.id) & mask;
+            while (ancestorIds[slot] != EMPTY_ID) {
+                slot = (slot + 1) & mask;
+            }
+            ancestorIds[slot] = ancestor.id;
+        }
+    }
+
+    private static void collectParents(
+        TypeHierarchy hierarchy, Set<Class<?>> accessed, List<TypeHierarchy> ancestors,
+        Function<Class<?>, TypeHierarchy> hierarchyOfType) {
+        for (Class<?> parent : hierarchy.parents) {
+            if (accessed.add(parent)) {
+                ancestors.add(hierarchyOfType.apply(parent));
+            }
+        }
+    }
+
+    private static int spread(int id) {
+        int hash = id * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Get declared superclass and interfaces, the superclass is always the first one if exists.
+     *
+     * @return unmodifiable set of direct parents
+     */
+    public Set<Class<?>> getParents() {
+        return parentSet;
+    }
+
+    /**
+     * Get linearized ancestors in breadth-first order, without the type itself and {@link Object}.
+     *
+     * @return unmodifiable list of ancestors
+     */
+    public List<Class<?>> getAncestors() {
+        return ancestorList;
+    }
+
+    /**
+     * Get the number of ancestors.
+     *
+     * @return number of ancestors
+     */
+    public int getAncestorCount() {
+        return ancestors.length;
+    }
+
+    /**
+     * Get ancestor at the specified index of linearized ancestors.
+     *
+     * @param index index
+     * @return ancestor
+     */
+    public Class<?> getAncestor(int index) {
+        return ancestors[index];
+    }
+
+    /**
+     * Whether the specified type is an ancestor of current type.<br />
+     * {@link Object} is an ancestor of any type except primitive types and itself.
+     *
+     * @param ancestor ancestor type
+     * @return whether is ancestor
+     */
+    public boolean isAncestor(@Nullable Class<?> ancestor) {
+        if (Objects.isNull(ancestor) || ancestor == type) {
+            return false;
+        }
+        if (ancestor == Object.class) {
+            return !type.isPrimitive();
+        }
+        return containsAncestorId(TYPE_IDS.get(ancestor));
+    }
+
+    /**
+     * Whether current type is the same as or an ancestor of the specified type.
+     *
+     * @param hierarchy hierarchy of descendant type
+     * @return whether is assignable
+     */
+    public boolean isAssignableFrom(@NonNull TypeHierarchy hierarchy) {
+        return hierarchy == this || (type == Object.class && !hierarchy.type.isPrimitive())
+            || hierarchy.containsAncestorId(id);
+    }
+
+    private boolean containsAncestorId(int ancestorId) {
+        int mask = ancestorIds.length - 1;
+        int slot = spread(ancestorId) & mask;
+        int curr;
+        while ((curr = ancestorIds[slot]) != EMPTY_ID) {
+            if (curr == ancestorId) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "TypeHierarchy(" + type.getName() + ")";
+    }
+}
@@ -0,0 +1,329 @@
+package io.github.createsequence.core.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <p>A thread-safe cache whose keys are held by {@link WeakReference}.<br />
+ * Keys are compared by {@link Object#equals}, and an entry is removed
+ * once its key has been garbage collected.
+ *
+ * <p>If the cached value holds a strong reference to its key (directly or through its class loader),
+ * the key can never become weakly reachable, so values can be held by {@link SoftReference} instead,
+ * the entry will then be released when the value is reclaimed under memory pressure.
+ *
+ * <p>When {@code maximumSize} is greater than 0, the eldest entries in insertion order will be evicted
+ * once the size of the cache exceeds it, the entry just inserted is never evicted by its own insertion.
+ *
+ * <p>The cache records hits, misses and evictions, see {@link #getStatistics()}.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author huangchengxing
+ */
+public class WeakConcurrentCache<K, V> {
+
+    /**
+     * no limit on the size of cache
+     */
+    public static final int UNBOUNDED = -1;
+
+    private final ConcurrentMap<KeyReference<K>, ValueHolder<V>> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<K> keyQueue = new ReferenceQueue<>();
+    private final ReferenceQueue<V> valueQueue = new ReferenceQueue<>();
+
+    /**
+     * entries in insertion order, only used when the size of cache is limited,
+     * it may contain stale nodes of entries which have been removed
+     */
+    private final Queue<InsertionNode<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger insertionOrderSize = new AtomicInteger();
+    private final int maximumSize;
+    private final boolean softValues;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Create an unbounded cache which holds values by strong references.
+     */
+    public WeakConcurrentCache() {
+        this(UNBOUNDED, false);
+    }
+
+    /**
+     * Create a cache.
+     *
+     * @param maximumSize maximum size of cache, {@link #UNBOUNDED} or any value less than 1 means no limit
+     * @param softValues whether to hold values by {@link SoftReference}
+     */
+    public WeakConcurrentCache(int maximumSize, boolean softValues) {
+        this.maximumSize = maximumSize;
+        this.softValues = softValues;
+    }
+
+    /**
+     * Get cached value.
+     *
+     * @param key key
+     * @return cached value, or null if absent
+     */
+    @Nullable
+    public V get(@NonNull K key) {
+        Objects.requireNonNull(key, "key must not null");
+        ValueHolder<V> holder = entries.get(new LookupKey<>(key));
+        V value = Objects.isNull(holder) ? null : holder.get();
+        if (Objects.isNull(value)) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return value;
+    }
+
+    /**
+     * <p>Get cached value, if absent, compute and cache it.<br />
+     * The mapping function is invoked outside any lock,
+     * so it may be invoked more than once for the same key under contention,
+     * but only one result will be cached and returned to all callers.
+     *
+     * @param key key
+     * @param mappingFunction mapping function, it must not return null
+     * @return cached value
+     */
+    public V computeIfAbsent(@NonNull K key, @NonNull Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(key, "key must not null");
+        ValueHolder<V> holder = entries.get(new LookupKey<>(key));
+        V value = Objects.isNull(holder) ? null : holder.get();
+        if (Objects.nonNull(value)) {
+            hitCount.increment();
+            return value;
+        }
+        missCount.increment();
+        expungeStaleEntries();
+
+        V newValue = mappingFunction.apply(key);
+        Objects.requireNonNull(newValue, "value must not null");
+        KeyReference<K> keyReference = new KeyReference<>(key, keyQueue);
+        ValueHolder<V> newHolder = softValues ?
+            new SoftValue<>(newValue, keyReference, valueQueue) : new StrongValue<>(newValue);
+        while (true) {
+            ValueHolder<V> existing = entries.putIfAbsent(keyReference, newHolder);
+            if (Objects.isNull(existing)) {
+                evictIfNecessary(recordInsertion(keyReference, newHolder));
+                return newValue;
+            }
+            // another thread has cached an available value
+            V existingValue = existing.get();
+            if (Objects.nonNull(existingValue)) {
+                return existingValue;
+            }
+            // the soft value of existing entry has been reclaimed, replace it
+            if (entries.replace(keyReference, existing, newHolder)) {
+                recordInsertion(keyReference, newHolder);
+                return newValue;
+            }
+        }
+    }
+
+    /**
+     * Remove cached value.
+     *
+     * @param key key
+     * @return removed value, or null if absent
+     */
+    @Nullable
+    public V remove(@NonNull K key) {
+        Objects.requireNonNull(key, "key must not null");
+        ValueHolder<V> holder = entries.remove(new LookupKey<>(key));
+        return Objects.isNull(holder) ? null : holder.get();
+    }
+
+    /**
+     * Remove all cached values.
+     */
+    public void clear() {
+        entries.clear();
+        insertionOrder.clear();
+        insertionOrderSize.set(0);
+        expungeStaleEntries();
+    }
+
+    /**
+     * Get the number of cached entries, stale entries may be included.
+     *
+     * @return size
+     */
+    public int size() {
+        expungeStaleEntries();
+        return entries.size();
+    }
+
+    /**
+     * Get snapshot of statistics.
+     *
+     * @return statistics
+     */
+    public Statistics getStatistics() {
+        return new Statistics(hitCount.sum(), missCount.sum(), evictionCount.sum(), size());
+    }
+
+    @Nullable
+    private InsertionNode<K, V> recordInsertion(KeyReference<K> keyReference, ValueHolder<V> holder) {
+        if (maximumSize < 1) {
+            return null;
+        }
+        InsertionNode<K, V> node = new InsertionNode<>(keyReference, holder);
+        insertionOrder.offer(node);
+        insertionOrderSize.incrementAndGet();
+        return node;
+    }
+
+    /**
+     * Evict the eldest entries until the size of cache does not exceed {@code maximumSize}.
+     *
+     * @param inserted node of the entry just inserted, which will not be evicted
+     */
+    private void evictIfNecessary(@Nullable InsertionNode<K, V> inserted) {
+        if (Objects.isNull(inserted)) {
+            return;
+        }
+        while (entries.size() > maximumSize) {
+            InsertionNode<K, V> eldest = insertionOrder.poll();
+            if (Objects.isNull(eldest)) {
+                break;
+            }
+            // the remaining entries are inserted concurrently and not recorded yet
+            if (eldest == inserted) {
+                insertionOrder.offer(eldest);
+                break;
+            }
+            insertionOrderSize.decrementAndGet();
+            if (entries.remove(eldest.keyReference, eldest.holder)) {
+                evictionCount.increment();
+            }
+        }
+        // drop nodes of entries which have been removed or reclaimed, to keep the queue bounded
+        if (insertionOrderSize.get() > maximumSize * 2) {
+            insertionOrder.removeIf(node -> {
+                boolean stale = entries.get(node.keyReference) != node.holder;
+                if (stale) {
+                    insertionOrderSize.decrementAndGet();
+                }
+                return stale;
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expungeStaleEntries() {
+        Reference<? extends K> key;
+        while (Objects.nonNull(key = keyQueue.poll())) {
+            if (Objects.nonNull(entries.remove((KeyReference<K>) key))) {
+                evictionCount.increment();
+            }
+        }
+        Reference<? extends V> value;
+        while (Objects.nonNull(value = valueQueue.poll())) {
+            SoftValue<K, V> softValue = (SoftValue<K, V>) value;
+            if (entries.remove(softValue.keyReference, softValue)) {
+                evictionCount.increment();
+            }
+        }
+    }
+
+    /**
+     * Statistics of cache.
+     *
+     * @param hitCount number of times lookup returned a cached value
+     * @param missCount number of times lookup returned a missing value
+     * @param evictionCount number of entries evicted by size limit or reclaimed by garbage collector
+     * @param size number of cached entries
+     */
+    public record Statistics(long hitCount, long missCount, long evictionCount, int size) {}
+
+    /**
+     * Key of entries which only used for lookup, it holds strong reference to key.
+     */
+    private static class LookupKey<K> extends KeyReference<K> {
+        private final K key;
+        LookupKey(K key) {
+            super(key, null);
+            this.key = key;
+        }
+        @Override
+        public K get() {
+            return key;
+        }
+    }
+
+    /**
+     * Key of entries.
+     */
+    private static class KeyReference<K> extends WeakReference<K> {
+
+        private final int hash;
+
+        KeyReference(K key, ReferenceQueue<? super K> queue) {
+            super(key, queue);
+            this.hash = key.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof KeyReference<?> other) || hash != other.hash) {
+                return false;
+            }
+            Object key = get();
+            return Objects.nonNull(key) && key.equals(other.get());
+        }
+    }
+
+    /**
+     * Node of entry in insertion order, compared by identity.
+     */
+    private static final class InsertionNode<K, V> {
+        private final KeyReference<K> keyReference;
+        private final ValueHolder<V> holder;
+        InsertionNode(KeyReference<K> keyReference, ValueHolder<V> holder) {
+            this.keyReference = keyReference;
+            this.holder = holder;
+        }
+    }
+
+    private interface ValueHolder<V> {
+        V get();
+    }
+
+    private record StrongValue<V>(V get) implements ValueHolder<V> {}
+
+    private static class SoftValue<K, V> extends SoftReference<V> implements ValueHolder<V> {
+        private final KeyReference<K> keyReference;
+        SoftValue(V value, KeyReference<K> keyReference, ReferenceQueue<? super V> queue) {
+            super(value, queue);
+            this.keyReference = keyReference;
+        }
+    }
+}
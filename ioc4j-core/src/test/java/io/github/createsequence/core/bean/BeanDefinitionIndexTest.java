@@ -0,0 +1,101 @@
+package io.github.createsequence.core.bean;
+
+import io.github.createsequence.core.bean.metadata.ClassMetadataFactory;
+import io.github.createsequence.core.bean.metadata.GeneralClassMetadataFactory;
+import io.github.createsequence.core.bean.scope.Scope;
+import io.github.createsequence.core.exception.Ioc4jException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * test for {@link BeanDefinitionIndex}
+ *
+ * @author huangchengxing
+ */
+public class BeanDefinitionIndexTest {
+
+    private final ClassMetadataFactory metadataFactory = new GeneralClassMetadataFactory();
+
+    @Test
+    public void testRegister() {
+        BeanDefinitionIndex index = new BeanDefinitionIndex();
+        BeanDefinition foo = definition("foo", Foo.class);
+        BeanDefinition bar = definition("bar", Bar.class);
+        index.register(foo);
+        index.register(bar);
+        Assert.assertSame(foo, index.get("foo"));
+        Assert.assertNull(index.get("baz"));
+        Assert.assertEquals(List.of(foo, bar), index.getAll());
+        Assert.assertEquals(List.of(foo), index.getByExactType(Foo.class));
+        Assert.assertEquals(List.of(foo, bar), index.getByType(Foo.class));
+        Assert.assertEquals(List.of(foo, bar), index.getByType(Marker.class));
+        Assert.assertEquals(List.of(bar), index.getByType(Bar.class));
+        Assert.assertTrue(index.getByType(String.class).isEmpty());
+        Assert.assertThrows(Ioc4jException.class, () -> index.register(definition("foo", Bar.class)));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> index.getAll().add(foo));
+    }
+
+    @Test
+    public void testLargeIndex() {
+        BeanDefinitionIndex index = new BeanDefinitionIndex();
+        int count = 20000;
+        for (int i = 0; i < count; i++) {
+            index.register(definition("foo" + i, (i & 1) == 0 ? Foo.class : Bar.class));
+        }
+        Assert.assertEquals(count, index.getAll().size());
+        Assert.assertEquals(count, index.getByType(Marker.class).size());
+        Assert.assertEquals(count / 2, index.getByType(Bar.class).size());
+        Assert.assertEquals(count / 2, index.getByExactType(Foo.class).size());
+        Assert.assertEquals("foo19999", index.getByType(Bar.class).get(count / 2 - 1).getName());
+    }
+
+    @Test
+    public void testConcurrentRegisterAndGet() throws Exception {
+        BeanDefinitionIndex index = new BeanDefinitionIndex();
+        int count = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch latch = new CountDownLatch(1);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                latch.await();
+                for (int i = 0; i < count; i++) {
+                    index.register(definition("foo" + i, Foo.class));
+                }
+                return null;
+            });
+            Future<?> reader = executor.submit(() -> {
+                latch.await();
+                // 读线程看到的总是完整的前缀
+                for (int i = 0; i < count; i++) {
+                    List<BeanDefinition> definitions = index.getByType(Foo.class);
+                    for (int j = 0; j < definitions.size(); j++) {
+                        Assert.assertEquals("foo" + j, definitions.get(j).getName());
+                    }
+                }
+                return null;
+            });
+            latch.countDown();
+            writer.get();
+            reader.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(count, index.getByExactType(Foo.class).size());
+    }
+
+    private BeanDefinition definition(String name, Class<?> type) {
+        return new GeneralBeanDefinition(name, Scope.SINGLETON, metadataFactory.resolve(type));
+    }
+
+    private interface Marker { }
+
+    private static class Foo implements Marker { }
+
+    private static class Bar extends Foo { }
+}
@@ -0,0 +1,90 @@
+package io.github.createsequence.core.bean;
+
+import io.github.createsequence.core.exception.Ioc4jException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * test for {@link BeanDependencyGraph}
+ *
+ * @author huangchengxing
+ */
+public class BeanDependencyGraphTest {
+
+    @Test
+    public void testResolveLayers() {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        factory.registerBeanDefinition("d", D.class);
+        factory.registerBeanDefinition("c", C.class);
+        factory.registerBeanDefinition("b", B.class);
+        factory.registerBeanDefinition("a", A.class);
+        factory.registerBeanDefinition("e", E.class);
+        BeanDependencyGraph graph = BeanDependencyGraph.build(factory);
+        Assert.assertEquals(Set.of("b", "c"), Set.copyOf(graph.getDependencies("d")));
+        Assert.assertEquals(List.of("a"), List.copyOf(graph.getDependencies("b")));
+        Assert.assertTrue(graph.getDependencies("a").isEmpty());
+
+        List<List<String>> layers = graph.resolveLayers().stream()
+            .map(layer -> layer.stream().map(BeanDefinition::getName).toList())
+            .toList();
+        // 同一层中的Bean按注册顺序排列
+        Assert.assertEquals(List.of(List.of("a", "e"), List.of("c", "b"), List.of("d")), layers);
+    }
+
+    @Test
+    public void testCircularDependency() {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        factory.registerBeanDefinition("a", A.class);
+        factory.registerBeanDefinition("x", X.class);
+        factory.registerBeanDefinition("y", Y.class);
+        factory.registerBeanDefinition("z", Z.class);
+        Ioc4jException ex = Assert.assertThrows(
+            Ioc4jException.class, () -> BeanDependencyGraph.build(factory).resolveLayers()
+        );
+        Assert.assertEquals("Circular dependency found: x -> y -> z -> x", ex.getMessage());
+    }
+
+    public static class A { }
+
+    public static class E { }
+
+    public static class B {
+        @Inject
+        private A a;
+    }
+
+    public static class C {
+        @Inject
+        public C(A a, E e) { }
+    }
+
+    public static class D {
+        @Inject
+        @Named("b")
+        private Object b;
+        @Inject
+        public void setC(C c) { }
+    }
+
+    public static class X {
+        @Inject
+        private Y y;
+        @Inject
+        private A a;
+    }
+
+    public static class Y {
+        @Inject
+        private Z z;
+    }
+
+    public static class Z {
+        @Inject
+        private X x;
+    }
+}
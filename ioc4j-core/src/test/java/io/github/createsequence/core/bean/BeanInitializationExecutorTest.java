@@ -0,0 +1,106 @@
+package io.github.createsequence.core.bean;
+
+import io.github.createsequence.core.exception.Ioc4jException;
+import jakarta.annotation.PostConstruct;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * test for {@link BeanInitializationExecutor}
+ *
+ * @author huangchengxing
+ */
+public class BeanInitializationExecutorTest {
+
+    @Test
+    public void testCreate() {
+        try (BeanInitializationExecutor executor = BeanInitializationExecutor.create(2)) {
+            // 不支持虚拟线程时回退为平台线程池
+            Assert.assertEquals(BeanInitializationExecutor.isVirtualThreadSupported(), executor.isVirtual());
+        }
+        try (BeanInitializationExecutor executor = BeanInitializationExecutor.platform(2)) {
+            Assert.assertFalse(executor.isVirtual());
+        }
+        Assert.assertThrows(Ioc4jException.class, () -> BeanInitializationExecutor.create(0));
+        Assert.assertThrows(Ioc4jException.class, () -> BeanInitializationExecutor.platform(-1));
+    }
+
+    @Test
+    public void testMaxConcurrency() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        int tasks = 16;
+        CountDownLatch finished = new CountDownLatch(tasks);
+        try (BeanInitializationExecutor executor = BeanInitializationExecutor.create(3)) {
+            for (int i = 0; i < tasks; i++) {
+                executor.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(10);
+                    running.decrementAndGet();
+                    finished.countDown();
+                });
+            }
+        }
+        // 关闭时等待全部任务执行完毕
+        Assert.assertTrue(finished.await(0, TimeUnit.SECONDS));
+        Assert.assertTrue(maxRunning.get() <= 3);
+    }
+
+    @Test
+    public void testPreInstantiateSingletons() {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        factory.registerBeanDefinition("foo", Foo.class);
+        factory.registerBeanDefinition("bar", Bar.class);
+        factory.registerBeanDefinition("baz", Baz.class);
+        INIT_THREADS.clear();
+        factory.preInstantiateSingletons(4);
+        Assert.assertTrue(factory.getBeanHolder("foo").isInitialized());
+        Assert.assertTrue(factory.getBeanHolder("bar").isInitialized());
+        Assert.assertTrue(factory.getBeanHolder("baz").isInitialized());
+        Assert.assertSame(factory.getBean(Foo.class), factory.getBean(Baz.class).foo);
+        // 同一层中的多个Bean在执行器的线程中创建与初始化
+        Assert.assertEquals(2, INIT_THREADS.size());
+        Assert.assertFalse(INIT_THREADS.contains(Thread.currentThread()));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final Set<Thread> INIT_THREADS = ConcurrentHashMap.newKeySet();
+
+    public static class Foo {
+        @PostConstruct
+        public void init() {
+            // 模拟阻塞的初始化操作
+            INIT_THREADS.add(Thread.currentThread());
+            sleep(50);
+        }
+    }
+
+    public static class Bar {
+        @PostConstruct
+        public void init() {
+            INIT_THREADS.add(Thread.currentThread());
+            sleep(50);
+        }
+    }
+
+    public static class Baz {
+        @Inject
+        private Foo foo;
+        @Inject
+        private Bar bar;
+    }
+}
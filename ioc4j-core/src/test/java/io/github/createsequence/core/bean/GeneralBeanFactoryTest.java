@@ -0,0 +1,360 @@
+package io.github.createsequence.core.bean;
+
+import io.github.createsequence.core.bean.scope.Scope;
+import io.github.createsequence.core.exception.Ioc4jException;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * test for {@link GeneralBeanFactory}
+ *
+ * @author huangchengxing
+ */
+public class GeneralBeanFactoryTest {
+
+    @Test
+    public void testRegisterBeanDefinition() {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        BeanDefinition definition = factory.registerBeanDefinition("foo", Foo.class);
+        Assert.assertEquals("foo", definition.getName());
+        Assert.assertEquals(Foo.class, definition.getType());
+        Assert.assertEquals(Scope.SINGLETON, definition.getScope());
+        Assert.assertSame(definition, factory.getBeanDefinition("foo"));
+        Assert.assertTrue(factory.containsBean("foo"));
+        Assert.assertFalse(factory.containsBean("bar"));
+        Assert.assertEquals(List.of(definition), factory.getBeanDefinitions());
+
+        // 名称不允许重复
+        Assert.assertThrows(Ioc4jException.class, () -> factory.registerBeanDefinition("foo", Bar.class));
+        // 作用域必须存在
+        Assert.assertThrows(Ioc4jException.class, () -> factory.registerBeanDefinition("bar", Bar.class, "request"));
+    }
+
+    @Test
+    public void testGetBeanDefinitionsOfType() {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        BeanDefinition service = factory.registerBeanDefinition("service", Service.class);
+        BeanDefinition subService = factory.registerBeanDefinition("subService", SubService.class);
+        BeanDefinition foo = factory.registerBeanDefinition("foo", Foo.class);
+
+        Assert.assertEquals(List.of(service), factory.getBeanDefinitionsOfExactType(Service.class));
+        Assert.assertEquals(List.of(service, subService), factory.getBeanDefinitionsOfType(Service.class));
+        Assert.assertEquals(List.of(service, subService), factory.getBeanDefinitionsOfType(Named0.class));
+        Assert.assertEquals(List.of(subService), factory.getBeanDefinitionsOfType(SubService.class));
+        Assert.assertEquals(List.of(service, subService, foo), factory.getBeanDefinitionsOfType(Object.class));
+        Assert.assertTrue(factory.getBeanDefinitionsOfType(String.class).isEmpty());
+    }
+
+    @Test
+    public void testGetBean() {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        factory.registerBeanDefinition("foo", Foo.class);
+        factory.registerBeanDefinition("bar", Bar.class, Scope.PROTOTYPE);
+
+        Foo foo = factory.getBean(Foo.class);
+        Assert.assertSame(foo, factory.getBean("foo"));
+        Assert.assertSame(foo, factory.getBean("foo", Foo.class));
+        Assert.assertNotSame(factory.getBean(Bar.class), factory.getBean(Bar.class));
+        Assert.assertEquals(2, factory.getBeansOfType(Object.class).size());
+
+        Assert.assertThrows(Ioc4jException.class, () -> factory.getBean("baz"));
+        Assert.assertThrows(Ioc4jException.class, () -> factory.getBean(String.class));
+        Assert.assertThrows(Ioc4jException.class, () -> factory.getBean("foo", Bar.class));
+    }
+
+    @Test
+    public void testGetBeanByType() {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        factory.registerBeanDefinition("service", Service.class);
+        factory.registerBeanDefinition("subService", SubService.class);
+        // 存在多个候选时，优先返回类型完全一致的Bean
+        Assert.assertSame(factory.getBean("service"), factory.getBean(Service.class));
+        Assert.assertSame(factory.getBean("subService"), factory.getBean(SubService.class));
+        Assert.assertThrows(Ioc4jException.class, () -> factory.getBean(Named0.class));
+    }
+
+    @Test
+    public void testInjection() {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        factory.registerBeanDefinition("foo", Foo.class);
+        factory.registerBeanDefinition("bar", Bar.class, Scope.PROTOTYPE);
+        factory.registerBeanDefinition("service", Service.class);
+        factory.registerBeanDefinition("subService", SubService.class);
+        factory.registerBeanDefinition("consumer", Consumer.class);
+
+        Consumer consumer = factory.getBean(Consumer.class);
+        Assert.assertSame(factory.getBean(Foo.class), consumer.getFoo());
+        Assert.assertNotNull(consumer.getBar());
+        Assert.assertSame(factory.getBean("subService"), consumer.getService());
+        Assert.assertSame(factory.getBean("service"), consumer.getParentService());
+        // 父类优先，注入完成后再调用初始化方法
+        Assert.assertEquals(List.of("parentInit", "init"), consumer.getInitCalls());
+    }
+
+    @Test
+    public void testCircularDependency() {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        factory.registerBeanDefinition("a", CircularA.class);
+        factory.registerBeanDefinition("b", CircularB.class);
+        Ioc4jException ex = Assert.assertThrows(Ioc4jException.class, () -> factory.getBean("a"));
+        Assert.assertEquals("Circular dependency found: a -> b -> a", ex.getMessage());
+        // 创建失败后不会残留创建中的状态
+        factory.registerBeanDefinition("foo", Foo.class);
+        Assert.assertNotNull(factory.getBean("foo"));
+    }
+
+    @Test
+    public void testPreInstantiateSingletons() {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        factory.registerBeanDefinition("consumer", Consumer.class);
+        factory.registerBeanDefinition("foo", Foo.class);
+        factory.registerBeanDefinition("bar", Bar.class, Scope.PROTOTYPE);
+        factory.registerBeanDefinition("service", Service.class);
+        factory.registerBeanDefinition("subService", SubService.class);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            factory.preInstantiateSingletons(executor);
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertTrue(factory.getBeanHolder("consumer").isInitialized());
+        Assert.assertTrue(factory.getBeanHolder("foo").isInitialized());
+        Assert.assertTrue(factory.getBeanHolder("service").isInitialized());
+        Assert.assertTrue(factory.getBeanHolder("subService").isInitialized());
+        Consumer consumer = factory.getBean(Consumer.class);
+        Assert.assertSame(factory.getBean(Foo.class), consumer.getFoo());
+        Assert.assertSame(factory.getBean("service"), consumer.getParentService());
+    }
+
+    @Test
+    public void testPreInstantiateSingletonsWithCircularDependency() {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        factory.registerBeanDefinition("foo", Foo.class);
+        factory.registerBeanDefinition("a", CircularA.class);
+        factory.registerBeanDefinition("b", CircularB.class);
+        Ioc4jException ex = Assert.assertThrows(Ioc4jException.class, factory::preInstantiateSingletons);
+        Assert.assertEquals("Circular dependency found: a -> b -> a", ex.getMessage());
+        // 存在循环依赖时不会创建任何Bean
+        Assert.assertFalse(factory.getBeanHolder("foo").isInitialized());
+    }
+
+    @Test
+    public void testProviderInjection() {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        factory.registerBeanDefinition("foo", Foo.class);
+        factory.registerBeanDefinition("bar", Bar.class, Scope.PROTOTYPE);
+        factory.registerBeanDefinition("service", Service.class);
+        factory.registerBeanDefinition("subService", SubService.class);
+        factory.registerBeanDefinition("providerConsumer", ProviderConsumer.class);
+
+        ProviderConsumer consumer = factory.getBean(ProviderConsumer.class);
+        // 调用Provider#get()前不会创建依赖
+        Assert.assertFalse(factory.getBeanHolder("foo").isInitialized());
+        Assert.assertFalse(factory.getBeanHolder("service").isInitialized());
+        Assert.assertSame(factory.getBean(Foo.class), consumer.getFoo().get());
+        Assert.assertSame(factory.getBean("service"), consumer.getService().get());
+        // 每次调用Provider#get()都从容器中获取依赖
+        Assert.assertNotSame(consumer.getBar().get(), consumer.getBar().get());
+        // 被@LazyInject注解的Provider仅在首次调用时获取依赖
+        Assert.assertSame(consumer.getLazyBar().get(), consumer.getLazyBar().get());
+    }
+
+    @Test
+    public void testLazyInjection() {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        factory.registerBeanDefinition("greeter", GreeterImpl.class);
+        factory.registerBeanDefinition("lazyConsumer", LazyConsumer.class);
+
+        LazyConsumer consumer = factory.getBean(LazyConsumer.class);
+        Greeter greeter = consumer.getGreeter();
+        Assert.assertNotNull(greeter);
+        // Object中的方法由代理对象自身实现，不会获取依赖
+        Assert.assertEquals(greeter, greeter);
+        Assert.assertNotEquals(greeter, new GreeterImpl());
+        Assert.assertEquals(System.identityHashCode(greeter), greeter.hashCode());
+        Assert.assertEquals("LazyProxy(" + Greeter.class.getName() + ")", greeter.toString());
+        Assert.assertFalse(factory.getBeanHolder("greeter").isInitialized());
+        // 首次调用方法时才获取依赖
+        Assert.assertEquals("hello, ioc4j", consumer.getGreeter().greet("ioc4j"));
+        Assert.assertTrue(factory.getBeanHolder("greeter").isInitialized());
+        Assert.assertEquals("LazyProxy(" + Greeter.class.getName() + ", initialized)", greeter.toString());
+        // 方法抛出的异常将原样抛出
+        Assert.assertThrows(IllegalArgumentException.class, () -> consumer.getGreeter().greet(null));
+
+        // 非接口类型无法被代理
+        factory.registerBeanDefinition("foo", Foo.class);
+        factory.registerBeanDefinition("illegalLazyConsumer", IllegalLazyConsumer.class);
+        Assert.assertThrows(Ioc4jException.class, () -> factory.getBean("illegalLazyConsumer"));
+    }
+
+    @Test
+    public void testDeferredInjectionBreaksCircularDependency() {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        factory.registerBeanDefinition("a", LazyCircularA.class);
+        factory.registerBeanDefinition("b", LazyCircularB.class);
+        factory.registerBeanDefinition("c", ProviderCircularC.class);
+        // 延迟获取的依赖不参与依赖关系的构建，因此不存在循环依赖
+        factory.preInstantiateSingletons();
+        LazyCircularA a = factory.getBean(LazyCircularA.class);
+        LazyCircularB b = factory.getBean(LazyCircularB.class);
+        ProviderCircularC c = factory.getBean(ProviderCircularC.class);
+        Assert.assertEquals("b", a.getB().greet("b"));
+        Assert.assertSame(c, b.getC());
+        Assert.assertSame(a, c.getA().get());
+    }
+
+    @Test
+    public void testGetBeanHolder() {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        factory.registerBeanDefinition("foo", Foo.class);
+        BeanHolder holder = factory.getBeanHolder("foo");
+        Assert.assertEquals("foo", holder.getName());
+        Assert.assertEquals(Foo.class, holder.getType());
+        Assert.assertEquals(Scope.SINGLETON, holder.getScope());
+        Assert.assertEquals(Foo.class, holder.getClassMetadata().getSource());
+        Assert.assertFalse(holder.isInitialized());
+        Assert.assertNull(holder.getBean());
+
+        Object foo = factory.getBean("foo");
+        Assert.assertTrue(holder.isInitialized());
+        Assert.assertSame(foo, holder.getBean());
+    }
+
+    private interface Named0 { }
+
+    public static class Foo { }
+
+    public static class Bar { }
+
+    public static class Service implements Named0 { }
+
+    public static class SubService extends Service { }
+
+    @Getter
+    public static class ParentConsumer {
+        @Inject
+        @Named("service")
+        private Service parentService;
+        protected final List<String> initCalls = new ArrayList<>();
+
+        @PostConstruct
+        private void parentInit() {
+            Assert.assertNotNull(parentService);
+            initCalls.add("parentInit");
+        }
+    }
+
+    @Getter
+    public static class Consumer extends ParentConsumer {
+        private final Foo foo;
+        @Inject
+        private Bar bar;
+        private SubService service;
+
+        public Consumer(Foo foo) {
+            this.foo = foo;
+        }
+
+        @Inject
+        public void setService(SubService service) {
+            this.service = service;
+        }
+
+        @PostConstruct
+        public void init() {
+            Assert.assertNotNull(service);
+            initCalls.add("init");
+        }
+    }
+
+    public static class CircularA {
+        @Inject
+        private CircularB b;
+    }
+
+    public static class CircularB {
+        @Inject
+        public CircularB(CircularA a) { }
+    }
+
+    public interface Greeter {
+        String greet(String name);
+    }
+
+    public static class GreeterImpl implements Greeter {
+        @Override
+        public String greet(String name) {
+            if (Objects.isNull(name)) {
+                throw new IllegalArgumentException("name must not null");
+            }
+            return "hello, " + name;
+        }
+    }
+
+    @Getter
+    public static class ProviderConsumer {
+        @Inject
+        private Provider<Foo> foo;
+        @Inject
+        private Provider<Bar> bar;
+        @LazyInject
+        @Inject
+        private Provider<Bar> lazyBar;
+        @Inject
+        @Named("service")
+        private Provider<Service> service;
+    }
+
+    @Getter
+    public static class LazyConsumer {
+        private final Greeter greeter;
+
+        @Inject
+        public LazyConsumer(@LazyInject Greeter greeter) {
+            this.greeter = greeter;
+        }
+    }
+
+    public static class IllegalLazyConsumer {
+        @LazyInject
+        @Inject
+        private Foo foo;
+    }
+
+    @Getter
+    public static class LazyCircularA {
+        @LazyInject
+        @Inject
+        private Greeter b;
+    }
+
+    @Getter
+    public static class LazyCircularB implements Greeter {
+        @Inject
+        private LazyCircularA a;
+        @Inject
+        private ProviderCircularC c;
+
+        @Override
+        public String greet(String name) {
+            return name;
+        }
+    }
+
+    @Getter
+    public static class ProviderCircularC {
+        @Inject
+        private Provider<LazyCircularA> a;
+    }
+}
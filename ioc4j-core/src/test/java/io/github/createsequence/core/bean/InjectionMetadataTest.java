@@ -0,0 +1,44 @@
+package io.github.createsequence.core.bean;
+
+import io.github.createsequence.core.bean.fixture.OtherPackageChild;
+import io.github.createsequence.core.bean.fixture.OtherPackageParent;
+import io.github.createsequence.core.bean.metadata.GeneralClassMetadataFactory;
+import io.github.createsequence.core.bean.metadata.MethodMetadata;
+import jakarta.annotation.PostConstruct;
+import lombok.SneakyThrows;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * test for {@link InjectionMetadata}
+ *
+ * @author huangchengxing
+ */
+public class InjectionMetadataTest {
+
+    @SneakyThrows
+    @Test
+    public void testOverriddenMethodsAcrossPackages() {
+        InjectionMetadata metadata = InjectionMetadata.resolve(new GeneralClassMetadataFactory().resolve(Bean.class));
+        List<?> initMethods = metadata.getInitMethods().stream()
+            .map(MethodMetadata::getSource)
+            .toList();
+        // 其他包中的包私有方法未被重写，仍然需要调用，且父类方法先于子类方法
+        // 父类中的transitive方法被同一包中的子类方法重写，而后者又被当前类重写，因此不会被调用
+        Assert.assertEquals(
+            List.of(OtherPackageParent.class.getDeclaredMethod("init"), Bean.class.getDeclaredMethod("init")),
+            initMethods
+        );
+    }
+
+    private static class Bean extends OtherPackageChild {
+
+        @PostConstruct
+        void init() { }
+
+        @Override
+        public void transitive() { }
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.createsequence.core.bean;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+/**
+ * <p>Startup benchmark for {@link GeneralBeanFactory#preInstantiateSingletons},
+ * compares sequential and parallel pre-instantiation on synthetic dependency graphs:
+ * <ul>
+ *     <li>wide: beans without any dependency;</li>
+ *     <li>deep: a single chain, each bean depends on the previous one;</li>
+ *     <li>layered: 30 layers, each bean depends on two beans of the previous layer;</li>
+ * </ul>
+ * Bean classes are generated and compiled at runtime,
+ * each bean blocks for a while in its {@code @PostConstruct} method to simulate initialization I/O.
+ *
+ * <p>It is not a unit test, run it with {@code main} method manually,
+ * the number of beans can be specified by the first argument, default is 3000.
+ *
+ * @author huangchengxing
+ */
+public class SingletonPreInstantiationBenchmark {
+
+    private static final String PACKAGE = "benchmark";
+    private static final long INIT_NANOS = 200_000L;
+    private static final int LAYERS = 30;
+    private static final int THREADS = 16;
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        int width = Math.max(1, count / LAYERS);
+        run("wide", count, i -> new int[0]);
+        run("deep", count, i -> i == 0 ? new int[0] : new int[]{ i - 1 });
+        run("layered", count, i -> {
+            int layer = i / width;
+            if (layer == 0) {
+                return new int[0];
+            }
+            int previous = (layer - 1) * width;
+            return new int[]{ previous + i % width, previous + (i + 1) % width };
+        });
+    }
+
+    private static void run(String shape, int count, IntFunction<int[]> dependencies) throws Exception {
+        List<Class<?>> types = compile(shape, count, dependencies);
+        // warm up class loading, metadata resolving and the JIT compiler with a smaller graph
+        preInstantiate(types.subList(0, Math.min(count, 200)), null);
+        long sequential = preInstantiate(types, null);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long parallel = preInstantiate(types, executor);
+            System.out.printf(
+                "%-8s %5d beans: sequential %8.1f ms, parallel(%d threads) %8.1f ms%n",
+                shape, count, sequential / 1e6, THREADS, parallel / 1e6
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long preInstantiate(List<Class<?>> types, ExecutorService executor) {
+        GeneralBeanFactory factory = new GeneralBeanFactory();
+        for (Class<?> type : types) {
+            factory.registerBeanDefinition(type.getSimpleName(), type);
+        }
+        long start = System.nanoTime();
+        if (executor == null) {
+            factory.preInstantiateSingletons();
+        } else {
+            factory.preInstantiateSingletons(executor);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static List<Class<?>> compile(String shape, int count, IntFunction<int[]> dependencies) throws Exception {
+        Path directory = Files.createTempDirectory("ioc4j-benchmark-" + shape);
+        Path sourceDirectory = Files.createDirectories(directory.resolve(PACKAGE));
+        List<String> arguments = new ArrayList<>(List.of(
+            "-nowarn", "-cp", System.getProperty("java.class.path"), "-d", directory.toString()
+        ));
+        for (int i = 0; i < count; i++) {
+            StringBuilder source = new StringBuilder()
+                .append("package ").append(PACKAGE).append(";\n")
+                .append("public class ").append(className(shape, i)).append(" {\n");
+            for (int dependency : dependencies.apply(i)) {
+                source.append("    @javax.inject.Inject private ")
+                    .append(className(shape, dependency)).append(" dependency").append(dependency).append(";\n");
+            }
+            source.append("    @jakarta.annotation.PostConstruct public void init() {\n")
+                .append("        java.util.concurrent.locks.LockSupport.parkNanos(").append(INIT_NANOS).append("L);\n")
+                .append("    }\n}\n");
+            Path file = sourceDirectory.resolve(className(shape, i) + ".java");
+            Files.writeString(file, source, StandardCharsets.UTF_8);
+            arguments.add(file.toString());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int result = compiler.run(null, null, null, arguments.toArray(new String[0]));
+        if (result != 0) {
+            throw new IllegalStateException("failed to compile benchmark beans");
+        }
+        URLClassLoader classLoader = new URLClassLoader(
+            new URL[]{ directory.toUri().toURL() }, SingletonPreInstantiationBenchmark.class.getClassLoader()
+        );
+        List<Class<?>> types = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            types.add(classLoader.loadClass(PACKAGE + "." + className(shape, i)));
+        }
+        directory.toFile().deleteOnExit();
+        return types;
+    }
+
+    private static String className(String shape, int index) {
+        return Character.toUpperCase(shape.charAt(0)) + shape.substring(1) + "Bean" + index;
+    }
+}
@@ -1,7 +1,225 @@
 package io.github.createsequence.core.bean;
 
+import io.github.createsequence.core.exception.Ioc4jException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
+ * test for {@link SingletonRegister}
+ *
  * @author huangchengxing
  */
 public class SingletonRegisterTest {
+
+    @Test
+    public void testDefaultGetSingleton() {
+        Map<String, Object> singletons = new HashMap<>();
+        SingletonRegister register = new SingletonRegister() {
+            @Override
+            public void registerSingleton(String name, Object bean) {
+                singletons.put(name, bean);
+            }
+            @Override
+            public Object getSingleton(String name) {
+                return singletons.get(name);
+            }
+        };
+        Object foo = register.getSingleton("foo", Object::new);
+        Assert.assertSame(foo, singletons.get("foo"));
+        Assert.assertSame(foo, register.getSingleton("foo", Object::new));
+    }
+
+    @Test
+    public void testRegisterSingleton() {
+        GeneralSingletonRegister register = new GeneralSingletonRegister();
+        Object foo = new Object();
+        Assert.assertNull(register.getSingleton("foo"));
+        register.registerSingleton("foo", foo);
+        Assert.assertSame(foo, register.getSingleton("foo"));
+        // 重复注册同一实例是允许的
+        register.registerSingleton("foo", foo);
+        Assert.assertThrows(Ioc4jException.class, () -> register.registerSingleton("foo", new Object()));
+        Assert.assertSame(foo, register.getSingleton("foo", Object::new));
+    }
+
+    @Test
+    public void testCreateOnceConcurrently() throws Exception {
+        GeneralSingletonRegister register = new GeneralSingletonRegister();
+        AtomicInteger count = new AtomicInteger();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Thread> arrived = ConcurrentHashMap.newKeySet();
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    arrived.add(Thread.currentThread());
+                    return register.getSingleton("foo", () -> {
+                        count.incrementAndGet();
+                        // 等待其他线程都开始等待该单例后再完成创建
+                        awaitWaiting(arrived, threads, Thread.currentThread());
+                        return new Object();
+                    });
+                }));
+            }
+            start.countDown();
+            Object foo = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Object> future : futures) {
+                Assert.assertSame(foo, future.get(5, TimeUnit.SECONDS));
+            }
+            Assert.assertEquals(1, count.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUnrelatedSingletonsNotBlocked() throws Exception {
+        GeneralSingletonRegister register = new GeneralSingletonRegister();
+        CountDownLatch creatingFoo = new CountDownLatch(1);
+        CountDownLatch barCreated = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // 创建foo时需要等待bar创建完毕，若两者互相阻塞则会超时
+            Future<Object> foo = executor.submit(() -> register.getSingleton("foo", () -> {
+                creatingFoo.countDown();
+                Assert.assertTrue(await(barCreated));
+                return "foo";
+            }));
+            Assert.assertTrue(creatingFoo.await(5, TimeUnit.SECONDS));
+            Future<Object> bar = executor.submit(() -> register.getSingleton("bar", () -> "bar"));
+            Assert.assertEquals("bar", bar.get(5, TimeUnit.SECONDS));
+            barCreated.countDown();
+            Assert.assertEquals("foo", foo.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCircularWaitBetweenThreads() throws Exception {
+        GeneralSingletonRegister register = new GeneralSingletonRegister();
+        CountDownLatch bothCreating = new CountDownLatch(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // a依赖b，b依赖a，且分别由两个线程同时创建
+            Future<Object> a = executor.submit(() -> register.getSingleton("a", () -> {
+                bothCreating.countDown();
+                await(bothCreating);
+                return register.getSingleton("b", Object::new);
+            }));
+            Future<Object> b = executor.submit(() -> register.getSingleton("b", () -> {
+                bothCreating.countDown();
+                await(bothCreating);
+                return register.getSingleton("a", Object::new);
+            }));
+            Throwable exA = getException(a);
+            Throwable exB = getException(b);
+            Assert.assertTrue(exA instanceof Ioc4jException);
+            Assert.assertTrue(exB instanceof Ioc4jException);
+            String message = exA.getMessage() + exB.getMessage();
+            Assert.assertTrue(message, message.contains("a -> b -> a") || message.contains("b -> a -> b"));
+        } finally {
+            executor.shutdownNow();
+        }
+        // 创建失败后可以重新创建
+        Assert.assertEquals("a", register.getSingleton("a", () -> "a"));
+    }
+
+    @Test
+    public void testCircularDependencyInCurrentThread() {
+        GeneralSingletonRegister register = new GeneralSingletonRegister();
+        Assert.assertThrows(
+            Ioc4jException.class, () -> register.getSingleton("a", () -> register.getSingleton("a", Object::new))
+        );
+        Assert.assertNull(register.getSingleton("a"));
+    }
+
+    @Test
+    public void testExceptionPropagatedToWaitingThreads() throws Exception {
+        GeneralSingletonRegister register = new GeneralSingletonRegister();
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch failing = new CountDownLatch(1);
+        Set<Thread> waiters = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> creator = executor.submit(() -> register.getSingleton("foo", () -> {
+                creating.countDown();
+                await(failing);
+                throw new IllegalStateException("failed");
+            }));
+            Assert.assertTrue(creating.await(5, TimeUnit.SECONDS));
+            Future<Object> waiter = executor.submit(() -> {
+                waiters.add(Thread.currentThread());
+                return register.getSingleton("foo", Object::new);
+            });
+            // 等待线程开始等待后再让创建失败
+            awaitWaiting(waiters, 1, null);
+            failing.countDown();
+            Assert.assertTrue(getException(creator) instanceof IllegalStateException);
+            Throwable ex = getException(waiter);
+            Assert.assertTrue(ex instanceof Ioc4jException);
+            Assert.assertTrue(ex.getCause() instanceof IllegalStateException);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Throwable getException(Future<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 等待指定数量的线程进入{@link Thread.State#WAITING}状态，
+     * 线程在登记后直到阻塞于等待单例创建前都不会进入该状态
+     *
+     * @param threads 已登记的线程
+     * @param expected 线程数量
+     * @param excluded 不需要等待的线程
+     */
+    private static void awaitWaiting(Set<Thread> threads, int expected, Thread excluded) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            List<Thread> waiting = threads.stream()
+                .filter(thread -> thread != excluded)
+                .toList();
+            int required = Objects.isNull(excluded) ? expected : expected - 1;
+            if (waiting.size() == required && waiting.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+                return;
+            }
+            Assert.assertTrue("threads are not waiting for the singleton within 5 seconds", System.nanoTime() < deadline);
+            Thread.yield();
+        }
+    }
 }
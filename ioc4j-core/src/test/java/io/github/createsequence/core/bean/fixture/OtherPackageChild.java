@@ -0,0 +1,12 @@
+package io.github.createsequence.core.bean.fixture;
+
+/**
+ * 与父类位于同一包中的子类，重写了父类的包私有方法
+ *
+ * @author huangchengxing
+ */
+public class OtherPackageChild extends OtherPackageParent {
+
+    @Override
+    public void transitive() { }
+}
@@ -0,0 +1,17 @@
+package io.github.createsequence.core.bean.fixture;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 与子类位于不同包中的父类，其包私有方法不能被其他包中的子类重写
+ *
+ * @author huangchengxing
+ */
+public class OtherPackageParent {
+
+    @PostConstruct
+    void init() { }
+
+    @PostConstruct
+    void transitive() { }
+}
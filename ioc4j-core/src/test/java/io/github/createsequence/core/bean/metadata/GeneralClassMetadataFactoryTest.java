@@ -1,5 +1,6 @@
 package io.github.createsequence.core.bean.metadata;
 
+import lombok.SneakyThrows;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -7,9 +8,14 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * test for {@link GeneralClassMetadataFactory}
@@ -26,6 +32,121 @@ public class GeneralClassMetadataFactoryTest {
         metadata.getDeclaredMethods().get(1).getParents();
     }
 
+    @Test
+    public void testLazyResolve() {
+        ClassMetadataFactory factory = new GeneralClassMetadataFactory();
+        ClassMetadata metadata = factory.resolve(Foo.class);
+        Assert.assertSame(metadata, factory.resolve(Foo.class));
+        Assert.assertSame(metadata.getDeclaredMethods(), metadata.getDeclaredMethods());
+        Assert.assertSame(metadata.getDeclaredFields(), metadata.getDeclaredFields());
+        Assert.assertEquals(2, metadata.getDeclaredFields().size());
+
+        Collection<ClassMetadata> parents = metadata.getParents();
+        Assert.assertSame(parents, metadata.getParents());
+        Assert.assertEquals(1, parents.size());
+        ClassMetadata parent = parents.iterator().next();
+        Assert.assertSame(factory.resolve(FooSupper.class), parent);
+        Assert.assertEquals(Collections.singletonList(factory.resolve(FooInterface.class)), parent.getParents());
+        Assert.assertTrue(factory.resolve(FooInterface.class).getParents().isEmpty());
+    }
+
+    @Test
+    public void testAnnotationCaches() {
+        ClassMetadataFactory factory = new GeneralClassMetadataFactory();
+        ClassMetadata metadata = factory.resolve(Foo.class);
+        Assert.assertEquals(
+            List.of(metadata, factory.resolve(FooSupper.class), factory.resolve(FooInterface.class)),
+            metadata.stream().toList()
+        );
+        Assert.assertSame(metadata, metadata.iterator().next());
+
+        TestAnnotation annotation = metadata.getAnnotation(TestAnnotation.class);
+        Assert.assertNotNull(annotation);
+        Assert.assertEquals("Foo.class", annotation.value());
+        Assert.assertSame(annotation, metadata.getAnnotation(TestAnnotation.class));
+        // negative caching
+        Assert.assertNull(metadata.getAnnotation(Deprecated.class));
+        Assert.assertNull(metadata.getAnnotation(Deprecated.class));
+
+        TestAnnotation[] annotations = metadata.getAnnotationsByType(TestAnnotation.class);
+        Assert.assertEquals(2, annotations.length);
+        Assert.assertNotSame(annotations, metadata.getAnnotationsByType(TestAnnotation.class));
+        annotations[0] = null;
+        Assert.assertNotNull(metadata.getAnnotationsByType(TestAnnotation.class)[0]);
+        Assert.assertEquals(2, metadata.getAnnotations().length);
+
+        MethodMetadata method2 = findMethod(metadata, "method2");
+        Assert.assertEquals(3, method2.getAnnotationsByType(TestAnnotation.class).length);
+        Assert.assertEquals("Foo.class#method2", method2.getAnnotation(TestAnnotation.class).value());
+    }
+
+    @SneakyThrows
+    @Test
+    public void testOverwrittenMethods() {
+        ClassMetadataFactory factory = new GeneralClassMetadataFactory();
+        ClassMetadata metadata = factory.resolve(Foo.class);
+        MethodMetadata method1 = findMethod(metadata, "method1");
+        Assert.assertFalse(method1.isOverride());
+        Assert.assertTrue(method1.getParents().isEmpty());
+
+        MethodMetadata method2 = findMethod(metadata, "method2");
+        Assert.assertTrue(method2.isOverride());
+        Assert.assertSame(method2.getParents(), method2.getParents());
+        Assert.assertEquals(
+            List.of(findMethod(factory.resolve(FooSupper.class), "method2"), findMethod(factory.resolve(FooInterface.class), "method2")),
+            method2.getParents()
+        );
+        // the parameter type of generic method is erased in parent
+        MethodMetadata method3 = findMethod(metadata, "method3");
+        Assert.assertEquals(List.of(findMethod(factory.resolve(FooSupper.class), "method3")), method3.getParents());
+    }
+
+    private static MethodMetadata findMethod(ClassMetadata metadata, String name) {
+        return metadata.getDeclaredMethods().stream()
+            .filter(mm -> mm.getSource().getName().equals(name))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    @SneakyThrows
+    @Test
+    public void testConcurrentResolve() {
+        ClassMetadataFactory factory = new GeneralClassMetadataFactory();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            List<Future<ClassMetadata>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    latch.await();
+                    ClassMetadata metadata = factory.resolve(Foo.class);
+                    metadata.getDeclaredMethods().forEach(MethodMetadata::getParents);
+                    return metadata;
+                }));
+            }
+            latch.countDown();
+            ClassMetadata metadata = factory.resolve(Foo.class);
+            for (Future<ClassMetadata> future : futures) {
+                ClassMetadata result = future.get();
+                Assert.assertSame(metadata, result);
+                Assert.assertSame(metadata.getDeclaredMethods(), result.getDeclaredMethods());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFieldAccessor() {
+        ClassMetadataFactory factory = new GeneralClassMetadataFactory();
+        FieldMetadata field = factory.resolve(Foo.class).getDeclaredFields().iterator().next();
+        Assert.assertSame(field.getAccessor(), field.getAccessor());
+        Foo foo = new Foo();
+        field.getAccessor().set(foo, "foo");
+        Assert.assertEquals("foo", foo.field1);
+    }
+
     @Target({ElementType.TYPE, ElementType.FIELD, ElementType.METHOD})
     @Retention(RetentionPolicy.RUNTIME)
     private @interface TestAnnotation {
@@ -39,7 +160,9 @@ public class GeneralClassMetadataFactoryTest {
         Collection<?> method2(Collection<Integer> ids);
     }
 
-    private static class FooSupper implements FooInterface {
+    private static class FooSupper<T> implements FooInterface {
+
+        public void method3(T arg) { }
 
         @TestAnnotation("FooSupper.class#method2")
         @Override
@@ -50,7 +173,10 @@ public class GeneralClassMetadataFactoryTest {
 
 
     @TestAnnotation("Foo.class")
-    private static class Foo extends FooSupper {
+    private static class Foo extends FooSupper<String> {
+
+        @Override
+        public void method3(String arg) { }
 
         @TestAnnotation("Foo.class#field1")
         private String field1;
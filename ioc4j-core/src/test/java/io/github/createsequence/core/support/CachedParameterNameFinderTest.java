@@ -0,0 +1,78 @@
+package io.github.createsequence.core.support;
+
+import lombok.SneakyThrows;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * test for {@link CachedParameterNameFinder}
+ *
+ * @author huangchengxing
+ */
+@SuppressWarnings("unused")
+public class CachedParameterNameFinderTest {
+
+    @SneakyThrows
+    @Test
+    public void testGetParameterNames() {
+        CountingFinder delegate = new CountingFinder();
+        CachedParameterNameFinder finder = new CachedParameterNameFinder(delegate);
+        Method method = Foo.class.getDeclaredMethod("method", String.class, Integer.class);
+        String[] names = finder.getParameterNames(method);
+        Assert.assertArrayEquals(SimpleParameterNameFinder.INSTANCE.getParameterNames(method), names);
+        Assert.assertSame(names, finder.getParameterNames(method));
+        Assert.assertSame(names, finder.getParameterNames(Foo.class.getDeclaredMethod("method", String.class, Integer.class)));
+        Assert.assertEquals(1, delegate.count.get());
+
+        Constructor<?> constructor = Foo.class.getDeclaredConstructor(String.class);
+        names = finder.getParameterNames(constructor);
+        Assert.assertEquals(1, names.length);
+        Assert.assertSame(names, finder.getParameterNames(constructor));
+        Assert.assertEquals(2, delegate.count.get());
+
+        Assert.assertEquals(0, finder.getParameterNames((Method) null).length);
+        Assert.assertEquals(0, finder.getParameterNames((Constructor<?>) null).length);
+    }
+
+    @SneakyThrows
+    @Test
+    public void testWhenDelegateReturnNull() {
+        CachedParameterNameFinder finder = new CachedParameterNameFinder(method -> null);
+        Assert.assertEquals(0, finder.getParameterNames(Foo.class.getDeclaredMethod("method", String.class, Integer.class)).length);
+    }
+
+    @SneakyThrows
+    @Test
+    public void testClearCaches() {
+        CountingFinder delegate = new CountingFinder();
+        CachedParameterNameFinder finder = new CachedParameterNameFinder(delegate);
+        Method method = Foo.class.getDeclaredMethod("method", String.class, Integer.class);
+        finder.getParameterNames(method);
+        finder.clearCaches(Foo.class.getClassLoader());
+        finder.getParameterNames(method);
+        Assert.assertEquals(2, delegate.count.get());
+    }
+
+    private static class CountingFinder implements ParameterNameFinder {
+        private final AtomicInteger count = new AtomicInteger();
+        @Override
+        public String[] getParameterNames(Method method) {
+            count.incrementAndGet();
+            return SimpleParameterNameFinder.INSTANCE.getParameterNames(method);
+        }
+        @Override
+        public String[] getParameterNames(Constructor<?> constructor) {
+            count.incrementAndGet();
+            return ParameterNameFinder.super.getParameterNames(constructor);
+        }
+    }
+
+    private static class Foo {
+        Foo(String name) { }
+        void method(String name, Integer age) { }
+    }
+}
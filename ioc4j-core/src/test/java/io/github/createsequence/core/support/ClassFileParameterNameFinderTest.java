@@ -0,0 +1,118 @@
+package io.github.createsequence.core.support;
+
+import lombok.SneakyThrows;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * test for {@link ClassFileParameterNameFinder}
+ *
+ * @author huangchengxing
+ */
+public class ClassFileParameterNameFinderTest {
+
+    private static final String SOURCE = """
+        package test;
+        public class Foo {
+            public Foo(String name, long id, int[] values) { }
+            public static String join(double first, String[][] second, long third, Object fourth) {
+                String local = "";
+                return local;
+            }
+            public int sum(int a, int b) {
+                int c = a + b;
+                return c;
+            }
+            public void noArgs() { }
+        }
+        """;
+
+    private static Path directory;
+    private static URLClassLoader classLoader;
+
+    private final ParameterNameFinder finder = ClassFileParameterNameFinder.INSTANCE;
+
+    @SneakyThrows
+    @BeforeClass
+    public static void compile() {
+        directory = Files.createTempDirectory("ioc4j-parameter-names");
+        Path source = directory.resolve("test/Foo.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, SOURCE, StandardCharsets.UTF_8);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        // compile with local variable table but without method parameters
+        int result = compiler.run(null, null, null, "-g", "-d", directory.toString(), source.toString());
+        Assert.assertEquals(0, result);
+        classLoader = new URLClassLoader(new URL[]{ directory.toUri().toURL() }, null);
+    }
+
+    @SneakyThrows
+    @AfterClass
+    public static void clean() {
+        classLoader.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    public void testGetParameterNamesFromLocalVariableTable() {
+        Class<?> type = classLoader.loadClass("test.Foo");
+        Method sum = type.getDeclaredMethod("sum", int.class, int.class);
+        Assert.assertFalse(sum.getParameters()[0].isNamePresent());
+        Assert.assertArrayEquals(new String[]{ "a", "b" }, finder.getParameterNames(sum));
+
+        // static method with wide and array types
+        Method join = type.getDeclaredMethod("join", double.class, String[][].class, long.class, Object.class);
+        Assert.assertArrayEquals(new String[]{ "first", "second", "third", "fourth" }, finder.getParameterNames(join));
+
+        Constructor<?> constructor = type.getDeclaredConstructor(String.class, long.class, int[].class);
+        Assert.assertArrayEquals(new String[]{ "name", "id", "values" }, finder.getParameterNames(constructor));
+
+        Assert.assertEquals(0, finder.getParameterNames(type.getDeclaredMethod("noArgs")).length);
+    }
+
+    @SneakyThrows
+    @Test
+    public void testGetParameterNamesWhenNamePresent() {
+        Method method = ParameterNameFinder.class.getDeclaredMethod("getParameterNames", Method.class);
+        String[] names = finder.getParameterNames(method);
+        Assert.assertEquals(1, names.length);
+        if (method.getParameters()[0].isNamePresent()) {
+            Assert.assertEquals("method", names[0]);
+        }
+    }
+
+    @Test
+    public void testGetParameterNamesOfNull() {
+        Assert.assertEquals(0, finder.getParameterNames((Method) null).length);
+        Assert.assertEquals(0, finder.getParameterNames((Constructor<?>) null).length);
+    }
+
+    @SneakyThrows
+    @Test
+    public void testFallbackWhenClassFileNotFound() {
+        // class file of lambda is not available
+        Runnable runnable = () -> { };
+        Method method = runnable.getClass().getDeclaredMethod("run");
+        Assert.assertEquals(0, finder.getParameterNames(method).length);
+        Method apply = java.util.function.Function.class.getDeclaredMethod("apply", Object.class);
+        Assert.assertEquals(1, finder.getParameterNames(apply).length);
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.createsequence.core.support;
+
+import lombok.SneakyThrows;
+
+import java.lang.reflect.Field;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * <p>Benchmark for reading and writing fields of bean,
+ * compares {@link ReflectiveFieldAccessor} with {@link VarHandleFieldAccessor},
+ * direct field access is included as baseline.
+ *
+ * <p>It is not a unit test, run it with {@code main} method manually,
+ * since the call sites in {@link #run} will be polluted by the previous cases,
+ * specify a case name by argument to run only one case in a JVM for stable results.
+ *
+ * @author huangchengxing
+ */
+public class FieldAccessorBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int ITERATIONS = 20_000_000;
+
+    @SneakyThrows
+    public static void main(String[] args) {
+        Bean bean = new Bean();
+        Field intField = Bean.class.getDeclaredField("count");
+        Field objectField = Bean.class.getDeclaredField("value");
+        FieldAccessor reflectiveInt = new ReflectiveFieldAccessor(intField);
+        FieldAccessor reflectiveObject = new ReflectiveFieldAccessor(objectField);
+        FieldAccessor varHandleInt = VarHandleFieldAccessor.create(intField);
+        FieldAccessor varHandleObject = VarHandleFieldAccessor.create(objectField);
+        String value = "value";
+
+        Map<String, IntSupplier> cases = new LinkedHashMap<>();
+        cases.put("int (direct)", () -> {
+            bean.count = bean.count + 1;
+            return bean.count;
+        });
+        cases.put("int (ReflectiveFieldAccessor)", () -> {
+            reflectiveInt.setInt(bean, reflectiveInt.getInt(bean) + 1);
+            return bean.count;
+        });
+        cases.put("int (VarHandleFieldAccessor)", () -> {
+            varHandleInt.setInt(bean, varHandleInt.getInt(bean) + 1);
+            return bean.count;
+        });
+        cases.put("object (direct)", () -> {
+            bean.value = value;
+            return bean.value.length();
+        });
+        cases.put("object (ReflectiveFieldAccessor)", () -> {
+            reflectiveObject.set(bean, value);
+            return ((String) reflectiveObject.get(bean)).length();
+        });
+        cases.put("object (VarHandleFieldAccessor)", () -> {
+            varHandleObject.set(bean, value);
+            return ((String) varHandleObject.get(bean)).length();
+        });
+        cases.forEach((name, task) -> {
+            if (args.length == 0 || name.startsWith(args[0])) {
+                run(name, task);
+            }
+        });
+    }
+
+    private static void run(String name, IntSupplier task) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += task.getAsInt();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += task.getAsInt();
+        }
+        long cost = System.nanoTime() - start;
+        System.out.printf("%-40s %10.2f ns/op (sink=%d)%n", name, (double) cost / ITERATIONS, sink);
+    }
+
+    private static class Bean {
+
+        private int count;
+        private String value;
+    }
+}
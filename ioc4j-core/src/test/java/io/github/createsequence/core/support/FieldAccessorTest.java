@@ -0,0 +1,124 @@
+package io.github.createsequence.core.support;
+
+import io.github.createsequence.core.exception.Ioc4jException;
+import lombok.SneakyThrows;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+/**
+ * test for {@link FieldAccessor}
+ *
+ * @author huangchengxing
+ */
+@SuppressWarnings("unused")
+public class FieldAccessorTest {
+
+    @SneakyThrows
+    @Test
+    public void testGetAndSet() {
+        Foo foo = new Foo();
+        FieldAccessor accessor = FieldAccessor.of(Foo.class.getDeclaredField("name"));
+        Assert.assertEquals(Foo.class.getDeclaredField("name"), accessor.getField());
+        // each accessible field has its own hidden class whose handles are constants
+        Assert.assertTrue(accessor.getClass().isHidden());
+        Assert.assertNotSame(accessor.getClass(), FieldAccessor.of(Foo.class.getDeclaredField("intValue")).getClass());
+        Assert.assertEquals("VarHandleFieldAccessor(" + accessor.getField() + ")", accessor.toString());
+        Assert.assertNull(accessor.get(foo));
+        accessor.set(foo, "foo");
+        Assert.assertEquals("foo", foo.name);
+        Assert.assertEquals("foo", accessor.get(foo));
+
+        // boxed value of primitive field
+        FieldAccessor intAccessor = FieldAccessor.of(Foo.class.getDeclaredField("intValue"));
+        intAccessor.set(foo, 1);
+        Assert.assertEquals(1, intAccessor.get(foo));
+
+        // wrong type
+        Assert.assertThrows(Ioc4jException.class, () -> accessor.set(foo, 1));
+        Assert.assertThrows(Ioc4jException.class, () -> accessor.get(null));
+    }
+
+    @SneakyThrows
+    @Test
+    public void testPrimitive() {
+        Foo foo = new Foo();
+        FieldAccessor booleanAccessor = accessor("booleanValue");
+        booleanAccessor.setBoolean(foo, true);
+        Assert.assertTrue(booleanAccessor.getBoolean(foo));
+
+        FieldAccessor byteAccessor = accessor("byteValue");
+        byteAccessor.setByte(foo, (byte) 1);
+        Assert.assertEquals((byte) 1, byteAccessor.getByte(foo));
+
+        FieldAccessor charAccessor = accessor("charValue");
+        charAccessor.setChar(foo, 'a');
+        Assert.assertEquals('a', charAccessor.getChar(foo));
+
+        FieldAccessor shortAccessor = accessor("shortValue");
+        shortAccessor.setShort(foo, (short) 2);
+        Assert.assertEquals((short) 2, shortAccessor.getShort(foo));
+
+        FieldAccessor intAccessor = accessor("intValue");
+        intAccessor.setInt(foo, 3);
+        Assert.assertEquals(3, intAccessor.getInt(foo));
+        // widening conversion
+        Assert.assertEquals(3L, intAccessor.getLong(foo));
+        Assert.assertThrows(Ioc4jException.class, () -> intAccessor.getBoolean(foo));
+
+        FieldAccessor longAccessor = accessor("longValue");
+        longAccessor.setLong(foo, 4L);
+        Assert.assertEquals(4L, longAccessor.getLong(foo));
+
+        FieldAccessor floatAccessor = accessor("floatValue");
+        floatAccessor.setFloat(foo, 5F);
+        Assert.assertEquals(5F, floatAccessor.getFloat(foo), 0F);
+
+        FieldAccessor doubleAccessor = accessor("doubleValue");
+        doubleAccessor.setDouble(foo, 6D);
+        Assert.assertEquals(6D, doubleAccessor.getDouble(foo), 0D);
+    }
+
+    @SneakyThrows
+    @Test
+    public void testStaticField() {
+        FieldAccessor accessor = accessor("staticValue");
+        accessor.setInt(null, 1);
+        Assert.assertEquals(1, accessor.getInt(null));
+        Assert.assertEquals(1, Foo.staticValue);
+        accessor.set(new Foo(), 2);
+        Assert.assertEquals(2, accessor.get(null));
+    }
+
+    @SneakyThrows
+    @Test
+    public void testFinalField() {
+        Foo foo = new Foo();
+        FieldAccessor accessor = accessor("finalValue");
+        Assert.assertTrue(accessor instanceof ReflectiveFieldAccessor);
+        Assert.assertEquals("final", accessor.get(foo));
+        accessor.set(foo, "changed");
+        Assert.assertEquals("changed", accessor.get(foo));
+    }
+
+    @SneakyThrows
+    private static FieldAccessor accessor(String fieldName) {
+        Field field = Foo.class.getDeclaredField(fieldName);
+        return FieldAccessor.of(field);
+    }
+
+    private static class Foo {
+        private static int staticValue;
+        private final String finalValue = new String("final");
+        private String name;
+        private boolean booleanValue;
+        private byte byteValue;
+        private char charValue;
+        private short shortValue;
+        private int intValue;
+        private long longValue;
+        private float floatValue;
+        private double doubleValue;
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.createsequence.core.support;
+
+import io.github.createsequence.core.util.ReflectUtils;
+import lombok.SneakyThrows;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * <p>Benchmark for invoking setter and no-arg callback of bean,
+ * compares {@link ReflectUtils#invokeRaw} with invokers created by {@link MethodInvokerFactory}.
+ *
+ * <p>It is not a unit test, run it with {@code main} method manually,
+ * since the call sites in {@link #run} will be polluted by the previous cases,
+ * specify a case name by argument to run only one case in a JVM for stable results.
+ *
+ * @author huangchengxing
+ */
+public class MethodInvokerBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int ITERATIONS = 5_000_000;
+
+    @SneakyThrows
+    public static void main(String[] args) {
+        Bean bean = new Bean();
+        Method setter = Bean.class.getDeclaredMethod("setValue", Integer.class);
+        Method callback = Bean.class.getDeclaredMethod("init");
+        MethodInvoker setterInvoker = MethodInvokerFactory.INSTANCE.getInvoker(setter);
+        MethodInvoker callbackInvoker = MethodInvokerFactory.INSTANCE.getInvoker(callback);
+        Integer value = 1;
+
+        Map<String, IntSupplier> cases = new LinkedHashMap<>();
+        cases.put("setter (ReflectUtils.invokeRaw)", () -> {
+            ReflectUtils.invokeRaw(bean, setter, value);
+            return bean.value;
+        });
+        cases.put("setter (MethodInvoker)", () -> {
+            setterInvoker.invoke(bean, value);
+            return bean.value;
+        });
+        cases.put("callback (ReflectUtils.invokeRaw)", () -> {
+            ReflectUtils.invokeRaw(bean, callback);
+            return bean.count;
+        });
+        cases.put("callback (MethodInvoker)", () -> {
+            callbackInvoker.invoke(bean);
+            return bean.count;
+        });
+        cases.forEach((name, task) -> {
+            if (args.length == 0 || name.startsWith(args[0])) {
+                run(name, task);
+            }
+        });
+    }
+
+    private static void run(String name, IntSupplier task) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += task.getAsInt();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += task.getAsInt();
+        }
+        long cost = System.nanoTime() - start;
+        System.out.printf("%-40s %10.1f ns/op (sink=%d)%n", name, (double) cost / ITERATIONS, sink);
+    }
+
+    private static class Bean {
+
+        private Integer value;
+        private int count;
+
+        private void setValue(Integer value) {
+            this.value = value;
+        }
+
+        private void init() {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.createsequence.core.support;
+
+import io.github.createsequence.core.exception.Ioc4jException;
+import lombok.SneakyThrows;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+/**
+ * test for {@link MethodInvokerFactory}
+ *
+ * @author huangchengxing
+ */
+@SuppressWarnings("unused")
+public class MethodInvokerFactoryTest {
+
+    private final MethodInvokerFactory factory = MethodInvokerFactory.INSTANCE;
+
+    @SneakyThrows
+    @Test
+    public void getInvoker() {
+        Method method = Foo.class.getDeclaredMethod("arity0");
+        MethodInvoker invoker = factory.getInvoker(method);
+        Assert.assertSame(invoker, factory.getInvoker(method));
+        Assert.assertSame(invoker, factory.getInvoker(Foo.class.getDeclaredMethod("arity0")));
+        Assert.assertNotSame(invoker, factory.getInvoker(Foo.class.getDeclaredMethod("arity1", String.class)));
+    }
+
+    @SneakyThrows
+    @Test
+    public void clearCaches() {
+        Method method = Foo.class.getDeclaredMethod("arity0");
+        MethodInvoker invoker = factory.getInvoker(method);
+        factory.clearCaches(Foo.class.getClassLoader());
+        Assert.assertNotSame(invoker, factory.getInvoker(method));
+    }
+
+    @SneakyThrows
+    @Test
+    public void invoke() {
+        Foo foo = new Foo("foo");
+        Assert.assertEquals("foo", factory.getInvoker(Foo.class.getDeclaredMethod("arity0")).invoke(foo));
+        Assert.assertEquals("foo1", factory.getInvoker(Foo.class.getDeclaredMethod("arity1", String.class)).invoke(foo, "1"));
+        Assert.assertEquals("foo3", factory.getInvoker(Foo.class.getDeclaredMethod("arity2", int.class, int.class)).invoke(foo, 1, 2));
+        Assert.assertEquals(
+            "foo123", factory.getInvoker(Foo.class.getDeclaredMethod("arity3", String.class, String.class, String.class))
+                .invoke(foo, "1", "2", "3")
+        );
+        Assert.assertEquals(
+            "foo12345", factory.getInvoker(Foo.class.getDeclaredMethod("arity5", String.class, String.class, String.class, String.class, String.class))
+                .invoke(foo, "1", "2", "3", "4", "5")
+        );
+        // static method
+        Assert.assertEquals(3L, factory.getInvoker(Foo.class.getDeclaredMethod("sum", long.class, long.class)).invoke(null, 1L, 2L));
+        // void method
+        Assert.assertNull(factory.getInvoker(Foo.class.getDeclaredMethod("setName", String.class)).invoke(foo, "bar"));
+        Assert.assertEquals("bar", foo.name);
+        // varargs method
+        Assert.assertEquals(2, factory.getInvoker(Foo.class.getDeclaredMethod("count", String[].class)).invoke(foo, (Object) new String[]{"a", "b"}));
+    }
+
+    @SneakyThrows
+    @Test
+    public void invokeWhenThrowException() {
+        Foo foo = new Foo("foo");
+        Ioc4jException ex = Assert.assertThrows(
+            Ioc4jException.class, () -> factory.getInvoker(Foo.class.getDeclaredMethod("error")).invoke(foo)
+        );
+        Assert.assertTrue(ex.getCause() instanceof UnsupportedOperationException);
+
+        // wrong number of arguments
+        ex = Assert.assertThrows(
+            Ioc4jException.class, () -> factory.getInvoker(Foo.class.getDeclaredMethod("arity1", String.class)).invoke(foo)
+        );
+        Assert.assertTrue(ex.getCause() instanceof IllegalArgumentException);
+        Assert.assertThrows(
+            Ioc4jException.class, () -> factory.getInvoker(Foo.class.getDeclaredMethod("arity0")).invoke(foo, "1")
+        );
+
+        // wrong type of arguments
+        Assert.assertThrows(
+            Ioc4jException.class, () -> factory.getInvoker(Foo.class.getDeclaredMethod("arity2", int.class, int.class)).invoke(foo, "1", 2)
+        );
+    }
+
+    private static class Foo {
+
+        private String name;
+
+        Foo(String name) {
+            this.name = name;
+        }
+
+        private String arity0() {
+            return name;
+        }
+
+        private String arity1(String arg0) {
+            return name + arg0;
+        }
+
+        public String arity2(int arg0, int arg1) {
+            return name + (arg0 + arg1);
+        }
+
+        String arity3(String arg0, String arg1, String arg2) {
+            return name + arg0 + arg1 + arg2;
+        }
+
+        String arity5(String arg0, String arg1, String arg2, String arg3, String arg4) {
+            return name + arg0 + arg1 + arg2 + arg3 + arg4;
+        }
+
+        private static long sum(long a, long b) {
+            return a + b;
+        }
+
+        private void setName(String name) {
+            this.name = name;
+        }
+
+        private int count(String... args) {
+            return args.length;
+        }
+
+        private void error() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
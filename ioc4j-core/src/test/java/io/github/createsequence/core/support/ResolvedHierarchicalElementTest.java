@@ -1,5 +1,6 @@
 package io.github.createsequence.core.support;
 
+import io.github.createsequence.core.support.annotation.AbstractHierarchicalElement.ExecutionPolicy;
 import io.github.createsequence.core.support.annotation.AliasFor;
 import io.github.createsequence.core.support.annotation.ResolvedHierarchicalElement;
 import lombok.SneakyThrows;
@@ -16,6 +17,7 @@ import java.lang.reflect.Parameter;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.stream.Stream;
 
 /**
@@ -43,6 +45,38 @@ public class ResolvedHierarchicalElementTest {
         );
     }
 
+    @Test
+    public void testCacheStatistics() {
+        ResolvedHierarchicalElement.from(Foo.class);
+        var before = ResolvedHierarchicalElement.getCacheStatistics();
+        ResolvedHierarchicalElement.from(Foo.class);
+        var after = ResolvedHierarchicalElement.getCacheStatistics();
+        Assert.assertTrue(after.hitCount() > before.hitCount());
+        Assert.assertTrue(after.size() > 0);
+    }
+
+    @SneakyThrows
+    @Test
+    public void testResolveOverriddenMethods() {
+        // 每个分支在找到首个可重写的方法后即停止搜索
+        var branchElement = ResolvedHierarchicalElement.from(BranchRunner.class.getDeclaredMethod("run"));
+        Assert.assertArrayEquals(
+            new Object[]{ OverriddenRunner.class.getDeclaredMethod("run"), Runner.class.getDeclaredMethod("run") },
+            branchElement.getParents().stream().map(ResolvedHierarchicalElement::getRoot).toArray()
+        );
+
+        // 多个分支指向的同一方法只返回一次
+        var diamondElement = ResolvedHierarchicalElement.from(DiamondRunner.class.getDeclaredMethod("run"));
+        Assert.assertArrayEquals(
+            new Object[]{ Runner.class.getDeclaredMethod("run") },
+            diamondElement.getParents().stream().map(ResolvedHierarchicalElement::getRoot).toArray()
+        );
+
+        // 不存在同签名的方法
+        var overloadElement = ResolvedHierarchicalElement.from(DiamondRunner.class.getDeclaredMethod("run", String.class));
+        Assert.assertTrue(overloadElement.getParents().isEmpty());
+    }
+
     @SneakyThrows
     @Test
     public void testResolveHierarchy() {
@@ -124,6 +158,42 @@ public class ResolvedHierarchicalElementTest {
         );
     }
 
+    @Test
+    public void testHierarchySnapshot() {
+        var ele = ResolvedHierarchicalElement.from(Foo.class);
+        Assert.assertSame(ele.getParents(), ele.getParents());
+        var hierarchies = ele.hierarchies();
+        Assert.assertSame(hierarchies, ele.hierarchies());
+        Assert.assertThrows(UnsupportedOperationException.class, () -> hierarchies.add(ele));
+        Assert.assertSame(ele, ele.hierarchyIterator().next());
+
+        // 快照的分割迭代器应当是定长的，以便并行流均匀地分割
+        var spliterator = ele.hierarchyStream().spliterator();
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        Assert.assertEquals(hierarchies.size(), spliterator.getExactSizeIfKnown());
+        Assert.assertEquals(hierarchies.size(), hierarchies.stream().distinct().count());
+    }
+
+    @Test
+    public void testExecutionPolicy() {
+        Assert.assertSame(ExecutionPolicy.SEQUENTIAL, ResolvedHierarchicalElement.getExecutionPolicy());
+        Assert.assertFalse(ExecutionPolicy.SEQUENTIAL.isParallel(Integer.MAX_VALUE));
+        Assert.assertFalse(ExecutionPolicy.parallelAbove(3).isParallel(3));
+        Assert.assertTrue(ExecutionPolicy.parallelAbove(3).isParallel(4));
+
+        var ele = ResolvedHierarchicalElement.from(Foo.class);
+        var expected = Stream.of(ele.getAnnotations()).map(Object::toString).toList();
+        Assert.assertTrue(ele.hierarchyStream(ExecutionPolicy.parallelAbove(1)).isParallel());
+        Assert.assertFalse(ele.hierarchyStream(ExecutionPolicy.SEQUENTIAL).isParallel());
+        try {
+            ResolvedHierarchicalElement.setExecutionPolicy(ExecutionPolicy.parallelAbove(0));
+            Assert.assertEquals(expected, Stream.of(ele.getAnnotations()).map(Object::toString).toList());
+            Assert.assertEquals(4, ele.getAnnotationsByType(ParentAnnotation.class).length);
+        } finally {
+            ResolvedHierarchicalElement.setExecutionPolicy(ExecutionPolicy.SEQUENTIAL);
+        }
+    }
+
     @Test
     public void testGetAnnotations() {
         var ele = ResolvedHierarchicalElement.from(Foo.class);
@@ -190,8 +260,33 @@ public class ResolvedHierarchicalElementTest {
     public void testIsAnnotationPresent() {
         Method method = Foo.class.getDeclaredMethod("getStr");
         var ele = ResolvedHierarchicalElement.from(method);
-//        Assert.assertTrue(ele.isAnnotationPresent(Annotation1.class));
+        Assert.assertTrue(ele.isAnnotationPresent(Annotation1.class));
         Assert.assertTrue(ele.isAnnotationPresent(Annotation2.class));
+        Assert.assertFalse(ele.isAnnotationPresent(ParentAnnotation.class));
+
+        // 元注解与层级结构中的注解
+        var classElement = ResolvedHierarchicalElement.from(Foo.class);
+        Assert.assertTrue(classElement.isAnnotationPresent(ChildAnnotation.class));
+        Assert.assertTrue(classElement.isAnnotationPresent(ParentAnnotation.class));
+        Assert.assertFalse(classElement.isAnnotationPresent(Annotation1.class));
+        Assert.assertNull(classElement.getAnnotation(Annotation1.class));
+        Assert.assertNull(classElement.getDeclaredAnnotation(Annotation1.class));
+    }
+
+    @SneakyThrows
+    @Test
+    public void testDeclaredAnnotationCaches() {
+        Method method = getClass().getDeclaredMethod("getRepeatableAnnotations");
+        var ele = ResolvedHierarchicalElement.from(method);
+        var annotation = ele.getDeclaredAnnotation(Annotation2.class);
+        Assert.assertNotNull(annotation);
+        Assert.assertSame(annotation, ele.getDeclaredAnnotation(Annotation2.class));
+        Assert.assertNull(ele.getDeclaredAnnotation(ParentAnnotation.class));
+
+        var annotations = ele.getDeclaredAnnotationsByType(Annotation1.class);
+        Assert.assertEquals(4, annotations.length);
+        annotations[0] = null;
+        Assert.assertNotNull(ele.getDeclaredAnnotationsByType(Annotation1.class)[0]);
     }
 
     @SneakyThrows
@@ -256,6 +351,30 @@ public class ResolvedHierarchicalElementTest {
         String name() default "";
     }
 
+    private interface Runner {
+        void run();
+    }
+
+    private interface MiddleRunner extends Runner { }
+
+    private interface AnotherMiddleRunner extends Runner { }
+
+    private interface OverriddenRunner extends Runner {
+        @Override
+        void run();
+    }
+
+    private static class BranchRunner implements MiddleRunner, OverriddenRunner {
+        @Override
+        public void run() { }
+    }
+
+    private static class DiamondRunner implements MiddleRunner, AnotherMiddleRunner {
+        @Override
+        public void run() { }
+        public void run(String arg) { }
+    }
+
     @ParentAnnotation("Interface Parent")
     @ChildAnnotation("Interface")
     private interface Interface {
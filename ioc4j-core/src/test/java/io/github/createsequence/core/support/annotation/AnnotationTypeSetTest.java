@@ -0,0 +1,45 @@
+package io.github.createsequence.core.support.annotation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.stream.Stream;
+
+/**
+ * test for {@link AnnotationTypeSet}
+ *
+ * @author huangchengxing
+ */
+public class AnnotationTypeSetTest {
+
+    @Test
+    public void testContains() {
+        AnnotationTypeSet set = AnnotationTypeSet.of(Stream.of(Retention.class, Target.class));
+        Assert.assertFalse(set.isEmpty());
+        Assert.assertTrue(set.contains(Retention.class));
+        Assert.assertTrue(set.contains(Target.class));
+        Assert.assertFalse(set.contains(Documented.class));
+
+        AnnotationTypeSet empty = AnnotationTypeSet.of(Stream.empty());
+        Assert.assertSame(AnnotationTypeSet.EMPTY, empty);
+        Assert.assertTrue(empty.isEmpty());
+        Assert.assertFalse(empty.contains(Retention.class));
+    }
+
+    @Test
+    public void testUnion() {
+        AnnotationTypeSet set1 = AnnotationTypeSet.of(Stream.of(Retention.class));
+        AnnotationTypeSet set2 = AnnotationTypeSet.of(Stream.<Class<? extends Annotation>>of(Inherited.class, Documented.class));
+        AnnotationTypeSet union = AnnotationTypeSet.union(Stream.of(set1, AnnotationTypeSet.EMPTY, set2));
+        Assert.assertTrue(union.contains(Retention.class));
+        Assert.assertTrue(union.contains(Inherited.class));
+        Assert.assertTrue(union.contains(Documented.class));
+        Assert.assertFalse(union.contains(Target.class));
+        Assert.assertSame(AnnotationTypeSet.EMPTY, AnnotationTypeSet.union(Stream.of(AnnotationTypeSet.EMPTY)));
+    }
+}
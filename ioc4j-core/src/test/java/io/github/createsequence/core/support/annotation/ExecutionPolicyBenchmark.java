@@ -0,0 +1,139 @@
+package io.github.createsequence.core.support.annotation;
+
+import io.github.createsequence.core.support.annotation.AbstractHierarchicalElement.ExecutionPolicy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * <p>Benchmark for {@link ResolvedHierarchicalElement#getAnnotations} on hierarchies of 3 to 65 types
+ * (the root class, {@link Object} and 1 to 63 interfaces),
+ * compares the sequential and the parallel {@link ExecutionPolicy} to find the crossover point.
+ *
+ * <p>The only recorded results come from a single-CPU machine, where the parallel policy never wins,
+ * so they cannot show the crossover and no {@link ExecutionPolicy#parallelAbove} threshold is backed by data yet.
+ * Run it on a multi-core machine before choosing a threshold.
+ *
+ * <p>It is not a unit test, run it with {@code main} method manually.
+ *
+ * @author huangchengxing
+ */
+public class ExecutionPolicyBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    public static void main(String[] args) {
+        List<Class<?>> types = List.of(
+            Size2.class,
+            Size4.class,
+            Size8.class,
+            Size16.class,
+            Size32.class,
+            Size64.class
+        );
+        for (Class<?> type : types) {
+            ResolvedHierarchicalElement<?> element = ResolvedHierarchicalElement.from(type);
+            int size = element.hierarchies().size();
+            ResolvedHierarchicalElement.setExecutionPolicy(ExecutionPolicy.SEQUENTIAL);
+            run("getAnnotations (sequential, " + size + " types)", () -> element.getAnnotations().length);
+            ResolvedHierarchicalElement.setExecutionPolicy(ExecutionPolicy.parallelAbove(0));
+            run("getAnnotations (parallel, " + size + " types)", () -> element.getAnnotations().length);
+        }
+        ResolvedHierarchicalElement.setExecutionPolicy(ExecutionPolicy.SEQUENTIAL);
+    }
+
+    private static void run(String name, IntSupplier task) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += task.getAsInt();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += task.getAsInt();
+        }
+        long cost = System.nanoTime() - start;
+        System.out.printf("%-45s %10.1f ns/op (sink=%d)%n", name, (double) cost / ITERATIONS, sink);
+    }
+
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Marker {
+        int value();
+    }
+
+    @Marker(0) private static class Size2 implements I1 { }
+    @Marker(0) private static class Size4 implements I1, I2, I3 { }
+    @Marker(0) private static class Size8 implements I1, I2, I3, I4, I5, I6, I7 { }
+    @Marker(0) private static class Size16 implements I1, I2, I3, I4, I5, I6, I7, I8, I9, I10, I11, I12, I13, I14, I15 { }
+    @Marker(0) private static class Size32 implements I1, I2, I3, I4, I5, I6, I7, I8, I9, I10, I11, I12, I13, I14, I15, I16, I17, I18, I19, I20, I21, I22, I23, I24, I25, I26, I27, I28, I29, I30, I31 { }
+    @Marker(0) private static class Size64 implements I1, I2, I3, I4, I5, I6, I7, I8, I9, I10, I11, I12, I13, I14, I15, I16, I17, I18, I19, I20, I21, I22, I23, I24, I25, I26, I27, I28, I29, I30, I31, I32, I33, I34, I35, I36, I37, I38, I39, I40, I41, I42, I43, I44, I45, I46, I47, I48, I49, I50, I51, I52, I53, I54, I55, I56, I57, I58, I59, I60, I61, I62, I63 { }
+
+    @Marker(1) private interface I1 { }
+    @Marker(2) private interface I2 { }
+    @Marker(3) private interface I3 { }
+    @Marker(4) private interface I4 { }
+    @Marker(5) private interface I5 { }
+    @Marker(6) private interface I6 { }
+    @Marker(7) private interface I7 { }
+    @Marker(8) private interface I8 { }
+    @Marker(9) private interface I9 { }
+    @Marker(10) private interface I10 { }
+    @Marker(11) private interface I11 { }
+    @Marker(12) private interface I12 { }
+    @Marker(13) private interface I13 { }
+    @Marker(14) private interface I14 { }
+    @Marker(15) private interface I15 { }
+    @Marker(16) private interface I16 { }
+    @Marker(17) private interface I17 { }
+    @Marker(18) private interface I18 { }
+    @Marker(19) private interface I19 { }
+    @Marker(20) private interface I20 { }
+    @Marker(21) private interface I21 { }
+    @Marker(22) private interface I22 { }
+    @Marker(23) private interface I23 { }
+    @Marker(24) private interface I24 { }
+    @Marker(25) private interface I25 { }
+    @Marker(26) private interface I26 { }
+    @Marker(27) private interface I27 { }
+    @Marker(28) private interface I28 { }
+    @Marker(29) private interface I29 { }
+    @Marker(30) private interface I30 { }
+    @Marker(31) private interface I31 { }
+    @Marker(32) private interface I32 { }
+    @Marker(33) private interface I33 { }
+    @Marker(34) private interface I34 { }
+    @Marker(35) private interface I35 { }
+    @Marker(36) private interface I36 { }
+    @Marker(37) private interface I37 { }
+    @Marker(38) private interface I38 { }
+    @Marker(39) private interface I39 { }
+    @Marker(40) private interface I40 { }
+    @Marker(41) private interface I41 { }
+    @Marker(42) private interface I42 { }
+    @Marker(43) private interface I43 { }
+    @Marker(44) private interface I44 { }
+    @Marker(45) private interface I45 { }
+    @Marker(46) private interface I46 { }
+    @Marker(47) private interface I47 { }
+    @Marker(48) private interface I48 { }
+    @Marker(49) private interface I49 { }
+    @Marker(50) private interface I50 { }
+    @Marker(51) private interface I51 { }
+    @Marker(52) private interface I52 { }
+    @Marker(53) private interface I53 { }
+    @Marker(54) private interface I54 { }
+    @Marker(55) private interface I55 { }
+    @Marker(56) private interface I56 { }
+    @Marker(57) private interface I57 { }
+    @Marker(58) private interface I58 { }
+    @Marker(59) private interface I59 { }
+    @Marker(60) private interface I60 { }
+    @Marker(61) private interface I61 { }
+    @Marker(62) private interface I62 { }
+    @Marker(63) private interface I63 { }
+}
@@ -0,0 +1,149 @@
+package io.github.createsequence.core.support.annotation;
+
+import io.github.createsequence.core.util.ClassUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntSupplier;
+
+/**
+ * <p>Benchmark for resolving overwritten attributes in a 5-deep meta-annotation stack,
+ * compares the nested loop over {@link Method} used before
+ * with the overwrite mappings cached by {@link AnnotationAttributePlan#getOverwriteMappings}.
+ *
+ * <p>It is not a unit test, run it with {@code main} method manually.
+ *
+ * @author huangchengxing
+ */
+public class ResolvedAnnotationBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    public static void main(String[] args) {
+        Annotation root = Foo.class.getAnnotation(Level1.class);
+        List<Class<? extends Annotation>> chain = List.of(
+            Level1.class, Level2.class, Level3.class, Level4.class, Level5.class
+        );
+
+        // 仅比较覆写属性映射的解析
+        run("overwrite mappings (nested loop)", () -> resolveByNestedLoop(chain));
+        run("overwrite mappings (cached)", () -> resolveByPlan(chain));
+
+        // 端到端解析完整的元注解层级
+        run("ResolvedAnnotations.from (5-deep)", () -> ResolvedAnnotations.from(root).stream()
+            .mapToInt(ra -> ra.isResolved() ? 1 : 0)
+            .sum()
+        );
+    }
+
+    private static void run(String name, IntSupplier task) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += task.getAsInt();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += task.getAsInt();
+        }
+        long cost = System.nanoTime() - start;
+        System.out.printf("%-40s %10.1f ns/op (sink=%d)%n", name, (double) cost / ITERATIONS, sink);
+    }
+
+    /**
+     * 对链路中每一个注解，使用其所有子注解依次覆写其属性，每次都通过嵌套循环比较属性名称与类型
+     */
+    private static int resolveByNestedLoop(List<Class<? extends Annotation>> chain) {
+        int count = 0;
+        for (int target = 1; target < chain.size(); target++) {
+            Method[] attributes = AnnotationAttributePlan.of(chain.get(target)).getAttributes();
+            for (int source = 0; source < target; source++) {
+                Method[] overwrites = AnnotationAttributePlan.of(chain.get(source)).getAttributes();
+                for (Method overwrite : overwrites) {
+                    for (Method attribute : attributes) {
+                        if (!Objects.equals(attribute.getName(), overwrite.getName())
+                            || ClassUtils.isNotAssignable(attribute.getReturnType(), overwrite.getReturnType())) {
+                            continue;
+                        }
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 对链路中每一个注解，使用其所有子注解依次覆写其属性，属性映射关系从缓存中获取
+     */
+    private static int resolveByPlan(List<Class<? extends Annotation>> chain) {
+        int count = 0;
+        for (int target = 1; target < chain.size(); target++) {
+            AnnotationAttributePlan plan = AnnotationAttributePlan.of(chain.get(target));
+            for (int source = 0; source < target; source++) {
+                count += plan.getOverwriteMappings(chain.get(source)).length >> 1;
+            }
+        }
+        return count;
+    }
+
+    @Target(ElementType.ANNOTATION_TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Level5 {
+        String value() default "";
+        String name() default "";
+        int order() default 0;
+        Class<?> type() default Object.class;
+        String[] tags() default {};
+        String description() default "";
+    }
+
+    @Level5
+    @Target(ElementType.ANNOTATION_TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Level4 {
+        String value() default "";
+        String name() default "";
+        int order() default 0;
+        Class<?> type() default Object.class;
+        String[] tags() default {};
+    }
+
+    @Level4
+    @Target(ElementType.ANNOTATION_TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Level3 {
+        String value() default "";
+        String name() default "";
+        int order() default 0;
+        Class<?> type() default Object.class;
+    }
+
+    @Level3
+    @Target(ElementType.ANNOTATION_TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Level2 {
+        @AliasFor("name")
+        String value() default "";
+        @AliasFor("value")
+        String name() default "";
+        int order() default 0;
+    }
+
+    @Level2
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Level1 {
+        String value() default "";
+        int order() default 0;
+    }
+
+    @Level1(value = "foo", order = 1)
+    private static class Foo {}
+}
@@ -12,6 +12,8 @@
 
 package io.github.createsequence.core.support.annotation;
 
+import io.github.createsequence.core.exception.Ioc4jException;
+import io.github.createsequence.core.util.StringUtils;
 import lombok.SneakyThrows;
 import org.junit.Assert;
 import org.junit.Test;
@@ -120,6 +122,45 @@ public class ResolvedAnnotationTest {
 		}
 	}
 
+	@Test
+	public void testAttributePlan() {
+		final AnnotationAttributePlan plan = AnnotationAttributePlan.of(Annotation1.class);
+		Assert.assertSame(plan, AnnotationAttributePlan.of(Annotation1.class));
+
+		// 同类型的实例共享属性
+		final Annotation1 annotation = Foo.class.getAnnotation(Annotation1.class);
+		Assert.assertSame(plan.getAttributes(), ResolvedAnnotation.create(annotation, true).getAttributes());
+		Assert.assertSame(plan.getAttributes(), ResolvedAnnotation.create(annotation, false).getAttributes());
+
+		// value <-> value1 <-> value2, alias <-> alias1 <-> alias2, defVal <-> defVal2, unDefVal <-> unDefVal2
+		Assert.assertEquals(4, plan.getAliasGroups().length);
+		final int valueIdx = plan.indexOf("value", String.class);
+		final int value2Idx = plan.indexOf("value2", String.class);
+		Assert.assertSame(plan.getAliasGroup(valueIdx), plan.getAliasGroup(value2Idx));
+		Assert.assertEquals(3, plan.getAliasGroup(valueIdx).length);
+		Assert.assertEquals("", plan.getDefaultValue(valueIdx));
+
+		Assert.assertEquals(AnnotationAttributePlan.NOT_FOUND_INDEX, plan.indexOf("value", Integer.class));
+		Assert.assertEquals(AnnotationAttributePlan.NOT_FOUND_INDEX, plan.indexOf("nonexistent", String.class));
+		Assert.assertEquals(AnnotationAttributePlan.NOT_FOUND_INDEX, plan.indexOf(null, String.class));
+		Assert.assertNull(AnnotationAttributePlan.of(Annotation3.class).getAliasGroup(0));
+	}
+
+	@Test
+	public void testOverwriteMappings() {
+		final AnnotationAttributePlan plan = AnnotationAttributePlan.of(Annotation3.class);
+		final int[] mappings = plan.getOverwriteMappings(Annotation2.class);
+		Assert.assertSame(mappings, plan.getOverwriteMappings(Annotation2.class));
+		// Annotation2中的value与alias分别覆写Annotation3中的同名同类型属性
+		Assert.assertEquals(4, mappings.length);
+		final AnnotationAttributePlan source = AnnotationAttributePlan.of(Annotation2.class);
+		for (int i = 0; i < mappings.length; i += 2) {
+			Assert.assertEquals(source.getAttributes()[mappings[i]].getName(), plan.getAttributes()[mappings[i + 1]].getName());
+		}
+		// Annotation1中仅有value与Annotation3中的属性同名同类型
+		Assert.assertEquals(2, plan.getOverwriteMappings(Annotation1.class).length);
+	}
+
 	@Test
 	public void testHasAttribute() {
 		final Annotation1 annotation = Foo.class.getAnnotation(Annotation1.class);
@@ -210,6 +251,101 @@ public class ResolvedAnnotationTest {
 		Assert.assertSame(annotation3, ResolvedAnnotation.create(annotation3, true).synthesis());
 	}
 
+	@Test
+	public void testGetResolvedAnnotationByHiddenClass() {
+		Assert.assertTrue(HiddenClassAnnotationSynthesizer.INSTANCE.isSupported(Annotation1.class));
+		final Annotation1 annotation = Foo.class.getAnnotation(Annotation1.class);
+		final ResolvedAnnotation mapping = ResolvedAnnotation.create(annotation, true);
+		final Annotation1 synthesis = (Annotation1)ResolvedAnnotationSynthesizer.HIDDEN_CLASS.synthesize(mapping);
+
+		Assert.assertFalse(java.lang.reflect.Proxy.isProxyClass(synthesis.getClass()));
+		Assert.assertEquals(annotation.annotationType(), synthesis.annotationType());
+		Assert.assertEquals(annotation.value(), synthesis.value());
+		Assert.assertEquals(annotation.value(), synthesis.value1());
+		Assert.assertEquals(annotation.value(), synthesis.value2());
+		Assert.assertEquals(annotation.alias(), synthesis.alias1());
+
+		Assert.assertTrue(ResolvedAnnotation.isResolvedAnnotation(synthesis));
+		Assert.assertSame(mapping, ((ResolvedAnnotation.ResolvedAnnotationInvocationHandler.Proxied)synthesis).getAnnotation());
+		Assert.assertEquals(ResolvedAnnotationSynthesizer.PROXY.synthesize(mapping).toString(), synthesis.toString());
+		Assert.assertNotEquals(synthesis, annotation);
+		Assert.assertEquals(synthesis, mapping);
+
+		// 被覆写的基本类型属性
+		final Annotation3 annotation3 = Foo.class.getAnnotation(Annotation3.class);
+		final Annotation2 annotation2 = Foo.class.getAnnotation(Annotation2.class);
+		final ResolvedAnnotation mapping2 = ResolvedAnnotation.create(ResolvedAnnotation.create(annotation3, true), annotation2, true);
+		final Annotation2 synthesis2 = (Annotation2)ResolvedAnnotationSynthesizer.HIDDEN_CLASS.synthesize(mapping2);
+		Assert.assertEquals(annotation3.alias(), synthesis2.alias());
+		Assert.assertEquals(annotation3.value(), synthesis2.value());
+	}
+
+	@Test
+	public void testSetSynthesizer() {
+		final ResolvedAnnotationSynthesizer synthesizer = ResolvedAnnotation.getSynthesizer();
+		try {
+			ResolvedAnnotation.setSynthesizer(ResolvedAnnotationSynthesizer.HIDDEN_CLASS);
+			final Annotation1 annotation = Foo.class.getAnnotation(Annotation1.class);
+			final Annotation1 synthesis = ResolvedAnnotation.create(annotation, true).synthesis();
+			Assert.assertFalse(java.lang.reflect.Proxy.isProxyClass(synthesis.getClass()));
+			Assert.assertEquals(annotation.value(), synthesis.value2());
+		} finally {
+			ResolvedAnnotation.setSynthesizer(synthesizer);
+		}
+	}
+
+	@Test
+	public void testArrayAttributeIsCopied() {
+		final Annotation4 annotation = Foo.class.getAnnotation(Annotation4.class);
+		final ResolvedAnnotation mapping = ResolvedAnnotation.create(annotation, true);
+		for (ResolvedAnnotationSynthesizer synthesizer : new ResolvedAnnotationSynthesizer[]{
+			ResolvedAnnotationSynthesizer.PROXY, ResolvedAnnotationSynthesizer.HIDDEN_CLASS
+		}) {
+			final Annotation4 synthesis = (Annotation4)synthesizer.synthesize(mapping);
+			// 修改返回的数组不会影响合成注解的属性值
+			synthesis.ints()[0] = -1;
+			synthesis.names()[0] = "changed";
+			Assert.assertArrayEquals(new int[]{ 1, 2 }, synthesis.ints());
+			Assert.assertArrayEquals(new String[]{ "a", "b" }, synthesis.names());
+			Assert.assertNotSame(synthesis.ints(), synthesis.ints());
+			Assert.assertEquals(0, synthesis.empty().length);
+		}
+		Assert.assertArrayEquals(new int[]{ 1, 2 }, annotation.ints());
+	}
+
+	@Test
+	public void testCircularDependencyBetweenMetaAnnotations() {
+		// CycleA与CycleB互相作为元注解，构建层级结构：CycleA -> CycleB -> CycleA -> CycleD -> CycleE
+		final ResolvedAnnotation a1 = ResolvedAnnotation.create(Foo.class.getAnnotation(CycleA.class), false);
+		final ResolvedAnnotation b = ResolvedAnnotation.create(a1, CycleA.class.getAnnotation(CycleB.class), false);
+		final ResolvedAnnotation a2 = ResolvedAnnotation.create(b, CycleB.class.getAnnotation(CycleA.class), false);
+		final ResolvedAnnotation d = ResolvedAnnotation.create(a2, CycleA.class.getAnnotation(CycleD.class), false);
+		// 重复出现的CycleA既不是当前注解，也不是其直接子注解，仍然需要被检测出来
+		final CycleE e = CycleD.class.getAnnotation(CycleE.class);
+		final Ioc4jException ex = Assert.assertThrows(Ioc4jException.class, () -> ResolvedAnnotation.create(d, e, true));
+		Assert.assertEquals(
+			StringUtils.format("Circular dependency between [{}] and [{}]", CycleE.class, CycleA.class), ex.getMessage()
+		);
+		// 不存在循环时可以正常解析
+		Assert.assertTrue(ResolvedAnnotation.create(a1, CycleA.class.getAnnotation(CycleD.class), true).isResolved());
+	}
+
+	@Test
+	public void testMalformedAliasIsValidatedOnlyWhenResolving() {
+		final BadAlias annotation = Foo.class.getAnnotation(BadAlias.class);
+		// 不解析属性时不校验别名
+		final ResolvedAnnotation unresolved = ResolvedAnnotation.create(annotation, false);
+		Assert.assertFalse(unresolved.isResolved());
+		Assert.assertEquals("bad", unresolved.getAttributeValue("value", String.class));
+		Assert.assertEquals(1, ResolvedAnnotations.from(annotation, false).stream().count());
+		// 解析属性时校验别名，且每次都会抛出异常
+		final Ioc4jException ex = Assert.assertThrows(Ioc4jException.class, () -> ResolvedAnnotation.create(annotation, true));
+		Assert.assertEquals(
+			StringUtils.format("Can not find alias attribute [{}] in [{}]", "missing", BadAlias.class), ex.getMessage()
+		);
+		Assert.assertThrows(Ioc4jException.class, () -> ResolvedAnnotation.create(annotation, true));
+	}
+
 	// ======================= resolved attribute value =======================
 
 	@Test
@@ -304,6 +440,47 @@ public class ResolvedAnnotationTest {
 		int alias() default 123;
 	}
 
+	@Target(ElementType.TYPE_USE)
+	@Retention(RetentionPolicy.RUNTIME)
+	private @interface Annotation4 {
+		int[] ints() default {};
+		String[] names() default {};
+		String[] empty() default {};
+	}
+
+	@CycleA
+	@Retention(RetentionPolicy.RUNTIME)
+	private @interface CycleB {
+		String value() default "";
+	}
+
+	@CycleB
+	@CycleD
+	@Retention(RetentionPolicy.RUNTIME)
+	private @interface CycleA {
+		String value() default "";
+	}
+
+	@CycleE
+	@Retention(RetentionPolicy.RUNTIME)
+	private @interface CycleD {
+		String value() default "";
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	private @interface CycleE {
+		String value() default "";
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	private @interface BadAlias {
+		@AliasFor("missing")
+		String value() default "";
+	}
+
+	@BadAlias("bad")
+@CycleA("Foo")
+	@Annotation4(ints = { 1, 2 }, names = { "a", "b" })
 	@Annotation3(value = "Annotation3", alias = 312)
 	@Annotation2(value = "Annotation2")
 	@Annotation1(value = "Annotation1", alias = "goo", unDefVal = "foo", unDefVal2 = "foo")
@@ -0,0 +1,112 @@
+package io.github.createsequence.core.support.annotation;
+
+import io.github.createsequence.core.util.AnnotationUtils;
+import lombok.SneakyThrows;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+/**
+ * test for {@link ResolvedAnnotations}
+ *
+ * @author huangchengxing
+ */
+@SuppressWarnings("unused")
+public class ResolvedAnnotationsTest {
+
+    @SneakyThrows
+    @Test
+    public void testFromCache() {
+        Child annotation = Foo.class.getDeclaredMethod("method1").getAnnotation(Child.class);
+        ResolvedAnnotations resolved = ResolvedAnnotations.from(annotation);
+        Assert.assertSame(resolved, ResolvedAnnotations.from(annotation));
+        Assert.assertSame(resolved, ResolvedAnnotations.from(annotation, true));
+        Assert.assertEquals(2, resolved.stream().count());
+        Assert.assertTrue(resolved.synthesis(Parent.class).isPresent());
+
+        // 相等的注解共享同一实例
+        Child equalAnnotation = Foo.class.getDeclaredMethod("method2").getAnnotation(Child.class);
+        Assert.assertEquals(annotation, equalAnnotation);
+        Assert.assertSame(resolved, ResolvedAnnotations.from(equalAnnotation));
+        Child otherAnnotation = Foo.class.getDeclaredMethod("method3").getAnnotation(Child.class);
+        Assert.assertNotSame(resolved, ResolvedAnnotations.from(otherAnnotation));
+
+        // 是否解析属性与过滤器不同时不共享
+        Assert.assertNotSame(resolved, ResolvedAnnotations.from(annotation, false));
+        Predicate<Annotation> filter = a -> false;
+        ResolvedAnnotations filtered = ResolvedAnnotations.from(annotation, true, filter);
+        Assert.assertNotSame(resolved, filtered);
+        Assert.assertSame(filtered, ResolvedAnnotations.from(annotation, true, filter));
+        Assert.assertEquals(1, filtered.stream().count());
+
+        ResolvedAnnotations.clearCaches();
+        Assert.assertNotSame(resolved, ResolvedAnnotations.from(annotation));
+    }
+
+    @SneakyThrows
+    @Test
+    public void testIteratorIsReadOnly() {
+        Child annotation = Foo.class.getDeclaredMethod("method1").getAnnotation(Child.class);
+        ResolvedAnnotations resolved = ResolvedAnnotations.from(annotation);
+        Iterator<ResolvedAnnotation> iterator = resolved.iterator();
+        Assert.assertTrue(iterator.hasNext());
+        iterator.next();
+        // 实例被共享，不允许通过迭代器修改
+        Assert.assertThrows(UnsupportedOperationException.class, iterator::remove);
+        Assert.assertEquals(2, ResolvedAnnotations.from(annotation).stream().count());
+    }
+
+    @SneakyThrows
+    @Test
+    public void testMetaAnnotationGraph() {
+        Child foo = Foo.class.getDeclaredMethod("method1").getAnnotation(Child.class);
+        Child bar = Foo.class.getDeclaredMethod("method3").getAnnotation(Child.class);
+        // 同一注解类型与过滤器共享元注解层级结构
+        Predicate<Annotation> filter = a -> AnnotationUtils.isNotJdkMetaAnnotation(a.annotationType());
+        ResolvedAnnotations.MetaAnnotationGraph graph = ResolvedAnnotations.MetaAnnotationGraph.of(Child.class, filter);
+        Assert.assertSame(graph, ResolvedAnnotations.MetaAnnotationGraph.of(Child.class, filter));
+        Assert.assertEquals(2, graph.size());
+        Assert.assertEquals(Parent.class, graph.getAnnotation(1).annotationType());
+        Assert.assertEquals(0, graph.getSource(1));
+        Assert.assertNotSame(graph, ResolvedAnnotations.MetaAnnotationGraph.of(Child.class, a -> false));
+
+        // 不同的注解实例结构相同，但属性值各自独立
+        ResolvedAnnotations fooResolved = ResolvedAnnotations.from(foo);
+        ResolvedAnnotations barResolved = ResolvedAnnotations.from(bar);
+        Assert.assertEquals(
+            fooResolved.stream().map(ResolvedAnnotation::annotationType).toList(),
+            barResolved.stream().map(ResolvedAnnotation::annotationType).toList()
+        );
+        Assert.assertEquals("foo", fooResolved.synthesis(Parent.class).map(Parent::value).orElse(null));
+        Assert.assertEquals("bar", barResolved.synthesis(Parent.class).map(Parent::value).orElse(null));
+    }
+
+    @Target(ElementType.ANNOTATION_TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Parent {
+        String value() default "";
+    }
+
+    @Parent
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Child {
+        String value() default "";
+    }
+
+    private static class Foo {
+        @Child("foo")
+        void method1() { }
+        @Child("foo")
+        void method2() { }
+        @Child("bar")
+        void method3() { }
+    }
+}
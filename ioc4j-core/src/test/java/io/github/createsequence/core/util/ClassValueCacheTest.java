@@ -0,0 +1,52 @@
+package io.github.createsequence.core.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * test for {@link ClassValueCache}
+ *
+ * @author huangchengxing
+ */
+public class ClassValueCacheTest {
+
+    @Test
+    public void get() {
+        AtomicInteger count = new AtomicInteger();
+        ClassValueCache<Object> cache = new ClassValueCache<>(type -> {
+            count.incrementAndGet();
+            return new Object();
+        });
+        Object value = cache.get(Foo.class);
+        Assert.assertSame(value, cache.get(Foo.class));
+        Assert.assertNotSame(value, cache.get(String.class));
+        Assert.assertEquals(2, count.get());
+    }
+
+    @Test
+    public void remove() {
+        ClassValueCache<Object> cache = new ClassValueCache<>(type -> new Object());
+        Object value = cache.get(Foo.class);
+        cache.remove(Foo.class);
+        Assert.assertNotSame(value, cache.get(Foo.class));
+    }
+
+    @Test
+    public void removeByClassLoader() {
+        ClassValueCache<Object> cache = new ClassValueCache<>(type -> new Object());
+        Object foo = cache.get(Foo.class);
+        Object string = cache.get(String.class);
+
+        cache.removeByClassLoader(Foo.class.getClassLoader());
+        Assert.assertNotSame(foo, cache.get(Foo.class));
+        Assert.assertSame(string, cache.get(String.class));
+
+        // bootstrap class loader
+        cache.removeByClassLoader(null);
+        Assert.assertNotSame(string, cache.get(String.class));
+    }
+
+    private static class Foo {}
+}
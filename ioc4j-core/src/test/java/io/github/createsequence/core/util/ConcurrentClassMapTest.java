@@ -0,0 +1,92 @@
+package io.github.createsequence.core.util;
+
+import lombok.SneakyThrows;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * test for {@link ConcurrentClassMap}
+ *
+ * @author huangchengxing
+ */
+public class ConcurrentClassMapTest {
+
+    private static final Class<?>[] TYPES = {
+        String.class, Integer.class, Long.class, Short.class, Byte.class, Character.class,
+        Boolean.class, Double.class, Float.class, Object.class, List.class, ArrayList.class,
+        Thread.class, Runnable.class, Number.class, CharSequence.class, Void.class, Class.class
+    };
+
+    @Test
+    public void testPutAndGet() {
+        ConcurrentClassMap<String> map = new ConcurrentClassMap<>();
+        Assert.assertNull(map.get(String.class));
+        Assert.assertEquals(0, map.size());
+        // more entries than the initial capacity to trigger resize
+        for (Class<?> type : TYPES) {
+            Assert.assertEquals(type.getName(), map.putIfAbsent(type, type.getName()));
+        }
+        Assert.assertEquals(TYPES.length, map.size());
+        for (Class<?> type : TYPES) {
+            Assert.assertEquals(type.getName(), map.get(type));
+        }
+        Assert.assertEquals(String.class.getName(), map.putIfAbsent(String.class, "other"));
+        Assert.assertNull(map.get(AtomicInteger.class));
+
+        map.clear();
+        Assert.assertEquals(0, map.size());
+        Assert.assertNull(map.get(String.class));
+    }
+
+    @Test
+    public void testComputeIfAbsent() {
+        ConcurrentClassMap<String> map = new ConcurrentClassMap<>();
+        AtomicInteger count = new AtomicInteger();
+        Assert.assertEquals("java.lang.String", map.computeIfAbsent(String.class, t -> {
+            count.incrementAndGet();
+            return t.getName();
+        }));
+        Assert.assertEquals("java.lang.String", map.computeIfAbsent(String.class, t -> {
+            count.incrementAndGet();
+            return "other";
+        }));
+        Assert.assertEquals(1, count.get());
+        Assert.assertThrows(NullPointerException.class, () -> map.computeIfAbsent(Integer.class, t -> null));
+    }
+
+    @SneakyThrows
+    @Test
+    public void testConcurrentPut() {
+        ConcurrentClassMap<Class<?>> map = new ConcurrentClassMap<>();
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    latch.await();
+                    for (Class<?> type : TYPES) {
+                        Assert.assertSame(type, map.computeIfAbsent(type, t -> t));
+                    }
+                    return null;
+                }));
+            }
+            latch.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            Assert.assertEquals(TYPES.length, map.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
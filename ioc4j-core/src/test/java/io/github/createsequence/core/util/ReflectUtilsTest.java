@@ -56,6 +56,15 @@ public class ReflectUtilsTest {
         Assert.assertNotNull(arg2);
         Assert.assertEquals("arg1", arg2.getKey());
         Assert.assertEquals("arg1", arg2.getValue().getName());
+
+        // the result is cached for the same finder, and is shared so that it can not be modified
+        Assert.assertSame(parameterMap2, ReflectUtils.resolveParameterNames(finder, method2));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> parameterMap2.remove("arg0"));
+        // another finder resolves the names again
+        ParameterNameFinder otherFinder = m -> new String[]{ "first" };
+        Map<String, Parameter> parameterMap3 = ReflectUtils.resolveParameterNames(otherFinder, method2);
+        Assert.assertEquals(List.of("first", "arg1"), List.copyOf(parameterMap3.keySet()));
+        Assert.assertSame(parameterMap3, ReflectUtils.resolveParameterNames(otherFinder, method2));
     }
 
     @Test
@@ -144,6 +153,21 @@ public class ReflectUtilsTest {
         Assert.assertEquals(Foo.class.getDeclaredMethods().length, methods.length);
     }
 
+    @Test
+    public void clearCaches() {
+        Method[] methods = ReflectUtils.getDeclaredMethods(Foo.class);
+        Field[] fields = ReflectUtils.getFields(Foo.class);
+        // classes loaded by other class loader are not affected
+        ReflectUtils.clearCaches(null);
+        Assert.assertSame(methods, ReflectUtils.getDeclaredMethods(Foo.class));
+        Assert.assertSame(fields, ReflectUtils.getFields(Foo.class));
+
+        ReflectUtils.clearCaches(Foo.class.getClassLoader());
+        Assert.assertNotSame(methods, ReflectUtils.getDeclaredMethods(Foo.class));
+        Assert.assertNotSame(fields, ReflectUtils.getFields(Foo.class));
+        Assert.assertEquals(methods.length, ReflectUtils.getDeclaredMethods(Foo.class).length);
+    }
+
     @Test
     public void getDeclaredMethod() {
         Method method = ReflectUtils.getDeclaredMethod(Foo.class, "getStandard");
@@ -238,6 +262,7 @@ public class ReflectUtilsTest {
         Assert.assertEquals(2, classes.size());
         Assert.assertTrue(classes.contains(Super.class));
         Assert.assertTrue(classes.contains(Interface.class));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> classes.remove(Super.class));
     }
 
     @Test
@@ -250,6 +275,23 @@ public class ReflectUtilsTest {
         Assert.assertEquals(Interface.class, classList.get(2));
     }
 
+    @Test
+    public void traverseTypeHierarchyWhile() {
+        List<Class<?>> classList = new ArrayList<>();
+        ReflectUtils.traverseTypeHierarchyWhile(Foo.class, false, type -> {
+            classList.add(type);
+            return type != Super.class;
+        });
+        Assert.assertEquals(List.of(Super.class), classList);
+    }
+
+    @Test
+    public void getTypeHierarchy() {
+        TypeHierarchy hierarchy = ReflectUtils.getTypeHierarchy(Foo.class);
+        Assert.assertSame(hierarchy, ReflectUtils.getTypeHierarchy(Foo.class));
+        Assert.assertEquals(Foo.class, hierarchy.getType());
+    }
+
     @Test
     public void getDeclaredFields() {
         Field[] fields = ReflectUtils.getDeclaredFields(Foo.class);
@@ -0,0 +1,94 @@
+package io.github.createsequence.core.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * test for {@link SynthesizedAnnotationInvocationHandler}
+ *
+ * @author huangchengxing
+ */
+public class SynthesizedAnnotationInvocationHandlerTest {
+
+    @Test
+    public void testInvoke() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("value", "foo");
+        values.put("numbers", new int[]{ 1, 2 });
+        Annotation1 annotation = AnnotationUtils.synthesis(Annotation1.class, values);
+        Assert.assertEquals(Annotation1.class, annotation.annotationType());
+        Assert.assertEquals("foo", annotation.value());
+        // 未指定的属性使用默认值
+        Assert.assertEquals(0, annotation.names().length);
+        Assert.assertTrue(
+            Proxy.getInvocationHandler(annotation) instanceof SynthesizedAnnotationInvocationHandler
+        );
+    }
+
+    @Test
+    public void testArrayMember() {
+        int[] numbers = { 1, 2 };
+        Annotation1 annotation = AnnotationUtils.synthesis(Annotation1.class, Map.of("value", "foo", "numbers", numbers));
+        // 非空数组在返回时被拷贝
+        int[] result = annotation.numbers();
+        Assert.assertArrayEquals(numbers, result);
+        Assert.assertNotSame(result, annotation.numbers());
+        result[0] = 3;
+        Assert.assertEquals(1, annotation.numbers()[0]);
+        // 空数组无需拷贝
+        Assert.assertSame(annotation.names(), annotation.names());
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        Annotation1 annotation = Foo.class.getAnnotation(Annotation1.class);
+        Annotation1 synthesized = AnnotationUtils.synthesis(
+            Annotation1.class, Map.of("value", "foo", "numbers", new int[]{ 1, 2 })
+        );
+        Assert.assertEquals(annotation, synthesized);
+        Assert.assertEquals(synthesized, annotation);
+        Assert.assertEquals(annotation.hashCode(), synthesized.hashCode());
+        Assert.assertEquals(synthesized.hashCode(), synthesized.hashCode());
+
+        Annotation1 other = AnnotationUtils.synthesis(
+            Annotation1.class, Map.of("value", "foo", "numbers", new int[]{ 1, 2 })
+        );
+        Assert.assertEquals(synthesized, other);
+        Assert.assertNotEquals(synthesized, AnnotationUtils.synthesis(Annotation1.class, "bar"));
+        Assert.assertNotEquals(synthesized, AnnotationUtils.synthesis(Annotation2.class, "foo"));
+    }
+
+    @Test
+    public void testToString() {
+        Annotation1 annotation = AnnotationUtils.synthesis(Annotation1.class, "foo");
+        String string = annotation.toString();
+        Assert.assertEquals("@" + Annotation1.class.getName() + "(\"foo\")", string);
+        Assert.assertSame(string, annotation.toString());
+    }
+
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Annotation1 {
+        String value() default "";
+        int[] numbers() default {};
+        String[] names() default {};
+    }
+
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Annotation2 {
+        String value() default "";
+    }
+
+    @Annotation1(value = "foo", numbers = { 1, 2 })
+    private static class Foo { }
+}
@@ -0,0 +1,73 @@
+package io.github.createsequence.core.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * test for {@link TypeHierarchy}
+ *
+ * @author huangchengxing
+ */
+public class TypeHierarchyTest {
+
+    @Test
+    public void getParents() {
+        TypeHierarchy hierarchy = ReflectUtils.getTypeHierarchy(Foo.class);
+        Assert.assertEquals(List.of(Super.class, Interface2.class), List.copyOf(hierarchy.getParents()));
+        Assert.assertEquals(List.of(Object.class, Interface1.class), List.copyOf(ReflectUtils.getTypeHierarchy(Super.class).getParents()));
+        Assert.assertTrue(ReflectUtils.getTypeHierarchy(Object.class).getParents().isEmpty());
+    }
+
+    @Test
+    public void getAncestors() {
+        TypeHierarchy hierarchy = ReflectUtils.getTypeHierarchy(Foo.class);
+        // breadth-first, without Object and duplicated types
+        List<Class<?>> ancestors = List.of(Super.class, Interface2.class, Interface1.class, Serializable.class);
+        Assert.assertEquals(ancestors, hierarchy.getAncestors());
+        Assert.assertEquals(ancestors.size(), hierarchy.getAncestorCount());
+        for (int i = 0; i < ancestors.size(); i++) {
+            Assert.assertEquals(ancestors.get(i), hierarchy.getAncestor(i));
+        }
+        Assert.assertThrows(UnsupportedOperationException.class, () -> hierarchy.getAncestors().clear());
+        Assert.assertTrue(ReflectUtils.getTypeHierarchy(Object.class).getAncestors().isEmpty());
+    }
+
+    @Test
+    public void isAncestor() {
+        TypeHierarchy hierarchy = ReflectUtils.getTypeHierarchy(Foo.class);
+        Assert.assertTrue(hierarchy.isAncestor(Super.class));
+        Assert.assertTrue(hierarchy.isAncestor(Interface1.class));
+        Assert.assertTrue(hierarchy.isAncestor(Interface2.class));
+        Assert.assertTrue(hierarchy.isAncestor(Serializable.class));
+        Assert.assertTrue(hierarchy.isAncestor(Object.class));
+        Assert.assertFalse(hierarchy.isAncestor(Foo.class));
+        Assert.assertFalse(hierarchy.isAncestor(String.class));
+        Assert.assertFalse(hierarchy.isAncestor(null));
+        Assert.assertFalse(ReflectUtils.getTypeHierarchy(Super.class).isAncestor(Interface2.class));
+        Assert.assertFalse(ReflectUtils.getTypeHierarchy(int.class).isAncestor(Object.class));
+    }
+
+    @Test
+    public void isAssignableFrom() {
+        TypeHierarchy foo = ReflectUtils.getTypeHierarchy(Foo.class);
+        Assert.assertTrue(foo.isAssignableFrom(foo));
+        Assert.assertTrue(ReflectUtils.getTypeHierarchy(Interface1.class).isAssignableFrom(foo));
+        Assert.assertTrue(ReflectUtils.getTypeHierarchy(Object.class).isAssignableFrom(foo));
+        Assert.assertFalse(foo.isAssignableFrom(ReflectUtils.getTypeHierarchy(Super.class)));
+    }
+
+    private interface Interface1 extends Serializable {}
+
+    private interface Interface2 extends Interface1 {}
+
+    private static class Super implements Interface1 {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static class Foo extends Super implements Interface2 {
+        private static final long serialVersionUID = 1L;
+    }
+}
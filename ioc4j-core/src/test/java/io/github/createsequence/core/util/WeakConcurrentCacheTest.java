@@ -0,0 +1,120 @@
+package io.github.createsequence.core.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * test for {@link WeakConcurrentCache}
+ *
+ * @author huangchengxing
+ */
+public class WeakConcurrentCacheTest {
+
+    @Test
+    public void computeIfAbsent() {
+        WeakConcurrentCache<String, Object> cache = new WeakConcurrentCache<>();
+        AtomicInteger count = new AtomicInteger();
+        Object value = cache.computeIfAbsent("key", k -> {
+            count.incrementAndGet();
+            return new Object();
+        });
+        Assert.assertSame(value, cache.computeIfAbsent("key", k -> new Object()));
+        // lookup by equal key
+        Assert.assertSame(value, cache.computeIfAbsent(new String("key"), k -> new Object()));
+        Assert.assertEquals(1, count.get());
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void get() {
+        WeakConcurrentCache<String, Object> cache = new WeakConcurrentCache<>();
+        Assert.assertNull(cache.get("key"));
+        Object value = cache.computeIfAbsent("key", k -> new Object());
+        Assert.assertSame(value, cache.get("key"));
+    }
+
+    @Test
+    public void remove() {
+        WeakConcurrentCache<String, Object> cache = new WeakConcurrentCache<>();
+        Object value = cache.computeIfAbsent("key", k -> new Object());
+        Assert.assertSame(value, cache.remove("key"));
+        Assert.assertNull(cache.get("key"));
+        Assert.assertNull(cache.remove("key"));
+    }
+
+    @Test
+    public void clear() {
+        WeakConcurrentCache<String, Object> cache = new WeakConcurrentCache<>(WeakConcurrentCache.UNBOUNDED, true);
+        cache.computeIfAbsent("key1", k -> new Object());
+        cache.computeIfAbsent("key2", k -> new Object());
+        Assert.assertEquals(2, cache.size());
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void maximumSize() {
+        WeakConcurrentCache<Integer, Object> cache = new WeakConcurrentCache<>(2, false);
+        for (int i = 0; i < 5; i++) {
+            cache.computeIfAbsent(i, k -> new Object());
+        }
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(3, cache.getStatistics().evictionCount());
+        // the eldest entries are evicted, and the entry just inserted is always retained
+        Assert.assertNull(cache.get(2));
+        Assert.assertNotNull(cache.get(3));
+        Assert.assertNotNull(cache.get(4));
+
+        // removed entries do not occupy the insertion order
+        cache.remove(3);
+        cache.computeIfAbsent(5, k -> new Object());
+        Assert.assertNotNull(cache.get(4));
+        Assert.assertNotNull(cache.get(5));
+        for (int i = 6; i < 100; i++) {
+            Object value = cache.computeIfAbsent(i, k -> new Object());
+            Assert.assertSame(value, cache.get(i));
+            Assert.assertEquals(2, cache.size());
+        }
+    }
+
+    @Test
+    public void getStatistics() {
+        WeakConcurrentCache<String, Object> cache = new WeakConcurrentCache<>();
+        cache.computeIfAbsent("key", k -> new Object());
+        cache.computeIfAbsent("key", k -> new Object());
+        cache.get("key");
+        cache.get("none");
+        WeakConcurrentCache.Statistics statistics = cache.getStatistics();
+        Assert.assertEquals(2, statistics.hitCount());
+        Assert.assertEquals(2, statistics.missCount());
+        Assert.assertEquals(0, statistics.evictionCount());
+        Assert.assertEquals(1, statistics.size());
+    }
+
+    @Test
+    public void collectKey() throws InterruptedException {
+        WeakConcurrentCache<Object, String> cache = new WeakConcurrentCache<>();
+        Object key = new Object();
+        cache.computeIfAbsent(key, k -> "value");
+        Assert.assertEquals(1, cache.size());
+        WeakReference<Object> probe = new WeakReference<>(key);
+        key = null;
+        for (int i = 0; i < 100 && Objects.nonNull(probe.get()); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull("key is still reachable after 100 GC attempts", probe.get());
+        // the cleared reference is enqueued by the reference handler thread asynchronously
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.size() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals("entry of collected key is not expunged within 5 seconds", 0, cache.size());
+        Assert.assertEquals(1, cache.getStatistics().evictionCount());
+    }
+}